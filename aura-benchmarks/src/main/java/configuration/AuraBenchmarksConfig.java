@@ -0,0 +1,34 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package configuration;
+
+import org.auraframework.adapter.ComponentLocationAdapter;
+import org.auraframework.benchmarks.AuraBenchmarksFiles;
+import org.auraframework.util.ServiceLoaderImpl.AuraConfiguration;
+import org.auraframework.util.ServiceLoaderImpl.Impl;
+
+/**
+ * Registers the fixture components used by the benchmark suites.
+ */
+@AuraConfiguration
+public class AuraBenchmarksConfig {
+
+    @Impl(name = "auraBenchmarksComponentLocationAdapterImpl")
+    public static ComponentLocationAdapter auraBenchmarksComponentLocationAdapterImpl() {
+        return new ComponentLocationAdapter.Impl(AuraBenchmarksFiles.Components.asFile(), null,
+                "components_aura_benchmarks");
+    }
+}
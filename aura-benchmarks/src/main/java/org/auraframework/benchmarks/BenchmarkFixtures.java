@@ -0,0 +1,103 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+
+import org.auraframework.Aura;
+import org.auraframework.def.ApplicationDef;
+import org.auraframework.def.ComponentDef;
+import org.auraframework.def.DefDescriptor;
+import org.auraframework.service.ContextService;
+import org.auraframework.system.AuraContext;
+import org.auraframework.system.AuraContext.Authentication;
+import org.auraframework.system.AuraContext.Format;
+import org.auraframework.system.AuraContext.Mode;
+import org.auraframework.system.SourceListener.SourceMonitorEvent;
+import org.auraframework.util.IOUtil;
+
+/**
+ * Shared fixtures for the benchmark suites.
+ *
+ * The fixture applications live in the 'benchmark' namespace under src/main/components, so every suite compiles the
+ * same, checked-in markup and results stay comparable across framework versions. The namespace is privileged, which
+ * means its definitions go through the same global caches as the framework components.
+ *
+ * To run the suites, package this module and run the shaded jar, e.g. 'java -jar target/benchmarks.jar DefRegistry'.
+ */
+public final class BenchmarkFixtures {
+    /** A small application, a panel with a single field. */
+    public static final String SIMPLE_APP = "benchmark:simpleApp";
+
+    /** A larger application, with iterations, conditionals, controllers, helpers and styles. */
+    public static final String LARGE_APP = "benchmark:largeApp";
+
+    /** A leaf component with a controller, a style and an event. */
+    public static final String ROW_COMPONENT = "benchmark:row";
+
+    /** An action request sized JSON document. */
+    public static final String ACTIONS_JSON = "/benchmarks/actions.json";
+
+    private BenchmarkFixtures() {
+    }
+
+    public static DefDescriptor<ApplicationDef> getApplicationDescriptor(String name) {
+        return Aura.getDefinitionService().getDefDescriptor(name, ApplicationDef.class);
+    }
+
+    public static DefDescriptor<ComponentDef> getComponentDescriptor(String name) {
+        return Aura.getDefinitionService().getDefDescriptor(name, ComponentDef.class);
+    }
+
+    /**
+     * Start a context for a fixture application, ending any context left over from a previous invocation.
+     */
+    public static AuraContext startContext(Mode mode, Format format, DefDescriptor<ApplicationDef> appDesc) {
+        endContext();
+        return Aura.getContextService().startContext(mode, format, Authentication.AUTHENTICATED, appDesc);
+    }
+
+    public static void endContext() {
+        ContextService contextService = Aura.getContextService();
+        if (contextService.isEstablished()) {
+            contextService.endContext();
+        }
+    }
+
+    /**
+     * Drop every global definition, dependency and string cache, so that the next lookup compiles from source.
+     */
+    public static void clearCaches() {
+        Aura.getDefinitionService().onSourceChanged(null, SourceMonitorEvent.CHANGED, null);
+    }
+
+    public static String readResource(String path) throws IOException {
+        InputStream is = BenchmarkFixtures.class.getResourceAsStream(path);
+        if (is == null) {
+            throw new IOException("Missing benchmark fixture " + path);
+        }
+        try {
+            StringWriter sw = new StringWriter();
+            IOUtil.copyStream(new InputStreamReader(is, "UTF-8"), sw);
+            return sw.toString();
+        } finally {
+            is.close();
+        }
+    }
+}
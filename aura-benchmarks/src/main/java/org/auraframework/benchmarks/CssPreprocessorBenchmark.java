@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.auraframework.Aura;
+import org.auraframework.def.DefDescriptor;
+import org.auraframework.def.StyleDef;
+import org.auraframework.impl.css.parser.CssPreprocessor;
+import org.auraframework.system.AuraContext;
+import org.auraframework.system.AuraContext.Format;
+import org.auraframework.throwable.quickfix.QuickFixException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the runtime pass of {@link CssPreprocessor}, the one that runs for every style on every app.css request
+ * that misses the strings cache.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CssPreprocessorBenchmark {
+    @Param({ "css://benchmark.row", "css://benchmark.panel", "css://benchmark.largeApp" })
+    public String style;
+
+    private DefDescriptor<StyleDef> styleDesc;
+    private String rawCode;
+
+    @Setup
+    public void setup() throws QuickFixException {
+        BenchmarkFixtures.startContext(AuraContext.Mode.PROD, Format.CSS,
+                BenchmarkFixtures.getApplicationDescriptor(BenchmarkFixtures.LARGE_APP));
+        styleDesc = Aura.getDefinitionService().getDefDescriptor(style, StyleDef.class);
+        rawCode = styleDesc.getDef().getRawCode();
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFixtures.endContext();
+    }
+
+    @Benchmark
+    public String runtimeParse() throws QuickFixException {
+        return CssPreprocessor.runtime()
+                .source(rawCode)
+                .resourceName(styleDesc.getQualifiedName())
+                .tokens(styleDesc)
+                .parse()
+                .content();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.auraframework.def.ApplicationDef;
+import org.auraframework.def.ComponentDef;
+import org.auraframework.def.ControllerDef;
+import org.auraframework.def.DefDescriptor;
+import org.auraframework.def.DefDescriptor.DefType;
+import org.auraframework.def.StyleDef;
+import org.auraframework.impl.system.DefDescriptorImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link DefDescriptorImpl#getInstance} for the descriptor shapes seen while compiling an application.
+ *
+ * Descriptors are interned in a global cache, so this is the cost of parsing the name and looking it up on every
+ * reference in markup and on every action request.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DefDescriptorBenchmark {
+    private DefDescriptor<ApplicationDef> appDesc;
+
+    @Setup
+    public void setup() {
+        appDesc = BenchmarkFixtures.getApplicationDescriptor(BenchmarkFixtures.LARGE_APP);
+    }
+
+    @Benchmark
+    public DefDescriptor<ComponentDef> markup() {
+        return DefDescriptorImpl.getInstance(BenchmarkFixtures.ROW_COMPONENT, ComponentDef.class);
+    }
+
+    @Benchmark
+    public DefDescriptor<ComponentDef> qualifiedMarkup() {
+        return DefDescriptorImpl.getInstance("markup://" + BenchmarkFixtures.ROW_COMPONENT, ComponentDef.class);
+    }
+
+    @Benchmark
+    public DefDescriptor<ControllerDef> javaController() {
+        return DefDescriptorImpl.getInstance("java://org.auraframework.impl.controller.ComponentController",
+                ControllerDef.class);
+    }
+
+    @Benchmark
+    public DefDescriptor<?> fromParts() {
+        return DefDescriptorImpl.getInstance("markup", "benchmark", "row", DefType.COMPONENT);
+    }
+
+    @Benchmark
+    public void bundled(Blackhole bh) {
+        bh.consume(DefDescriptorImpl.getInstance("js://benchmark.largeApp", ControllerDef.class, appDesc));
+        bh.consume(DefDescriptorImpl.getInstance("css://benchmark.largeApp", StyleDef.class, appDesc));
+    }
+}
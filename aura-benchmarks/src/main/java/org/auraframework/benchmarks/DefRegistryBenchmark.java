@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.auraframework.def.ApplicationDef;
+import org.auraframework.def.DefDescriptor;
+import org.auraframework.impl.system.MasterDefRegistryImpl;
+import org.auraframework.system.AuraContext;
+import org.auraframework.system.AuraContext.Format;
+import org.auraframework.system.MasterDefRegistry;
+import org.auraframework.throwable.quickfix.QuickFixException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link MasterDefRegistryImpl#getDef} for the fixture applications.
+ *
+ * Every invocation gets a fresh context, and therefore a fresh registry, just like a request does. The cold case
+ * also drops the global caches first, so it measures a full compile from source, while the warm case measures the
+ * per request rebuild from the global caches.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DefRegistryBenchmark {
+    @Param({ BenchmarkFixtures.SIMPLE_APP, BenchmarkFixtures.LARGE_APP })
+    public String app;
+
+    private DefDescriptor<ApplicationDef> appDesc;
+    private MasterDefRegistry registry;
+
+    @Setup(Level.Trial)
+    public void setup() throws QuickFixException {
+        appDesc = BenchmarkFixtures.getApplicationDescriptor(app);
+        // compile once up front, so that a broken fixture fails fast rather than measuring exceptions.
+        BenchmarkFixtures.startContext(AuraContext.Mode.PROD, Format.JSON, appDesc).getDefRegistry().getDef(appDesc);
+        BenchmarkFixtures.endContext();
+    }
+
+    @Setup(Level.Invocation)
+    public void startContext() {
+        registry = BenchmarkFixtures.startContext(AuraContext.Mode.PROD, Format.JSON, appDesc).getDefRegistry();
+    }
+
+    @TearDown(Level.Invocation)
+    public void endContext() {
+        BenchmarkFixtures.endContext();
+    }
+
+    /**
+     * Empties the global caches before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class Cold {
+        @Setup(Level.Invocation)
+        public void clearCaches() {
+            BenchmarkFixtures.clearCaches();
+        }
+    }
+
+    @Benchmark
+    public ApplicationDef getDefCold(Cold cold) throws QuickFixException {
+        return registry.getDef(appDesc);
+    }
+
+    @Benchmark
+    public ApplicationDef getDefWarm() throws QuickFixException {
+        return registry.getDef(appDesc);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.auraframework.expression.Expression;
+import org.auraframework.impl.expression.ExpressionAdapterImpl;
+import org.auraframework.system.AuraContext.Format;
+import org.auraframework.system.Location;
+import org.auraframework.throwable.quickfix.AuraValidationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ExpressionAdapterImpl#buildExpression} for the expression shapes used by the fixture components,
+ * from a bare property reference up to a function call with nested operators.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ExpressionBenchmark {
+    @Param({
+        "v.label",
+        "v.rows.length + ' rows'",
+        "'row' + (v.selected ? ' selected' : '')",
+        "v.index % 2 == 0",
+        "format(v.label, v.value * 2, and(v.selected, !v.collapsed))"
+    })
+    public String expression;
+
+    private final ExpressionAdapterImpl adapter = new ExpressionAdapterImpl();
+    private final Location location = new Location("benchmark", 0);
+
+    @Setup
+    public void setup() {
+        BenchmarkFixtures.startContext(org.auraframework.system.AuraContext.Mode.PROD, Format.JSON,
+                BenchmarkFixtures.getApplicationDescriptor(BenchmarkFixtures.LARGE_APP));
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkFixtures.endContext();
+    }
+
+    @Benchmark
+    public Expression buildExpression() throws AuraValidationException {
+        return adapter.buildExpression(expression, location);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.auraframework.util.json.JsonEncoder;
+import org.auraframework.util.json.JsonStreamReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Round trips an action request sized document through {@link JsonStreamReader} and {@link JsonEncoder}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class JsonBenchmark {
+    private String json;
+    private Object parsed;
+
+    @Setup
+    public void setup() throws IOException {
+        json = BenchmarkFixtures.readResource(BenchmarkFixtures.ACTIONS_JSON);
+        parsed = read();
+    }
+
+    @Benchmark
+    public Object read() throws IOException {
+        JsonStreamReader reader = new JsonStreamReader(json);
+        try {
+            reader.next();
+            return reader.getValue();
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Benchmark
+    public String write() {
+        return JsonEncoder.serialize(parsed);
+    }
+
+    @Benchmark
+    public String writeFormatted() {
+        return JsonEncoder.serialize(parsed, true, false);
+    }
+}
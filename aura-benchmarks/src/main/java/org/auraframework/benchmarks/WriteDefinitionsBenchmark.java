@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.benchmarks;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.auraframework.Aura;
+import org.auraframework.def.ApplicationDef;
+import org.auraframework.def.DefDescriptor;
+import org.auraframework.impl.ServerServiceImpl;
+import org.auraframework.service.ServerService;
+import org.auraframework.system.AuraContext;
+import org.auraframework.system.AuraContext.Format;
+import org.auraframework.throwable.quickfix.QuickFixException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ServerServiceImpl#writeDefinitions}, the body of app.js.
+ *
+ * The uncached case empties the strings cache before each invocation, so PROD mode includes the closure compile of the
+ * generated code. The cached case measures a strings cache hit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class WriteDefinitionsBenchmark {
+    @Param({ BenchmarkFixtures.SIMPLE_APP, BenchmarkFixtures.LARGE_APP })
+    public String app;
+
+    @Param({ "PROD", "DEV" })
+    public String mode;
+
+    private final ServerService serverService = Aura.getServerService();
+    private DefDescriptor<ApplicationDef> appDesc;
+    private Set<DefDescriptor<?>> dependencies;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        appDesc = BenchmarkFixtures.getApplicationDescriptor(app);
+    }
+
+    @Setup(Level.Invocation)
+    public void startContext() throws QuickFixException {
+        AuraContext context = BenchmarkFixtures.startContext(AuraContext.Mode.valueOf(mode), Format.JS, appDesc);
+        String uid = context.getDefRegistry().getUid(null, appDesc);
+        context.addLoaded(appDesc, uid);
+        dependencies = context.getDefRegistry().getDependencies(uid);
+    }
+
+    @TearDown(Level.Invocation)
+    public void endContext() {
+        BenchmarkFixtures.endContext();
+    }
+
+    /**
+     * Empties the strings cache before each invocation.
+     */
+    @State(Scope.Thread)
+    public static class Uncached {
+        @Setup(Level.Invocation)
+        public void clearStrings() {
+            Aura.getCachingService().getStringsCache().invalidateAll();
+        }
+    }
+
+    @Benchmark
+    public String writeDefinitionsUncached(Uncached uncached) throws IOException, QuickFixException {
+        StringWriter out = new StringWriter();
+        serverService.writeDefinitions(dependencies, out);
+        return out.toString();
+    }
+
+    @Benchmark
+    public String writeDefinitionsCached() throws IOException, QuickFixException {
+        StringWriter out = new StringWriter();
+        serverService.writeDefinitions(dependencies, out);
+        return out.toString();
+    }
+}
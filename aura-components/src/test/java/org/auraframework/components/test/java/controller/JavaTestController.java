@@ -71,6 +71,11 @@ public class JavaTestController {
         return param;
     }
 
+    @AuraEnabled
+    public static String getThreadName() {
+        return Thread.currentThread().getName();
+    }
+
     @AuraEnabled
     public static String getLoggableString(@Key(value = "param", loggable = true) String param) throws Exception {
         return param;
@@ -15,11 +15,7 @@
  */
 package org.auraframework.impl.expression;
 
-import java.io.IOException;
-import java.io.Reader;
-import java.io.StringReader;
-
-import org.antlr.runtime.ANTLRReaderStream;
+import org.antlr.runtime.ANTLRStringStream;
 import org.antlr.runtime.BaseRecognizer;
 import org.antlr.runtime.CharStream;
 import org.antlr.runtime.CommonTokenStream;
@@ -34,7 +30,6 @@ import org.auraframework.expression.Expression;
 import org.auraframework.impl.expression.parser.ExpressionLexer;
 import org.auraframework.impl.expression.parser.ExpressionParser;
 import org.auraframework.system.Location;
-import org.auraframework.throwable.AuraRuntimeException;
 import org.auraframework.throwable.quickfix.AuraValidationException;
 import org.auraframework.throwable.quickfix.InvalidExpressionException;
 
@@ -48,12 +43,7 @@ public class ExpressionAdapterImpl implements ExpressionAdapter {
 
     @Override
     public Expression buildExpression(String s, Location l) throws AuraValidationException {
-        ExpressionLexer lexer;
-        try {
-            lexer = new ExpressionLexer(new CaseInsensitiveReaderStream(new StringReader(s)));
-        } catch (IOException x) {
-            throw new AuraRuntimeException(x);
-        }
+        ExpressionLexer lexer = new ExpressionLexer(new CaseInsensitiveStringStream(s));
         CommonTokenStream cts = new CommonTokenStream(lexer);
         ExpressionFactory ef = new ExpressionFactory(l);
         ExpressionParser parser = new ExpressionParser(cts);
@@ -127,10 +117,11 @@ public class ExpressionAdapterImpl implements ExpressionAdapter {
 
     /**
      * stream that allows case insensitive tokenization code copied directly
-     * from antlr wiki
+     * from antlr wiki. It reads the expression text as is, without going
+     * through a reader and its buffering.
      */
-    private static class CaseInsensitiveReaderStream extends ANTLRReaderStream {
-        private CaseInsensitiveReaderStream(Reader script) throws IOException {
+    private static class CaseInsensitiveStringStream extends ANTLRStringStream {
+        private CaseInsensitiveStringStream(String script) {
             super(script);
         }
 
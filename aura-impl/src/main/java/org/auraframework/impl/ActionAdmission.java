@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.auraframework.adapter.ConfigAdapter;
+
+/**
+ * Limits how many requests may run an action at the same time, so that one expensive action cannot take every request
+ * thread and starve the others. Actions over their limit wait for a slot for a short time and are rejected if none
+ * frees up.
+ * <p>
+ * Limits are read from the {@link ConfigAdapter}, which takes them from aura.conf, and no action is limited unless
+ * configured:
+ * <ul>
+ * <li>aura.actions.limit.&lt;action&gt;, e.g. aura.actions.limit.java://org.foo.MyController/ACTION$search: limit
+ * for one action</li>
+ * <li>aura.actions.limit.&lt;controller&gt;, e.g. aura.actions.limit.java://org.foo.MyController: limit shared by all
+ * the actions of a controller</li>
+ * <li>aura.actions.limit: limit for each action with no limit of its own</li>
+ * <li>aura.actions.queueTimeout: milliseconds an action waits for a slot before it is rejected, 1000 by default</li>
+ * <li>aura.actions.maxQueued: how many actions may wait for a limit at once, the limit itself by default; further
+ * actions are rejected immediately</li>
+ * </ul>
+ */
+final class ActionAdmission {
+
+    private static final String ACTION_SEPARATOR = "/ACTION$";
+
+    private static final Gate UNLIMITED = new Gate(0, 0, 0);
+
+    private final ConfigAdapter config;
+    private final long queueTimeout;
+    private final int maxQueued;
+    private final int defaultLimit;
+
+    /**
+     * Gates by the action or controller that configured them, so actions sharing a controller limit share a gate.
+     */
+    private final ConcurrentMap<String, Gate> gatesByKey = new ConcurrentHashMap<>();
+
+    /**
+     * Gates by action, including {@link #UNLIMITED} for actions that have no limit.
+     */
+    private final ConcurrentMap<String, Gate> gatesByAction = new ConcurrentHashMap<>();
+
+    ActionAdmission(ConfigAdapter config) {
+        this.config = config;
+        this.queueTimeout = config.getActionQueueTimeout();
+        this.maxQueued = config.getMaxQueuedActions();
+        this.defaultLimit = config.getDefaultActionLimit();
+    }
+
+    /**
+     * Get the gate an action must pass before it runs.
+     * 
+     * @param action the qualified name of the action's descriptor
+     * @return the gate, or null if the action is not limited
+     */
+    Gate getGate(String action) {
+        Gate gate = gatesByAction.get(action);
+        if (gate == null) {
+            gate = findGate(action);
+            Gate existing = gatesByAction.putIfAbsent(action, gate);
+            if (existing != null) {
+                gate = existing;
+            }
+        }
+        return gate == UNLIMITED ? null : gate;
+    }
+
+    private Gate findGate(String action) {
+        String key = action;
+        int limit = config.getActionLimit(key);
+        if (limit <= 0) {
+            int separator = action.indexOf(ACTION_SEPARATOR);
+            if (separator > 0) {
+                key = action.substring(0, separator);
+                limit = config.getActionLimit(key);
+            }
+        }
+        if (limit <= 0) {
+            key = action;
+            limit = defaultLimit;
+        }
+        if (limit <= 0) {
+            return UNLIMITED;
+        }
+        Gate gate = new Gate(limit, maxQueued < 0 ? limit : maxQueued, queueTimeout);
+        Gate existing = gatesByKey.putIfAbsent(key, gate);
+        return existing != null ? existing : gate;
+    }
+
+    /**
+     * A bounded number of slots, handed out in arrival order: a caller never takes a slot ahead of one that is
+     * already waiting.
+     */
+    static final class Gate {
+        private final Semaphore slots;
+        private final int maxQueued;
+        private final long timeout;
+
+        private Gate(int limit, int maxQueued, long timeout) {
+            this.slots = new Semaphore(limit, true);
+            this.maxQueued = maxQueued;
+            this.timeout = timeout;
+        }
+
+        /**
+         * Take a slot, waiting for one if necessary. A caller that gets one must {@link #exit()} when done.
+         * 
+         * @return false if the action should be rejected
+         */
+        boolean enter() {
+            try {
+                // the timed form honors the fairness of the semaphore, the untimed tryAcquire() would barge
+                if (slots.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+                if (timeout <= 0 || slots.getQueueLength() >= maxQueued) {
+                    return false;
+                }
+                return slots.tryAcquire(timeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+        void exit() {
+            slots.release();
+        }
+    }
+}
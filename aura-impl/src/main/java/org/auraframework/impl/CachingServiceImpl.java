@@ -17,6 +17,8 @@ package org.auraframework.impl;
 
 import java.lang.ref.WeakReference;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.*;
@@ -28,13 +30,21 @@ import org.auraframework.annotations.Annotations.ServiceComponent;
 import org.auraframework.builder.CacheBuilder;
 import org.auraframework.cache.Cache;
 import org.auraframework.def.*;
+import org.auraframework.impl.cache.CacheControl;
 import org.auraframework.impl.cache.CacheImpl;
+import org.auraframework.http.FrameworkResource;
+import org.auraframework.impl.cache.DefinitionWeigher;
+import org.auraframework.impl.cache.FrameworkResourceWeigher;
+import org.auraframework.impl.cache.PersistentCacheStore;
+import org.auraframework.impl.cache.StringWeigher;
 import org.auraframework.service.CachingService;
 import org.auraframework.service.DefinitionService;
 import org.auraframework.system.DependencyEntry;
 import org.auraframework.system.SourceListener;
+import org.auraframework.util.validation.ValidationError;
 
 import com.google.common.base.Optional;
+import com.google.common.collect.ImmutableMap;
 
 @ServiceComponent
 public class CachingServiceImpl implements CachingService {
@@ -44,18 +54,39 @@ public class CachingServiceImpl implements CachingService {
     /** Default size of definition caches, in number of entries */
     private final static int DEFINITION_CACHE_SIZE = 6 * 1024;
 
+    /** Default budget of the definition cache, in estimated bytes */
+    private final static long DEFINITION_CACHE_BYTES = 64L * 1024 * 1024;
+
     /** Default size of dependency caches, in number of entries */
     private final static int DEPENDENCY_CACHE_SIZE = 1024;
 
     /** Default size of descriptor filter caches, in number of entries */
     private final static int FILTER_CACHE_SIZE = 4096;
 
-    /** Default size of string caches, in number of entries */
-    private final static int STRING_CACHE_SIZE = 100;
+    /** Default budget of string caches, in bytes */
+    private final static long STRING_CACHE_BYTES = 32L * 1024 * 1024;
 
     /** Default size of client lib caches, in number of entries */
     private final static int CLIENT_LIB_CACHE_SIZE = 30;
 
+    /** Default budget of the client lib output cache, in bytes */
+    private final static long CLIENT_LIB_CACHE_BYTES = 8L * 1024 * 1024;
+
+    /** Default size of the page shell cache, in number of entries */
+    private final static int PAGE_SHELL_CACHE_SIZE = 256;
+
+    /** Default size of the label cache, in number of entries */
+    private final static int LABEL_CACHE_SIZE = 16 * 1024;
+
+    /** Default budget of the framework resource cache, in bytes */
+    private final static long FRAMEWORK_RESOURCE_CACHE_BYTES = 32L * 1024 * 1024;
+
+    /** Default size of the lint result cache, in number of entries */
+    private final static int LINT_RESULT_CACHE_SIZE = 10000;
+
+    /** Default size of the include check cache, in number of entries */
+    private final static int INCLUDE_CHECK_CACHE_SIZE = 4096;
+
     private final ReentrantReadWriteLock rwLock = new ReentrantReadWriteLock();
     private final WriteLock wLock = rwLock.writeLock();
 
@@ -71,7 +102,14 @@ public class CachingServiceImpl implements CachingService {
     private final Cache<String, DependencyEntry> depsCache;
     private final Cache<String, String> clientLibraryOutputCache;
     private final Cache<String, Set<String>> clientLibraryUrlsCache;
+    private final Cache<String, String> clientLibraryKeyCache;
     private final Cache<DefDescriptor.DescriptorKey, DefDescriptor<? extends Definition>> defDescriptorByNameCache;
+    private final Cache<String, List<String>> pageShellCache;
+    private final Cache<String, String> labelCache;
+    private final Cache<String, FrameworkResource> frameworkResourceCache;
+    private final Cache<String, List<ValidationError>> lintResultCache;
+    private final Cache<String, String> includeCheckCache;
+    private final Map<String, Cache<?, ?>> caches;
 
     private static final Logger logger = Logger.getLogger(CachingServiceImpl.class);
 
@@ -81,25 +119,23 @@ public class CachingServiceImpl implements CachingService {
                 .setInitialSize(size)
                 .setMaximumSize(size)
                 .setRecordStats(true)
-                .setName("existsCache")
-                .setSoftValues(true).build();
+                .setName("existsCache").build();
 
-        size = getCacheSize("aura.cache.defsCacheSize", DEFINITION_CACHE_SIZE);
         defsCache = this
                 .<DefDescriptor<?>, Optional<? extends Definition>> getCacheBuilder()
-                .setInitialSize(size)
-                .setMaximumSize(size)
+                .setInitialSize(DEFINITION_CACHE_SIZE)
+                .setWeigher(new DefinitionWeigher())
+                .setMaximumWeight(getCacheBytes("aura.cache.defsCacheBytes", "aura.cache.defsCacheSize",
+                        DEFINITION_CACHE_BYTES))
                 .setRecordStats(true)
-                .setName("defsCache")
-                .setSoftValues(true).build();
+                .setName("defsCache").build();
 
-        size = getCacheSize("aura.cache.stringsCacheSize", STRING_CACHE_SIZE);
         stringsCache = this.<String, String> getCacheBuilder()
-                .setInitialSize(size)
-                .setMaximumSize(size)
+                .setWeigher(new StringWeigher())
+                .setMaximumWeight(getCacheBytes("aura.cache.stringsCacheBytes", "aura.cache.stringsCacheSize",
+                        STRING_CACHE_BYTES))
                 .setRecordStats(true)
-                .setName("stringsCache")
-                .setSoftValues(true).build();
+                .setName("stringsCache").build();
 
         size = getCacheSize("aura.cache.filterCacheSize", FILTER_CACHE_SIZE);
         descriptorFilterCache = this
@@ -107,22 +143,20 @@ public class CachingServiceImpl implements CachingService {
                 .setInitialSize(size)
                 .setMaximumSize(size)
                 .setRecordStats(true)
-                .setName("descriptorFilterCache")
-                .setSoftValues(true).build();
+                .setName("descriptorFilterCache").build();
 
         size = getCacheSize("aura.cache.depsCacheSize", DEPENDENCY_CACHE_SIZE);
         depsCache = this.<String, DependencyEntry> getCacheBuilder()
                 .setInitialSize(size)
                 .setMaximumSize(size)
                 .setRecordStats(true)
-                .setName("depsCache")
-                .setSoftValues(true).build();
+                .setName("depsCache").build();
 
-        size = getCacheSize("aura.cache.clientLibraryOutputCacheSize", CLIENT_LIB_CACHE_SIZE);
         clientLibraryOutputCache = this.<String, String> getCacheBuilder()
-                .setInitialSize(size)
-                .setMaximumSize(size)
-                .setSoftValues(true)
+                .setInitialSize(CLIENT_LIB_CACHE_SIZE)
+                .setWeigher(new StringWeigher())
+                .setMaximumWeight(getCacheBytes("aura.cache.clientLibraryOutputCacheBytes",
+                        "aura.cache.clientLibraryOutputCacheSize", CLIENT_LIB_CACHE_BYTES))
                 .setName("clientLibraryOutputCache")
                 .setRecordStats(true).build();
 
@@ -130,10 +164,16 @@ public class CachingServiceImpl implements CachingService {
         clientLibraryUrlsCache = this.<String, Set<String>> getCacheBuilder()
                 .setInitialSize(size)
                 .setMaximumSize(size)
-                 .setSoftValues(true)
                 .setName("clientLibraryUrlsCache")
                 .setRecordStats(true).build();
 
+        size = getCacheSize("aura.cache.clientLibraryKeyCacheSize", CLIENT_LIB_CACHE_SIZE);
+        clientLibraryKeyCache = this.<String, String> getCacheBuilder()
+                .setInitialSize(size)
+                .setMaximumSize(size)
+                .setName("clientLibraryKeyCache")
+                .setRecordStats(true).build();
+
         size = getCacheSize("aura.cache.defDescByNameCacheSize", 1024 * 20);
         defDescriptorByNameCache =
                 this.<DefDescriptor.DescriptorKey, DefDescriptor<? extends Definition>> getCacheBuilder()
@@ -142,6 +182,59 @@ public class CachingServiceImpl implements CachingService {
                         .setConcurrencyLevel(20)
                         .setName("defDescByNameCache")
                         .build();
+
+        size = getCacheSize("aura.cache.pageShellCacheSize", PAGE_SHELL_CACHE_SIZE);
+        pageShellCache = this.<String, List<String>> getCacheBuilder()
+                .setInitialSize(size)
+                .setMaximumSize(size)
+                .setRecordStats(true)
+                .setName("pageShellCache").build();
+
+        size = getCacheSize("aura.cache.labelCacheSize", LABEL_CACHE_SIZE);
+        labelCache = this.<String, String> getCacheBuilder()
+                .setInitialSize(1024)
+                .setMaximumSize(size)
+                .setRecordStats(true)
+                .setName("labelCache").build();
+
+        frameworkResourceCache = this.<String, FrameworkResource> getCacheBuilder()
+                .setWeigher(new FrameworkResourceWeigher())
+                .setMaximumWeight(getCacheBytes("aura.cache.frameworkResourceCacheBytes",
+                        FRAMEWORK_RESOURCE_CACHE_BYTES))
+                .setRecordStats(true)
+                .setName("frameworkResourceCache").build();
+
+        size = getCacheSize("aura.cache.lintResultCacheSize", LINT_RESULT_CACHE_SIZE);
+        lintResultCache = this.<String, List<ValidationError>> getCacheBuilder()
+                .setInitialSize(256)
+                .setMaximumSize(size)
+                .setRecordStats(true)
+                .setName("lintResultCache").build();
+
+        size = getCacheSize("aura.cache.jsIncludeCheckCacheSize", INCLUDE_CHECK_CACHE_SIZE);
+        includeCheckCache = this.<String, String> getCacheBuilder()
+                .setInitialSize(256)
+                .setMaximumSize(size)
+                .setRecordStats(true)
+                .setName("includeCheckCache").build();
+
+        caches = ImmutableMap.<String, Cache<?, ?>> builder()
+                .put("existsCache", existsCache)
+                .put("defsCache", defsCache)
+                .put("stringsCache", stringsCache)
+                .put("descriptorFilterCache", descriptorFilterCache)
+                .put("depsCache", depsCache)
+                .put("clientLibraryOutputCache", clientLibraryOutputCache)
+                .put("clientLibraryUrlsCache", clientLibraryUrlsCache)
+                .put("clientLibraryKeyCache", clientLibraryKeyCache)
+                .put("defDescByNameCache", defDescriptorByNameCache)
+                .put("pageShellCache", pageShellCache)
+                .put("labelCache", labelCache)
+                .put("frameworkResourceCache", frameworkResourceCache)
+                .put("lintResultCache", lintResultCache)
+                .put("includeCheckCache", includeCheckCache)
+                .build();
+        CacheControl.register(caches.keySet());
     }
 
     @Override
@@ -179,11 +272,46 @@ public class CachingServiceImpl implements CachingService {
         return clientLibraryUrlsCache;
     }
 
+    @Override
+    public final Cache<String, String> getClientLibraryKeyCache() {
+        return clientLibraryKeyCache;
+    }
+
     @Override
     public final Cache<DefDescriptor.DescriptorKey, DefDescriptor<? extends Definition>> getDefDescriptorByNameCache() {
         return defDescriptorByNameCache;
     }
 
+    @Override
+    public final Cache<String, List<String>> getPageShellCache() {
+        return pageShellCache;
+    }
+
+    @Override
+    public final Cache<String, String> getLabelCache() {
+        return labelCache;
+    }
+
+    @Override
+    public final Cache<String, FrameworkResource> getFrameworkResourceCache() {
+        return frameworkResourceCache;
+    }
+
+    @Override
+    public final Cache<String, List<ValidationError>> getLintResultCache() {
+        return lintResultCache;
+    }
+
+    @Override
+    public final Cache<String, String> getIncludeCheckCache() {
+        return includeCheckCache;
+    }
+
+    @Override
+    public Map<String, Cache<?, ?>> getCaches() {
+        return caches;
+    }
+
     @Override
     public Lock getReadLock() {
         return rwLock.readLock();
@@ -248,10 +376,15 @@ public class CachingServiceImpl implements CachingService {
         depsCache.invalidateAll();
         descriptorFilterCache.invalidateAll();
         stringsCache.invalidateAll();
+        pageShellCache.invalidateAll();
+        clientLibraryKeyCache.invalidateAll();
+        lintResultCache.invalidateAll();
+        PersistentCacheStore.getInstance().invalidateDependencies();
 
         if (descriptor == null) {
             defsCache.invalidateAll();
             existsCache.invalidateAll();
+            labelCache.invalidateAll();
         } else {
             DefinitionService ds = Aura.getDefinitionService();
             DefDescriptor<ComponentDef> cdesc = ds.getDefDescriptor(descriptor,
@@ -293,4 +426,33 @@ public class CachingServiceImpl implements CachingService {
         }
         return defaultSize;
     }
+
+    /**
+     * Computes the byte budget of a weighted cache. The default can be
+     * overridden with a system property.
+     */
+    private long getCacheBytes(String propName, long defaultBytes) {
+        return getCacheBytes(propName, null, defaultBytes);
+    }
+
+    /**
+     * Computes the byte budget of a weighted cache that used to be bounded
+     * by entry count. An entry count does not translate into bytes, so a
+     * leftover count property is ignored with a warning.
+     */
+    private long getCacheBytes(String propName, String sizePropName, long defaultBytes) {
+        if (sizePropName != null && System.getProperty(sizePropName) != null) {
+            logger.warn(sizePropName + " is no longer used, set the budget in bytes with " + propName
+                    + " instead (" + defaultBytes + " by default)");
+        }
+        String prop = System.getProperty(propName);
+        if (prop != null && !prop.isEmpty()) {
+            try {
+                return Long.parseLong(prop);
+            } catch (NumberFormatException e) {
+                // ne'ermind, use the default
+            }
+        }
+        return defaultBytes;
+    }
 }
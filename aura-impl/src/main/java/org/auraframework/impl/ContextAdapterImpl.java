@@ -72,6 +72,13 @@ public class ContextAdapterImpl implements ContextAdapter {
         return context;
     }
 
+    @Override
+    public void attach(AuraContext context) {
+        currentContext.set(context);
+        systemContext.set(null);
+        systemDepth.set(null);
+    }
+
     protected AuraContext buildSystemContext(AuraContext original) {
         return new AuraContextImpl(original.getMode(),
                 new MasterDefRegistryImpl((MasterDefRegistryImpl)original.getDefRegistry()),
@@ -51,4 +51,9 @@ public class LoggingAdapterImpl implements LoggingAdapter {
     public LoggingContext getLoggingContext() {
         return currentContext.get();
     }
+
+    @Override
+    public void attach(LoggingContext context) {
+        currentContext.set(context);
+    }
 }
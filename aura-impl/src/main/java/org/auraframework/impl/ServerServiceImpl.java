@@ -37,9 +37,11 @@ import org.auraframework.def.EventDef;
 import org.auraframework.def.LibraryDef;
 import org.auraframework.def.SVGDef;
 import org.auraframework.ds.serviceloader.AuraServiceProvider;
+import org.auraframework.impl.metricsservice.PerformanceMetrics;
 import org.auraframework.impl.root.component.ClientComponentClass;
 import org.auraframework.instance.Action;
 import org.auraframework.instance.Event;
+import org.auraframework.instance.RejectedAction;
 import org.auraframework.service.LoggingService;
 import org.auraframework.service.MetricsService;
 import org.auraframework.service.ServerService;
@@ -66,6 +68,8 @@ public class ServerServiceImpl implements ServerService {
 
     private static final long serialVersionUID = -2779745160285710414L;
 
+    private static final ActionAdmission admission = new ActionAdmission(Aura.getConfigAdapter());
+
     @Override
     public void run(Message message, AuraContext context, Writer out, Map<?,?> extras) throws IOException {
         LoggingService loggingService = Aura.getLoggingService();
@@ -135,32 +139,54 @@ public class ServerServiceImpl implements ServerService {
             }
             String aap = String.valueOf(++idx)+"$"+actionAndParams.toString();
             loggingService.startAction(aap);
+            long actionStart = System.nanoTime();
             Action oldAction = context.setCurrentAction(action);
+            Action result = action;
+            ActionAdmission.Gate gate = admission.getGate(action.getDescriptor().getQualifiedName());
+            boolean admitted = true;
             try {
                 //
                 // We clear out action centric references here.
                 //
                 json.clearReferences();
-                // DCHASMAN TODO Look into a common base for Action
-                // implementations that we can move the call to
-                // context.setCurrentAction() into!
-                action.run();
+                if (gate != null) {
+                    long start = System.currentTimeMillis();
+                    admitted = gate.enter();
+                    loggingService.incrementNumBy(LoggingService.ACTION_QUEUE_TIME,
+                            System.currentTimeMillis() - start);
+                }
+                if (admitted) {
+                    // DCHASMAN TODO Look into a common base for Action
+                    // implementations that we can move the call to
+                    // context.setCurrentAction() into!
+                    action.run();
+                } else {
+                    loggingService.incrementNum(LoggingService.ACTIONS_REJECTED);
+                    result = new RejectedAction(action, "Too many requests are running "
+                            + action.getDescriptor().getQualifiedName() + ", please try again later");
+                }
             } catch (AuraExecutionException x) {
                 Aura.getExceptionAdapter().handleException(x, action);
             } finally {
+                if (gate != null && admitted) {
+                    gate.exit();
+                }
                 context.setCurrentAction(oldAction);
                 loggingService.stopAction(aap);
+                // recorded by descriptor, as aap carries the parameters
+                PerformanceMetrics.getInstance().recordAction(action.getDescriptor().getQualifiedName(),
+                        System.nanoTime() - actionStart);
             }
             loggingService.startTimer(LoggingService.TIMER_SERIALIZATION);
             loggingService.startTimer(LoggingService.TIMER_SERIALIZATION_AURA);
             try {
-                json.writeArrayEntry(action);
+                json.writeArrayEntry(result);
             } finally {
                 loggingService.stopTimer(LoggingService.TIMER_SERIALIZATION_AURA);
                 loggingService.stopTimer(LoggingService.TIMER_SERIALIZATION);
             }
 
-            List<Action> additionalActions = action.getActions();
+            List<Action> additionalActions = result.getActions();
 
             // Recursively process any additional actions created by the
             // action
@@ -16,11 +16,17 @@
 package org.auraframework.impl.adapter;
 
 import java.io.*;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.Type;
 import java.net.MalformedURLException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 import javax.servlet.http.HttpServletRequest;
 
@@ -39,6 +45,7 @@ import org.auraframework.impl.util.BrowserInfo;
 import org.auraframework.instance.BaseComponent;
 import org.auraframework.system.AuraContext;
 import org.auraframework.system.AuraContext.Mode;
+import org.auraframework.system.Client;
 import org.auraframework.throwable.AuraError;
 import org.auraframework.throwable.AuraRuntimeException;
 import org.auraframework.throwable.quickfix.QuickFixException;
@@ -47,6 +54,7 @@ import org.auraframework.util.javascript.JavascriptGroup;
 import org.auraframework.util.resource.*;
 import org.auraframework.util.text.Hash;
 
+import com.google.common.base.Splitter;
 import com.google.common.collect.*;
 import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
@@ -58,6 +66,14 @@ public class ConfigAdapterImpl implements ConfigAdapter {
     private static final String TIMESTAMP_PROPERTY = "aura.build.timestamp";
     private static final String VERSION_PROPERTY = "aura.build.version";
     private static final String VALIDATE_CSS_CONFIG = "aura.css.validate";
+    private static final String WARMUP_APPLICATIONS_CONFIG = "aura.warmup.applications";
+    private static final String WARMUP_MODES_CONFIG = "aura.warmup.modes";
+    private static final String WARMUP_CLIENT_TYPES_CONFIG = "aura.warmup.clientTypes";
+    private static final String ACTION_LIMIT_CONFIG = "aura.actions.limit";
+    private static final String ACTION_QUEUE_TIMEOUT_CONFIG = "aura.actions.queueTimeout";
+    private static final String MAX_QUEUED_ACTIONS_CONFIG = "aura.actions.maxQueued";
+
+    private static final Splitter CONFIG_LIST_SPLITTER = Splitter.on(',').trimResults().omitEmptyStrings();
 
     private static final Set<String> SYSTEM_NAMESPACES = Sets.newHashSet();
     private static final Set<String> CANONICAL_NAMESPACES = Sets.newHashSet();
@@ -68,17 +84,41 @@ public class ConfigAdapterImpl implements ConfigAdapter {
 
     private static final Set<String> CACHEABLE_PREFIXES = ImmutableSet.of("aura", "java");
 
+    /**
+     * How often the framework javascript and resources are checked for changes outside of production.
+     */
+    private static final long STALENESS_CHECK_MILLIS = Long.getLong("aura.framework.stalenessCheckMillis", 1000);
+
+    /**
+     * Shared by all instances, each of which schedules its own check once it has computed a framework uid.
+     */
+    private static final ScheduledExecutorService stalenessChecker = Executors
+            .newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "AuraFrameworkStalenessCheck");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
     protected final Set<Mode> allModes = EnumSet.allOf(Mode.class);
     private final JavascriptGroup jsGroup;
     private final FileGroup resourcesGroup;
-    private String jsUid = "";
-    private String resourcesUid = "";
-    private String fwUid = "";
+    private volatile FrameworkUid frameworkUid;
+    private ScheduledFuture<?> stalenessCheck;
     private final ResourceLoader resourceLoader;
     private final Long buildTimestamp;
     private String auraVersionString;
-    private boolean lastGenerationHadCompilationErrors = false;
+    private volatile boolean lastGenerationHadCompilationErrors = false;
     private final boolean validateCss;
+    private final Set<String> warmupApplications;
+    private final Set<Mode> warmupModes;
+    private final Set<Client.Type> warmupClientTypes;
+    private final Map<String, Integer> actionLimits;
+    private final int defaultActionLimit;
+    private final long actionQueueTimeout;
+    private final int maxQueuedActions;
     private final Map<String, String> effectiveTimezones;
 
     private LocalizationAdapter localizationAdapter = Aura.getLocalizationAdapter();
@@ -151,6 +191,29 @@ public class ConfigAdapterImpl implements ConfigAdapter {
         validateCss = AuraTextUtil.isNullEmptyOrWhitespace(validateCssString)
                 || Boolean.parseBoolean(validateCssString.trim());
 
+        warmupApplications = ImmutableSet.copyOf(splitConfig(config, WARMUP_APPLICATIONS_CONFIG));
+        warmupModes = Collections.unmodifiableSet(splitConfig(config, WARMUP_MODES_CONFIG, Mode.class));
+        EnumSet<Client.Type> clientTypes = splitConfig(config, WARMUP_CLIENT_TYPES_CONFIG, Client.Type.class);
+        if (clientTypes.isEmpty()) {
+            clientTypes.add(Client.Type.OTHER);
+        }
+        warmupClientTypes = Collections.unmodifiableSet(clientTypes);
+
+        ImmutableMap.Builder<String, Integer> limits = ImmutableMap.builder();
+        String limitPrefix = ACTION_LIMIT_CONFIG + ".";
+        for (String key : config.stringPropertyNames()) {
+            if (key.startsWith(limitPrefix)) {
+                int limit = getIntConfig(config, key, 0);
+                if (limit > 0) {
+                    limits.put(key.substring(limitPrefix.length()), limit);
+                }
+            }
+        }
+        actionLimits = limits.build();
+        defaultActionLimit = getIntConfig(config, ACTION_LIMIT_CONFIG, 0);
+        actionQueueTimeout = getIntConfig(config, ACTION_QUEUE_TIMEOUT_CONFIG, 1000);
+        maxQueuedActions = getIntConfig(config, MAX_QUEUED_ACTIONS_CONFIG, -1);
+
         effectiveTimezones = readEquivalentTimezones();
 
         if (!isProduction()) {
@@ -406,7 +469,7 @@ public class ConfigAdapterImpl implements ConfigAdapter {
 
     @Override
     public long getAuraJSLastMod() {
-        regenerateAuraJS();
+        getAuraFrameworkNonce();
         return jsGroup != null ? jsGroup.getLastMod() : getBuildTimestamp();
     }
 
@@ -469,6 +532,49 @@ public class ConfigAdapterImpl implements ConfigAdapter {
         return props;
     }
 
+    private static Iterable<String> splitConfig(Properties config, String key) {
+        String value = config.getProperty(key);
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        return CONFIG_LIST_SPLITTER.split(value);
+    }
+
+    /**
+     * Reads a comma separated list of enum constants, ignoring case. Values that are not constants of the enum are
+     * logged and skipped, so that a typo in aura.conf does not stop the application from starting.
+     */
+    static <E extends Enum<E>> EnumSet<E> splitConfig(Properties config, String key, Class<E> type) {
+        EnumSet<E> values = EnumSet.noneOf(type);
+        for (String value : splitConfig(config, key)) {
+            try {
+                values.add(Enum.valueOf(type, value.toUpperCase()));
+            } catch (IllegalArgumentException e) {
+                Logger.getLogger(ConfigAdapterImpl.class).warn(
+                        "Ignoring unknown value '" + value + "' for " + key + ", expected one of "
+                                + EnumSet.allOf(type));
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Reads a number, logging and ignoring a value that is not one.
+     */
+    static int getIntConfig(Properties config, String key, int defaultValue) {
+        String value = config.getProperty(key);
+        if (AuraTextUtil.isNullEmptyOrWhitespace(value)) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            Logger.getLogger(ConfigAdapterImpl.class).warn(
+                    "Ignoring '" + value + "' for " + key + ", expected a number");
+            return defaultValue;
+        }
+    }
+
     private Properties loadProperties(String path, Properties props) throws IOException {
         InputStream stream = this.resourceLoader.getResourceAsStream(path);
         if (stream == null) {
@@ -526,39 +632,113 @@ public class ConfigAdapterImpl implements ConfigAdapter {
         return validateCss;
     }
 
+    /**
+     * Get the framework uid.
+     *
+     * This is called on every request, so it only reads the current snapshot. Outside of production the snapshot is
+     * replaced by a background task when the framework javascript or resources change (see
+     * {@link #checkStaleness()}), and the uid is only computed here on the first call or while the last regeneration
+     * failed, so that the failure is reported to the caller.
+     */
     @Override
     public final String getAuraFrameworkNonce() {
+        FrameworkUid current = frameworkUid;
+        if (current != null && !lastGenerationHadCompilationErrors) {
+            return current.fwUid;
+        }
+        return refreshFrameworkUid();
+    }
+
+    /**
+     * Regenerate the framework javascript if needed and publish a new framework uid if either hash has changed.
+     *
+     * Callers of {@link #getAuraFrameworkNonce()} never see a partially updated uid, as the hashes and the uid they
+     * were made from are published together.
+     */
+    final synchronized String refreshFrameworkUid() {
         regenerateAuraJS();
         try {
             // framework nonce now consists of Aura JS and resources files (CSS and JS)
             String jsHash = jsGroup.getGroupHash().toString();
             String resourcesHash = getAuraResourcesNonce();
 
-            /*
-             * don't want to makeHash every time so store results and return appropriately
-             *
-             * Be VERY careful here.
-             *
-             * because fwUid is set along with jsUid and resourcesUid, there is a race condition
-             * whereby the condition can fail (i.e. both js & resources match), but fwUid is not
-             * yet set. This is very bad, as it causes an empty fwUid, which breaks everyone with
-             * a COOS
-             */
-            synchronized (this) {
-                if (!jsHash.equals(this.jsUid) || !resourcesHash.equals(this.resourcesUid)) {
-                    this.jsUid = jsHash;
-                    this.resourcesUid = resourcesHash;
-                    this.fwUid = makeHash(this.jsUid, this.resourcesUid);
-                }
+            // don't want to makeHash every time so only do it when one of the hashes has changed
+            FrameworkUid current = frameworkUid;
+            if (current == null || !jsHash.equals(current.jsUid) || !resourcesHash.equals(current.resourcesUid)) {
+                current = new FrameworkUid(jsHash, resourcesHash, makeHash(jsHash, resourcesHash));
+                frameworkUid = current;
             }
-
-            return this.fwUid;
-
+            scheduleStalenessCheck();
+            return current.fwUid;
         } catch (IOException e) {
             throw new AuraRuntimeException("Can't read framework files", e);
         }
     }
 
+    /**
+     * Refresh the framework uid if the framework javascript or resources have changed since it was computed.
+     */
+    void checkStaleness() {
+        if (isProduction()) {
+            return;
+        }
+        try {
+            if (jsGroup.isStale() || (resourcesGroup != null && resourcesGroup.isStale())) {
+                refreshFrameworkUid();
+            }
+        } catch (Exception e) {
+            // The next request will retry the regeneration and report the error.
+            Logger.getLogger(ConfigAdapterImpl.class).error("Unable to refresh framework uid", e);
+        }
+    }
+
+    /**
+     * Start checking for changes once the first uid has been computed. Nothing can change in production, or when
+     * running from compiled resources.
+     */
+    private void scheduleStalenessCheck() {
+        if (stalenessCheck != null || isProduction() || jsGroup instanceof CompiledGroup) {
+            return;
+        }
+        stalenessCheck = stalenessChecker.scheduleWithFixedDelay(new StalenessCheck(this), STALENESS_CHECK_MILLIS,
+                STALENESS_CHECK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * The framework uid along with the hashes it was made from.
+     */
+    private static final class FrameworkUid {
+        private final String jsUid;
+        private final String resourcesUid;
+        private final String fwUid;
+
+        private FrameworkUid(String jsUid, String resourcesUid, String fwUid) {
+            this.jsUid = jsUid;
+            this.resourcesUid = resourcesUid;
+            this.fwUid = fwUid;
+        }
+    }
+
+    /**
+     * Scheduled check that does not keep its adapter alive, and cancels itself once the adapter is gone.
+     */
+    private static final class StalenessCheck implements Runnable {
+        private final WeakReference<ConfigAdapterImpl> adapter;
+
+        private StalenessCheck(ConfigAdapterImpl adapter) {
+            this.adapter = new WeakReference<>(adapter);
+        }
+
+        @Override
+        public void run() {
+            ConfigAdapterImpl current = adapter.get();
+            if (current == null) {
+                throw new IllegalStateException("Config adapter collected, cancelling staleness check");
+            }
+            current.checkStaleness();
+        }
+    }
+
     protected String makeHash(String one, String two) throws IOException {
         StringReader reader = new StringReader(one + two);
         return new Hash(reader).toString();
@@ -599,6 +779,48 @@ public class ConfigAdapterImpl implements ConfigAdapter {
         return CACHEABLE_PREFIXES.contains(prefix);
     }
 
+    @Override
+    public Set<String> getWarmupApplications() {
+        return warmupApplications;
+    }
+
+    /**
+     * Modes from aura.conf, or just the default mode when none are configured.
+     */
+    @Override
+    public Set<Mode> getWarmupModes() {
+        if (warmupModes.isEmpty()) {
+            return EnumSet.of(getDefaultMode());
+        }
+        return warmupModes;
+    }
+
+    @Override
+    public Set<Client.Type> getWarmupClientTypes() {
+        return warmupClientTypes;
+    }
+
+    @Override
+    public int getActionLimit(String name) {
+        Integer limit = actionLimits.get(name);
+        return limit != null ? limit : 0;
+    }
+
+    @Override
+    public int getDefaultActionLimit() {
+        return defaultActionLimit;
+    }
+
+    @Override
+    public long getActionQueueTimeout() {
+        return actionQueueTimeout;
+    }
+
+    @Override
+    public int getMaxQueuedActions() {
+        return maxQueuedActions;
+    }
+
     /**
      * This default implementation of {@link ConfigAdapter#getContentSecurityPolicy}
      * will return a default ContentSecurityPolicy object.
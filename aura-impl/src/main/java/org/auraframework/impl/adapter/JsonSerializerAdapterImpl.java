@@ -26,6 +26,7 @@ import org.auraframework.impl.context.AuraContextImpl;
 import org.auraframework.impl.java.controller.JavaAction;
 import org.auraframework.instance.Action;
 import org.auraframework.instance.ActionWithKeyOverride;
+import org.auraframework.instance.RejectedAction;
 import org.auraframework.system.AuraContext.Mode;
 import org.auraframework.system.Location;
 import org.auraframework.throwable.AuraExceptionUtil;
@@ -53,6 +54,7 @@ public class JsonSerializerAdapterImpl implements JsonSerializerAdapter {
         m.put(AuraContextImpl.class.getName(), AuraContextImpl.FULL_SERIALIZER);
         m.put(JavaAction.class.getName(), Action.SERIALIZER);
         m.put(ActionWithKeyOverride.class.getName(), Action.SERIALIZER);
+        m.put(RejectedAction.class.getName(), Action.SERIALIZER);
         m.put(BigDecimal.class.getName(), JsonSerializers.BIGDECIMAL);
         return m;
     }
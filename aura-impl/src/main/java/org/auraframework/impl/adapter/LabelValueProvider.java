@@ -15,11 +15,15 @@
  */
 package org.auraframework.impl.adapter;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.auraframework.Aura;
+import org.auraframework.adapter.LocalizationAdapter;
+import org.auraframework.cache.Cache;
 import org.auraframework.def.DefDescriptor;
 import org.auraframework.def.TypeDef;
 import org.auraframework.expression.PropertyReference;
@@ -31,15 +35,21 @@ import org.auraframework.throwable.quickfix.InvalidExpressionException;
 import org.auraframework.util.AuraTextUtil;
 
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 
 /**
  * Value provider for $Label
+ *
+ * Labels are resolved through a cache shared by all requests and keyed by the language locale,
+ * so that a request only goes to the localization adapter for labels no request has asked for yet.
  */
 public class LabelValueProvider implements GlobalValueProvider {
 
     // MapValueProvider...
     private final Map<String, Map<String, String>> labels;
 
+    private String locale;
+
     public LabelValueProvider() {
         labels = Maps.newHashMap();
     }
@@ -49,20 +59,100 @@ public class LabelValueProvider implements GlobalValueProvider {
         List<String> parts = expr.getList();
         String section = parts.get(0);
         String param = parts.get(1);
+        Map<String, String> m = getSection(section);
+        String ret = m.get(param);
+        if (ret == null) {
+            Cache<String, String> cache = Aura.getCachingService().getLabelCache();
+            String key = getCacheKey(section, param);
+            ret = cache.getIfPresent(key);
+            if (ret == null) {
+                ret = unescape(Aura.getLocalizationAdapter().getLabel(section, param));
+                if (ret != null) {
+                    cache.put(key, ret);
+                }
+            }
+            m.put(param, ret);
+        }
+        return ret;
+    }
+
+    /**
+     * Resolve a set of label references at once.
+     *
+     * Labels already known to this request or to the shared cache are simple lookups, the remainder is
+     * fetched from the localization adapter with one call per section.
+     *
+     * @param refs the label stems (section and name) to resolve.
+     */
+    public void loadLabels(Collection<PropertyReference> refs) {
+        Map<String, Set<String>> missing = null;
+        Cache<String, String> cache = null;
+
+        for (PropertyReference ref : refs) {
+            List<String> parts = ref.getList();
+            String section = parts.get(0);
+            String param = parts.get(1);
+            Map<String, String> m = getSection(section);
+            if (m.get(param) != null) {
+                continue;
+            }
+            if (cache == null) {
+                cache = Aura.getCachingService().getLabelCache();
+            }
+            String ret = cache.getIfPresent(getCacheKey(section, param));
+            if (ret != null) {
+                m.put(param, ret);
+                continue;
+            }
+            if (missing == null) {
+                missing = Maps.newHashMap();
+            }
+            Set<String> names = missing.get(section);
+            if (names == null) {
+                names = Sets.newHashSet();
+                missing.put(section, names);
+            }
+            names.add(param);
+        }
+        if (missing == null) {
+            return;
+        }
+
+        LocalizationAdapter adapter = Aura.getLocalizationAdapter();
+        for (Map.Entry<String, Set<String>> entry : missing.entrySet()) {
+            String section = entry.getKey();
+            Map<String, String> m = getSection(section);
+            Map<String, String> fetched = adapter.getLabels(section, entry.getValue());
+            for (String param : entry.getValue()) {
+                String ret = unescape(fetched.get(param));
+                if (ret != null) {
+                    cache.put(getCacheKey(section, param), ret);
+                }
+                m.put(param, ret);
+            }
+        }
+    }
+
+    private Map<String, String> getSection(String section) {
         Map<String, String> m = labels.get(section);
         if (m == null) {
             m = new HashMap<>();
             labels.put(section, m);
         }
-        String ret = m.get(param);
-        if (ret == null) {
-            String label = Aura.getLocalizationAdapter().getLabel(section, param);
-            // people escape stuff like &copy; in the labels, aura doesn't need
-            // that.
-            ret = AuraTextUtil.unescapeOutput(label, false);
-            m.put(param, ret);
+        return m;
+    }
+
+    private String getCacheKey(String section, String param) {
+        if (locale == null) {
+            locale = String.valueOf(Aura.getLocalizationAdapter().getAuraLocale().getLanguageLocale());
         }
-        return ret;
+        return locale + "|" + section + "|" + param;
+    }
+
+    private static String unescape(String label) {
+        // people escape stuff like &copy; in the labels, aura doesn't need
+        // that.
+        return AuraTextUtil.unescapeOutput(label, false);
     }
 
     @Override
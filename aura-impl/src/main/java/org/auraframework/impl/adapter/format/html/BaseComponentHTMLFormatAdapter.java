@@ -16,11 +16,13 @@
 package org.auraframework.impl.adapter.format.html;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 
 import javax.annotation.concurrent.ThreadSafe;
 
 import org.auraframework.Aura;
+import org.auraframework.cache.Cache;
 import org.auraframework.def.BaseComponentDef;
 import org.auraframework.def.ComponentDef;
 import org.auraframework.def.DefDescriptor;
@@ -30,7 +32,6 @@ import org.auraframework.http.AuraBaseServlet;
 import org.auraframework.instance.BaseComponent;
 import org.auraframework.instance.Component;
 import org.auraframework.service.InstanceService;
-import org.auraframework.service.RenderingService;
 import org.auraframework.system.AuraContext;
 import org.auraframework.system.AuraContext.Mode;
 import org.auraframework.throwable.AuraRuntimeException;
@@ -47,36 +48,21 @@ import com.google.common.collect.Maps;
 @aQute.bnd.annotation.component.Component (provide=AuraServiceProvider.class)
 public abstract class BaseComponentHTMLFormatAdapter<T extends BaseComponent<?, ?>> extends HTMLFormatAdapter<T> {
 
+    private static final String SHELL_VARIANT = "component";
+
     @Override
     public void write(T value, Map<String, Object> componentAttributes, Appendable out) throws IOException {
         try {
 
             AuraContext context = Aura.getContextService().getCurrentContext();
             InstanceService instanceService = Aura.getInstanceService();
-            RenderingService renderingService = Aura.getRenderingService();
             BaseComponentDef def = value.getDescriptor().getDef();
 
             ComponentDef templateDef = def.getTemplateDef();
-            Map<String, Object> attributes = Maps.newHashMap();
-
-            StringBuilder sb = new StringBuilder();
-            writeHtmlStyle(Aura.getConfigAdapter().getResetCssURL(), sb);
-            attributes.put("auraResetTags", sb.toString());
-
-            sb.setLength(0);
-            writeHtmlStyles(Aura.getServletUtilAdapter().getStyles(context), sb);
-            attributes.put("auraStyleTags", sb.toString());
-            sb.setLength(0);
-            writeHtmlScripts(Aura.getServletUtilAdapter().getScripts(context), sb);
-            DefDescriptor<StyleDef> styleDefDesc = templateDef.getStyleDescriptor();
-            if (styleDefDesc != null) {
-                attributes.put("auraInlineStyle", styleDefDesc.getDef().getCode());
-            }
-
-            String contextPath = context.getContextPath();
             Mode mode = context.getMode();
 
             if (mode.allowLocalRendering() && def.isLocallyRenderable()) {
+                Map<String, Object> attributes = getTemplateAttributes(context, templateDef);
                 BaseComponent<?,?> cmp = (BaseComponent<?,?>)instanceService.getInstance(def, componentAttributes);
 
                 attributes.put("body", Lists.<BaseComponent<?, ?>> newArrayList(cmp));
@@ -85,36 +71,82 @@ public abstract class BaseComponentHTMLFormatAdapter<T extends BaseComponent<?,
 
                 Component template = instanceService.getInstance(templateDef.getDescriptor(), attributes);
 
-                renderingService.render(template, out);
+                Aura.getRenderingService().render(template, out);
             } else {
-
-                attributes.put("auraScriptTags", sb.toString());
-                Map<String, Object> auraInit = Maps.newHashMap();
-                if (componentAttributes != null && !componentAttributes.isEmpty()) {
-                    auraInit.put("attributes", componentAttributes);
+                // Everything but the init config is the same for every request for the app, so render the template
+                // once with a slot for it.
+                Cache<String, List<String>> shells = Aura.getCachingService().getPageShellCache();
+                String shellKey = PageShell.getKey(SHELL_VARIANT, context, def, templateDef);
+
+                // Serialized before the template is rendered, as rendering may add to the context.
+                String auraInitSync = getAuraInitSync(value, componentAttributes, def, context);
+                List<String> shell = shellKey != null ? shells.getIfPresent(shellKey) : null;
+                if (shell == null) {
+                    shell = renderShell(context, templateDef);
+                    if (shellKey != null) {
+                        shells.put(shellKey, shell);
+                    }
                 }
-                auraInit.put("descriptor", def.getDescriptor());
-                auraInit.put("deftype", def.getDescriptor().getDefType());
-                auraInit.put("host", contextPath);
+                PageShell.write(shell, auraInitSync, out);
+            }
+        } catch (QuickFixException e) {
+            throw new AuraRuntimeException(e);
+        }
+    }
 
-                attributes.put("autoInitialize", "false");
-                attributes.put("autoInitializeSync", "true");
+    private List<String> renderShell(AuraContext context, ComponentDef templateDef)
+            throws IOException, QuickFixException {
+        Map<String, Object> attributes = getTemplateAttributes(context, templateDef);
+
+        StringBuilder sb = new StringBuilder();
+        writeHtmlScripts(Aura.getServletUtilAdapter().getScripts(context), sb);
+        attributes.put("auraScriptTags", sb.toString());
+        attributes.put("autoInitialize", "false");
+        attributes.put("autoInitializeSync", "true");
+        attributes.put("auraInitSync", PageShell.SLOT);
+
+        Component template = Aura.getInstanceService().getInstance(templateDef.getDescriptor(), attributes);
+        StringBuilder rendered = new StringBuilder();
+        Aura.getRenderingService().render(template, rendered);
+        return PageShell.split(rendered.toString());
+    }
 
-                auraInit.put("instance", value);
-                auraInit.put("token", AuraBaseServlet.getToken());
+    private Map<String, Object> getTemplateAttributes(AuraContext context, ComponentDef templateDef)
+            throws IOException, QuickFixException {
+        Map<String, Object> attributes = Maps.newHashMap();
 
-                StringBuilder contextWriter = new StringBuilder();
-                Aura.getSerializationService().write(context, null, AuraContext.class, contextWriter, "JSON");
-                auraInit.put("context", new Literal(contextWriter.toString()));
+        StringBuilder sb = new StringBuilder();
+        writeHtmlStyle(Aura.getConfigAdapter().getResetCssURL(), sb);
+        attributes.put("auraResetTags", sb.toString());
 
-                attributes.put("auraInitSync", JsonEncoder.serialize(auraInit));
+        sb.setLength(0);
+        writeHtmlStyles(Aura.getServletUtilAdapter().getStyles(context), sb);
+        attributes.put("auraStyleTags", sb.toString());
 
-                Component template = instanceService.getInstance(templateDef.getDescriptor(), attributes);
-                renderingService.render(template, out);
-            }
-        } catch (QuickFixException e) {
-            throw new AuraRuntimeException(e);
+        DefDescriptor<StyleDef> styleDefDesc = templateDef.getStyleDescriptor();
+        if (styleDefDesc != null) {
+            attributes.put("auraInlineStyle", styleDefDesc.getDef().getCode());
         }
+        return attributes;
     }
 
+    private String getAuraInitSync(T value, Map<String, Object> componentAttributes, BaseComponentDef def,
+            AuraContext context) throws QuickFixException {
+        Map<String, Object> auraInit = Maps.newHashMap();
+        if (componentAttributes != null && !componentAttributes.isEmpty()) {
+            auraInit.put("attributes", componentAttributes);
+        }
+        auraInit.put("descriptor", def.getDescriptor());
+        auraInit.put("deftype", def.getDescriptor().getDefType());
+        auraInit.put("host", context.getContextPath());
+
+        auraInit.put("instance", value);
+        auraInit.put("token", AuraBaseServlet.getToken());
+
+        StringBuilder contextWriter = new StringBuilder();
+        Aura.getSerializationService().write(context, null, AuraContext.class, contextWriter, "JSON");
+        auraInit.put("context", new Literal(contextWriter.toString()));
+
+        return JsonEncoder.serialize(auraInit);
+    }
 }
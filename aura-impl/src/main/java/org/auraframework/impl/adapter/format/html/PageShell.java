@@ -0,0 +1,146 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.adapter.format.html;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import org.auraframework.def.BaseComponentDef;
+import org.auraframework.def.ComponentDef;
+import org.auraframework.def.DefDescriptor;
+import org.auraframework.def.DefDescriptor.DefType;
+import org.auraframework.expression.PropertyReference;
+import org.auraframework.system.AuraContext;
+import org.auraframework.system.AuraContext.EncodingStyle;
+import org.auraframework.system.MasterDefRegistry;
+import org.auraframework.throwable.quickfix.QuickFixException;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * An application template rendered once and reused across requests.
+ *
+ * For a given application, mode, locale and client the rendered template only differs in the initialization
+ * attribute, which carries the token and the serialized context. The template is rendered with {@link #SLOT} in
+ * place of that attribute and split around it. Later requests write the parts with the real value in between,
+ * instead of creating and rendering the template components again.
+ */
+final class PageShell {
+    /**
+     * Rendered in place of the dynamic attribute. Rendering leaves plain identifier characters as they are.
+     */
+    static final String SLOT = "__auraPageShellSlot__";
+
+    private PageShell() {
+    }
+
+    /**
+     * Get the cache key for the shell of a template in the current context.
+     *
+     * The key is made of the context as it is encoded in the resource urls (mode, application and its uid, framework
+     * uid, locales and the style context, which includes the client type), plus the context path. These are everything
+     * the static parts of the page are built from.
+     *
+     * @param variant distinguishes the different adapters that render shells.
+     * @return the key, or null if the shell cannot be shared, because the template is not {@link #isShareable} or the
+     *         application uid is not known.
+     */
+    static String getKey(String variant, AuraContext context, BaseComponentDef def, ComponentDef templateDef)
+            throws QuickFixException {
+        if (context.getLoaded().get(def.getDescriptor()) == null || !isShareable(context, templateDef)) {
+            return null;
+        }
+        StringBuilder key = new StringBuilder(256);
+        key.append(variant).append('|');
+        key.append(templateDef.getDescriptor().getQualifiedName()).append('|');
+        key.append(context.getContextPath()).append('|');
+        key.append(context.serialize(EncodingStyle.Normal)).append('|');
+        key.append(context.serialize(EncodingStyle.Css));
+        return key.toString();
+    }
+
+    /**
+     * Check whether a template renders the same for every request with the same key.
+     *
+     * The template, its super components and every component it uses must not have a model, must not use a global
+     * value such as $Browser or $Locale, and must not have a server side provider or renderer. The framework's own
+     * providers and renderers are allowed, as they only render from attribute values, which are checked here.
+     */
+    static boolean isShareable(AuraContext context, ComponentDef templateDef) throws QuickFixException {
+        if (!isShareable(templateDef)) {
+            return false;
+        }
+        MasterDefRegistry registry = context.getDefRegistry();
+        String uid = registry.getUid(null, templateDef.getDescriptor());
+        Set<DefDescriptor<?>> dependencies = uid != null ? registry.getDependencies(uid) : null;
+        if (dependencies == null) {
+            return false;
+        }
+        for (DefDescriptor<?> dependency : dependencies) {
+            DefType type = dependency.getDefType();
+            if (type == DefType.COMPONENT || type == DefType.APPLICATION) {
+                if (!isShareable((BaseComponentDef) registry.getDef(dependency))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isShareable(BaseComponentDef def) throws QuickFixException {
+        if (def.getLocalModelDefDescriptor() != null) {
+            return false;
+        }
+        for (PropertyReference ref : def.getExpressionRefs()) {
+            if (ref.getRoot().startsWith("$")) {
+                return false;
+            }
+        }
+        if (!"aura".equals(def.getDescriptor().getNamespace())) {
+            if (def.getLocalRendererDef() != null || def.getLocalProviderDef() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Split a template rendered with {@link #SLOT} into the parts around it.
+     */
+    static List<String> split(String rendered) {
+        ImmutableList.Builder<String> parts = ImmutableList.builder();
+        int start = 0;
+        int index;
+        while ((index = rendered.indexOf(SLOT, start)) >= 0) {
+            parts.add(rendered.substring(start, index));
+            start = index + SLOT.length();
+        }
+        parts.add(rendered.substring(start));
+        return parts.build();
+    }
+
+    /**
+     * Write a shell with the value in each slot.
+     */
+    static void write(List<String> parts, String value, Appendable out) throws IOException {
+        out.append(parts.get(0));
+        for (int i = 1; i < parts.size(); i++) {
+            out.append(value);
+            out.append(parts.get(i));
+        }
+    }
+}
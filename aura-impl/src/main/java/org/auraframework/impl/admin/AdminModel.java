@@ -18,7 +18,6 @@
 package org.auraframework.impl.admin;
 
 import java.lang.management.ManagementFactory;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -27,14 +26,18 @@ import javax.management.JMException;
 import javax.management.MBeanServer;
 import javax.management.ObjectName;
 
+import org.auraframework.Aura;
+import org.auraframework.cache.Cache;
 import org.auraframework.impl.AuraImpl;
 import org.auraframework.impl.system.MasterDefRegistryImpl;
+import org.auraframework.service.CachingService;
 import org.auraframework.system.Annotations.AuraEnabled;
 import org.auraframework.system.Annotations.Model;
 import org.auraframework.system.AuraContext;
 import org.auraframework.system.AuraContext.Mode;
 import org.auraframework.system.DefRegistry;
 
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
@@ -52,20 +55,20 @@ public class AdminModel {
     private final Map<String,Object> stringsData;
     private final Map<String,Object> descriptorFilterData;
 
-    // TODO - W-2105858 - re-enable with either the private implementation of the Cache used, or
-    //        a least-common-denominator implementation
+    private Map<String,Object> getStats(Cache<?, ?> cache) {
+        CacheStats stats = cache.getStats();
+        Map<String, Object> data = Maps.newHashMap();
+
+        data.put("evictionCount", String.valueOf(stats.evictionCount()));
+        data.put("hitCount", String.valueOf(stats.hitCount()));
+        data.put("hitRate", String.valueOf(stats.hitRate()));
+        data.put("missCount", String.valueOf(stats.missCount()));
+        data.put("missRate", String.valueOf(stats.missRate()));
+        data.put("requestCount", String.valueOf(stats.requestCount()));
+        return data;
+    }
 
-    //    private Map<String,Object> getStats(CacheStats stats) {
-    //        Map<String, Object> data = Maps.newHashMap();
-    //
-    //        data.put("evictionCount", String.valueOf(stats.evictionCount()));
-    //        data.put("hitCount", String.valueOf(stats.hitCount()));
-    //        data.put("hitRate", String.valueOf(stats.hitRate()));
-    //        data.put("missCount", String.valueOf(stats.missCount()));
-    //        data.put("missRate", String.valueOf(stats.missRate()));
-    //        data.put("requestCount", String.valueOf(stats.requestCount()));
-    //        return data;
-    //    }
+    // TODO - W-2105858 - re-enable with a bounded view of the cached definitions
 
     //    private void addDefsStats(Map<String, Object> data, Collection<Optional<? extends Definition>> defs) {
     //        List<Map<String, Object>> defsData = Lists.newArrayListWithCapacity(defs.size());
@@ -88,23 +91,18 @@ public class AdminModel {
     //        data.put("nulls", nulls);
     //    }
 
-    public Map<String,Object> getMockMap() {
-        HashMap<String,Object> map = new HashMap<>();
-        map.put("not available", "not available");
-        return map;
-    }
-
     public AdminModel() throws JMException {
         AuraContext c = AuraImpl.getContextAdapter().getCurrentContext();
         m = c.getMode();
         MasterDefRegistryImpl mdr = (MasterDefRegistryImpl) c.getDefRegistry();
         DefRegistry<?>[] regs = mdr.getAllRegistries();
 
-        defsData = getMockMap(); //getStats(MasterDefRegistryImpl.getDefsCacheStats());
+        CachingService cachingService = Aura.getCachingService();
+        defsData = getStats(cachingService.getDefsCache());
         //addDefsStats(defsData, MasterDefRegistryImpl.getCachedDefs());
-        existsData = getMockMap(); //getStats(MasterDefRegistryImpl.getExistsCacheStats());
-        stringsData = getMockMap(); // getStats(MasterDefRegistryImpl.getStringsCacheStats());
-        descriptorFilterData = getMockMap(); //getStats(MasterDefRegistryImpl.getDescriptorFilterCacheStats());
+        existsData = getStats(cachingService.getExistsCache());
+        stringsData = getStats(cachingService.getStringsCache());
+        descriptorFilterData = getStats(cachingService.getDescriptorFilterCache());
 
         registryData = Lists.newArrayListWithCapacity(regs.length);
         for (DefRegistry<?> dr : regs) {
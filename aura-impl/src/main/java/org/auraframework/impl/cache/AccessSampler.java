@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.cache;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Approximate read frequency per key, used to report the hottest keys of a cache.
+ *
+ * Only one read in {@link #SAMPLE_RATE} is counted, and the number of keys tracked is bounded.
+ * When the bound is hit the colder half of the keys is dropped and the remaining counts are
+ * halved, so keys that stopped being read age out.
+ */
+class AccessSampler<K> {
+
+    private static final int SAMPLE_RATE = 8;
+    private static final int MAX_KEYS = 512;
+
+    private final ConcurrentMap<K, AtomicLong> counts = Maps.newConcurrentMap();
+
+    private static final Comparator<Map.Entry<?, AtomicLong>> HOTTEST_FIRST = new Comparator<Map.Entry<?, AtomicLong>>() {
+        @Override
+        public int compare(Map.Entry<?, AtomicLong> a, Map.Entry<?, AtomicLong> b) {
+            long ca = a.getValue().get();
+            long cb = b.getValue().get();
+            return (ca < cb) ? 1 : ((ca == cb) ? 0 : -1);
+        }
+    };
+
+    void record(K key) {
+        if (key == null || ThreadLocalRandom.current().nextInt(SAMPLE_RATE) != 0) {
+            return;
+        }
+        AtomicLong count = counts.get(key);
+        if (count == null) {
+            if (counts.size() >= MAX_KEYS) {
+                prune();
+            }
+            count = new AtomicLong();
+            AtomicLong existing = counts.putIfAbsent(key, count);
+            if (existing != null) {
+                count = existing;
+            }
+        }
+        count.incrementAndGet();
+    }
+
+    List<K> getTopKeys(int limit) {
+        List<Map.Entry<K, AtomicLong>> entries = Lists.newArrayList(counts.entrySet());
+        Collections.sort(entries, HOTTEST_FIRST);
+        List<K> top = Lists.newArrayListWithCapacity(Math.min(limit, entries.size()));
+        for (Map.Entry<K, AtomicLong> entry : entries) {
+            if (top.size() >= limit) {
+                break;
+            }
+            top.add(entry.getKey());
+        }
+        return top;
+    }
+
+    void remove(Object key) {
+        counts.remove(key);
+    }
+
+    void clear() {
+        counts.clear();
+    }
+
+    private synchronized void prune() {
+        if (counts.size() < MAX_KEYS) {
+            return;
+        }
+        List<Map.Entry<K, AtomicLong>> entries = Lists.newArrayList(counts.entrySet());
+        Collections.sort(entries, HOTTEST_FIRST);
+        for (int i = 0; i < entries.size(); i++) {
+            Map.Entry<K, AtomicLong> entry = entries.get(i);
+            if (i < MAX_KEYS / 2) {
+                AtomicLong count = entry.getValue();
+                count.set(count.get() / 2);
+            } else {
+                counts.remove(entry.getKey());
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.cache;
+
+import java.io.IOException;
+import java.util.Map;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.auraframework.Aura;
+import org.auraframework.adapter.ConfigAdapter;
+import org.auraframework.cache.Cache;
+import org.auraframework.util.json.JsonEncoder;
+
+import com.google.common.base.Charsets;
+
+/**
+ * Admin endpoint for the caches of the caching service.
+ *
+ * GET returns the statistics of every cache as JSON, or of a single one with cache=name. The
+ * number of hot keys reported can be set with topKeys=n. With footprint=true it returns the
+ * estimated heap held by the definitions cache, per definition type.
+ *
+ * POST with cache=name changes that cache: resize=n sets the maximum size, invalidate=prefix
+ * drops the keys starting with prefix (all keys if the prefix is empty). The statistics of the
+ * cache are returned afterwards.
+ *
+ * In production, only sysadmins may use it.
+ */
+@SuppressWarnings("serial")
+public class CacheAdminServlet extends HttpServlet {
+
+    // KEEP THIS URL IN SYNC WITH THE SERVLET'S URL-MAPPING ENTRY IN WEB.XML!
+    public static final String URL = "/qa/auraCache";
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException,
+            IOException {
+        if (!checkAllowed(response)) {
+            return;
+        }
+
+        if (Boolean.parseBoolean(request.getParameter("footprint"))) {
+            write(response, CacheControl.getDefinitionFootprint(Aura.getCachingService().getDefsCache()));
+            return;
+        }
+
+        Map<String, Cache<?, ?>> caches = Aura.getCachingService().getCaches();
+        String name = request.getParameter("cache");
+        int topKeys;
+        try {
+            topKeys = getInt(request, "topKeys", CacheControl.TOP_KEYS);
+        } catch (NumberFormatException nfe) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid topKeys");
+            return;
+        }
+
+        if (name != null) {
+            Cache<?, ?> cache = caches.get(name);
+            if (cache == null) {
+                response.sendError(HttpServletResponse.SC_NOT_FOUND, "No cache named " + name);
+                return;
+            }
+            write(response, CacheControl.getStatistics(cache, topKeys));
+            return;
+        }
+
+        JsonEncoder json = start(response);
+        try {
+            json.writeMapBegin();
+            for (Map.Entry<String, Cache<?, ?>> entry : caches.entrySet()) {
+                json.writeMapEntry(entry.getKey(), CacheControl.getStatistics(entry.getValue(), topKeys));
+            }
+            json.writeMapEnd();
+        } finally {
+            json.close();
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException,
+            IOException {
+        if (!checkAllowed(response)) {
+            return;
+        }
+
+        String name = request.getParameter("cache");
+        Cache<?, ?> cache = (name == null) ? null : Aura.getCachingService().getCaches().get(name);
+        if (cache == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "No cache named " + name);
+            return;
+        }
+
+        String resize = request.getParameter("resize");
+        if (resize != null) {
+            try {
+                cache.setMaximumSize(Long.parseLong(resize));
+            } catch (IllegalArgumentException iae) {
+                // includes NumberFormatException
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Invalid size " + resize);
+                return;
+            } catch (UnsupportedOperationException uoe) {
+                response.sendError(HttpServletResponse.SC_BAD_REQUEST, uoe.getMessage());
+                return;
+            }
+        }
+
+        String invalidate = request.getParameter("invalidate");
+        if (invalidate != null) {
+            cache.invalidatePartial(invalidate);
+        }
+
+        write(response, CacheControl.getStatistics(cache, CacheControl.TOP_KEYS));
+    }
+
+    private int getInt(HttpServletRequest request, String parameter, int defaultValue) {
+        String value = request.getParameter(parameter);
+        return (value == null) ? defaultValue : Integer.parseInt(value);
+    }
+
+    private JsonEncoder start(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setCharacterEncoding(Charsets.UTF_8.toString());
+        response.setContentType(JsonEncoder.MIME_TYPE);
+        response.setHeader("Cache-Control", "no-cache, no-store");
+        return JsonEncoder.createJsonStream(response.getOutputStream(), true, false, false);
+    }
+
+    private void write(HttpServletResponse response, Map<String, Object> data) throws IOException {
+        JsonEncoder json = start(response);
+        try {
+            json.writeMap(data);
+        } finally {
+            json.close();
+        }
+    }
+
+    /**
+     * Only let sysadmins in when running in production.
+     *
+     * @return true if the request may go on, false if it was refused.
+     */
+    private boolean checkAllowed(HttpServletResponse response) throws IOException {
+        ConfigAdapter configAdapter = Aura.getConfigAdapter();
+        if (configAdapter.isProduction() && !configAdapter.isSysAdmin()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return false;
+        }
+        return true;
+    }
+}
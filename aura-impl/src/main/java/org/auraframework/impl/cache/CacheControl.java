@@ -0,0 +1,249 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.cache;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.log4j.Logger;
+import org.auraframework.Aura;
+import org.auraframework.cache.Cache;
+import org.auraframework.def.DefDescriptor;
+import org.auraframework.def.DefDescriptor.DefType;
+import org.auraframework.def.Definition;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+
+/**
+ * Statistics and control for the caches of the caching service, shared by JMX and the admin
+ * servlet.
+ *
+ * The MBeans only hold the cache name and look the cache up on each call, so they stay valid if
+ * the caching service is replaced.
+ */
+public class CacheControl implements CacheControlMBean {
+
+    public static final String OBJECT_NAME_PREFIX = "org.auraframework:type=Cache,name=";
+
+    /** Number of keys reported by default as the hottest in a cache */
+    public static final int TOP_KEYS = 20;
+
+    private static final Logger logger = Logger.getLogger(CacheControl.class);
+
+    private final String name;
+
+    CacheControl(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Register an MBean for each of the named caches, skipping those already registered.
+     */
+    public static void register(Iterable<String> names) {
+        MBeanServer server;
+        try {
+            server = ManagementFactory.getPlatformMBeanServer();
+        } catch (SecurityException e) {
+            logger.warn("Unable to register cache MBeans", e);
+            return;
+        }
+        for (String name : names) {
+            try {
+                ObjectName objectName = new ObjectName(OBJECT_NAME_PREFIX + name);
+                if (!server.isRegistered(objectName)) {
+                    server.registerMBean(new CacheControl(name), objectName);
+                }
+            } catch (JMException e) {
+                logger.warn("Unable to register MBean for cache " + name, e);
+            }
+        }
+    }
+
+    /**
+     * Gather the statistics of a cache into a map, suitable for serialization.
+     */
+    public static Map<String, Object> getStatistics(Cache<?, ?> cache, int topKeys) {
+        Map<String, Object> data = Maps.newLinkedHashMap();
+        CacheStats stats = cache.getStats();
+        data.put("size", cache.getSize());
+        data.put("weighted", cache.isWeighted());
+        data.put("weightedSize", cache.getWeightedSize());
+        data.put("maximumSize", cache.getMaximumSize());
+        data.put("hitRate", stats.hitRate());
+        data.put("hitCount", stats.hitCount());
+        data.put("missCount", stats.missCount());
+        data.put("loadCount", stats.loadCount());
+        data.put("loadExceptionCount", stats.loadExceptionCount());
+        data.put("averageLoadPenalty", stats.averageLoadPenalty());
+        data.put("totalLoadTime", stats.totalLoadTime());
+        data.put("evictionCount", stats.evictionCount());
+        data.put("topKeys", toStrings(cache.getTopKeys(topKeys)));
+        return data;
+    }
+
+    /**
+     * Estimate the heap held by a definition cache, per definition type, suitable for serialization.
+     *
+     * The figures come from the {@link DefinitionWeigher}, so they are the same estimates the cache
+     * budget is based on. Walking the entries does not count as hits or misses.
+     */
+    public static Map<String, Object> getDefinitionFootprint(
+            Cache<DefDescriptor<?>, Optional<? extends Definition>> cache) {
+        @SuppressWarnings("unchecked")
+        Map<DefDescriptor<?>, Optional<? extends Definition>> entries =
+                ((com.google.common.cache.Cache<DefDescriptor<?>, Optional<? extends Definition>>) cache
+                        .getPrivateUnderlyingCache()).asMap();
+        DefinitionWeigher weigher = new DefinitionWeigher();
+        Map<DefType, long[]> byType = new EnumMap<>(DefType.class);
+        long absent = 0;
+        long total = 0;
+
+        for (Map.Entry<DefDescriptor<?>, Optional<? extends Definition>> entry : entries.entrySet()) {
+            int weight = weigher.weigh(entry.getKey(), entry.getValue());
+            total += weight;
+            if (entry.getValue() == null || !entry.getValue().isPresent()) {
+                absent++;
+                continue;
+            }
+            DefType type = entry.getKey().getDefType();
+            long[] counts = byType.get(type);
+            if (counts == null) {
+                counts = new long[2];
+                byType.put(type, counts);
+            }
+            counts[0]++;
+            counts[1] += weight;
+        }
+
+        Map<String, Object> types = Maps.newLinkedHashMap();
+        for (Map.Entry<DefType, long[]> entry : byType.entrySet()) {
+            Map<String, Object> type = Maps.newLinkedHashMap();
+            type.put("count", entry.getValue()[0]);
+            type.put("estimatedBytes", entry.getValue()[1]);
+            types.put(entry.getKey().toString(), type);
+        }
+        Map<String, Object> data = Maps.newLinkedHashMap();
+        data.put("estimatedBytes", total);
+        data.put("absent", absent);
+        data.put("types", types);
+        return data;
+    }
+
+    private static List<String> toStrings(List<?> keys) {
+        List<String> strings = Lists.newArrayListWithCapacity(keys.size());
+        for (Object key : keys) {
+            strings.add(String.valueOf(key));
+        }
+        return strings;
+    }
+
+    private Cache<?, ?> getCache() {
+        Cache<?, ?> cache = Aura.getCachingService().getCaches().get(name);
+        if (cache == null) {
+            throw new IllegalStateException("No cache named " + name);
+        }
+        return cache;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getSize() {
+        return getCache().getSize();
+    }
+
+    @Override
+    public boolean isWeighted() {
+        return getCache().isWeighted();
+    }
+
+    @Override
+    public long getWeightedSize() {
+        return getCache().getWeightedSize();
+    }
+
+    @Override
+    public long getMaximumSize() {
+        return getCache().getMaximumSize();
+    }
+
+    @Override
+    public void setMaximumSize(long maximumSize) {
+        getCache().setMaximumSize(maximumSize);
+    }
+
+    @Override
+    public double getHitRate() {
+        return getCache().getStats().hitRate();
+    }
+
+    @Override
+    public long getHitCount() {
+        return getCache().getStats().hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return getCache().getStats().missCount();
+    }
+
+    @Override
+    public long getLoadCount() {
+        return getCache().getStats().loadCount();
+    }
+
+    @Override
+    public double getAverageLoadPenalty() {
+        return getCache().getStats().averageLoadPenalty();
+    }
+
+    @Override
+    public long getTotalLoadTime() {
+        return getCache().getStats().totalLoadTime();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return getCache().getStats().evictionCount();
+    }
+
+    @Override
+    public String[] getTopKeys() {
+        return toStrings(getCache().getTopKeys(TOP_KEYS)).toArray(new String[0]);
+    }
+
+    @Override
+    public void invalidateAll() {
+        getCache().invalidateAll();
+    }
+
+    @Override
+    public void invalidatePartial(String keyBeginsWith) {
+        getCache().invalidatePartial(keyBeginsWith);
+    }
+}
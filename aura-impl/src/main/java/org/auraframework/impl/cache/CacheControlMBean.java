@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.cache;
+
+/**
+ * JMX view of a single named cache from the caching service.
+ */
+public interface CacheControlMBean {
+
+    String getName();
+
+    long getSize();
+
+    boolean isWeighted();
+
+    /**
+     * @return the estimated bytes held by a weighted cache, otherwise the number of entries.
+     */
+    long getWeightedSize();
+
+    /**
+     * @return the maximum number of entries, or bytes for a weighted cache.
+     */
+    long getMaximumSize();
+
+    void setMaximumSize(long maximumSize);
+
+    double getHitRate();
+
+    long getHitCount();
+
+    long getMissCount();
+
+    long getLoadCount();
+
+    /**
+     * @return the average time spent loading a value, in nanoseconds.
+     */
+    double getAverageLoadPenalty();
+
+    /**
+     * @return the total time spent loading values, in nanoseconds.
+     */
+    long getTotalLoadTime();
+
+    long getEvictionCount();
+
+    String[] getTopKeys();
+
+    void invalidateAll();
+
+    /**
+     * Invalidate the keys whose string form begins with the given prefix.
+     */
+    void invalidatePartial(String keyBeginsWith);
+}
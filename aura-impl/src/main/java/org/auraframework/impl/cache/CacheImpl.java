@@ -16,6 +16,9 @@
 package org.auraframework.impl.cache;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
@@ -29,6 +32,7 @@ import com.google.common.cache.CacheStats;
 import com.google.common.cache.RemovalCause;
 import com.google.common.cache.RemovalListener;
 import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
 
 public class CacheImpl<K, T> implements Cache<K, T> {
 
@@ -107,10 +111,28 @@ public class CacheImpl<K, T> implements Cache<K, T> {
         }
     };
 
-    private com.google.common.cache.Cache<K, T> cache;
+    private volatile com.google.common.cache.Cache<K, T> cache;
+
+    /** The builder settings, kept so the cache can be rebuilt on resize. Null when wrapping a provided cache. */
+    private final Builder<K, T> settings;
+
+    /** Stats of the caches discarded by previous resizes. */
+    private CacheStats previousStats = new CacheStats(0, 0, 0, 0, 0, 0);
+
+    private final String name;
+
+    /** The bound on the cache, entries or total weight when weighted. */
+    private volatile long maximumSize;
+
+    /** Read frequency sample for reporting top keys, null unless stats are recorded. */
+    private final AccessSampler<K> sampler;
 
     CacheImpl(com.google.common.cache.Cache<K, T> cache) {
         this.cache = cache;
+        this.settings = null;
+        this.name = null;
+        this.maximumSize = -1;
+        this.sampler = null;
     }
     
     @Override
@@ -126,33 +148,58 @@ public class CacheImpl<K, T> implements Cache<K, T> {
     public CacheImpl(Builder<K, T> builder) {
         // if builder.useSecondaryStorage is true, we should try to use a
         // non-quava secondary-storage cache with streaming ability
+        if (builder.weigher != null && builder.maximumWeight < 0) {
+            throw new IllegalStateException("A maximum weight is required for a weighted cache");
+        }
+        this.settings = builder.copy();
+        this.name = builder.name;
+        this.maximumSize = isWeighted() ? builder.maximumWeight : builder.maximumSize;
+        this.sampler = builder.recordStats ? new AccessSampler<K>() : null;
+        this.cache = build(this.maximumSize);
+    }
 
+    @SuppressWarnings("unchecked")
+    private com.google.common.cache.Cache<K, T> build(long bound) {
         com.google.common.cache.CacheBuilder<Object, Object> cb = com.google.common.cache.CacheBuilder
-                .newBuilder().initialCapacity(builder.initialCapacity)
-                .maximumSize(builder.maximumSize)
-                .concurrencyLevel(builder.concurrencyLevel);
+                .newBuilder().initialCapacity(settings.initialCapacity)
+                .concurrencyLevel(settings.concurrencyLevel);
+
+        if (settings.weigher != null) {
+            // weighers only read their arguments, so narrowing the wildcard is safe
+            cb = cb.weigher((Weigher<Object, Object>) settings.weigher).maximumWeight(bound);
+        } else {
+            cb = cb.maximumSize(bound);
+        }
 
-        if (builder.recordStats) {
+        if (settings.recordStats) {
             cb = cb.recordStats();
         }
 
-        if (builder.softValues) {
+        if (settings.softValues) {
             cb = cb.softValues();
         }
 
-        EvictionListener<K, T> listener = new EvictionListener<>(builder.name);
+        EvictionListener<K, T> listener = new EvictionListener<>(settings.name);
         cb.removalListener(listener);
-        cache = cb.build();
-        listener.setCache(cache);
+        com.google.common.cache.Cache<K, T> built = cb.build();
+        listener.setCache(built);
+        return built;
     }
 
     @Override
     public T getIfPresent(K key) {
-        return cache.getIfPresent(key);
+        T value = cache.getIfPresent(key);
+        if (value != null && sampler != null) {
+            sampler.record(key);
+        }
+        return value;
     }
 
     @Override
     public T get(K key, Callable<T> loader) throws ExecutionException {
+        if (sampler != null) {
+            sampler.record(key);
+        }
         return cache.get(key, loader);
     }
 
@@ -164,17 +211,27 @@ public class CacheImpl<K, T> implements Cache<K, T> {
     @Override
     public void invalidate(K key) {
         cache.invalidate(key);
-
+        if (sampler != null) {
+            sampler.remove(key);
+        }
     }
 
     @Override
     public void invalidate(Iterable<K> keys) {
         cache.invalidate(keys);
+        if (sampler != null) {
+            for (K key : keys) {
+                sampler.remove(key);
+            }
+        }
     }
 
     @Override
     public void invalidateAll() {
         cache.invalidateAll();
+        if (sampler != null) {
+            sampler.clear();
+        }
     }
 
     @Override
@@ -201,7 +258,7 @@ public class CacheImpl<K, T> implements Cache<K, T> {
 
         // invalidate collected items
         if (!invalidItems.isEmpty()) {
-            cache.invalidate(invalidItems);
+            invalidate(invalidItems);
         }
     }
 
@@ -210,14 +267,98 @@ public class CacheImpl<K, T> implements Cache<K, T> {
         return cache;
     }
 
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getSize() {
+        return cache.size();
+    }
+
+    @Override
+    public boolean isWeighted() {
+        return settings != null && settings.weigher != null;
+    }
+
+    /**
+     * Guava does not expose the total weight, so for weighted caches this weighs every entry
+     * again. It is meant for statistics, not for use on a request path.
+     */
+    @Override
+    public long getWeightedSize() {
+        if (!isWeighted()) {
+            return cache.size();
+        }
+        Weigher<? super K, ? super T> weigher = settings.weigher;
+        long total = 0;
+        for (Map.Entry<K, T> entry : cache.asMap().entrySet()) {
+            total += weigher.weigh(entry.getKey(), entry.getValue());
+        }
+        return total;
+    }
+
+    @Override
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    /**
+     * Guava caches cannot be resized, so this builds a new cache with the same settings and
+     * copies over as many entries as fit. Entries written while the copy is in progress may be
+     * lost, which for a cache only costs a reload.
+     */
+    @Override
+    public synchronized void setMaximumSize(long maximumSize) {
+        if (settings == null) {
+            throw new UnsupportedOperationException("Cannot resize a cache that was not built by CacheImpl.Builder");
+        }
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative: " + maximumSize);
+        }
+        if (maximumSize == this.maximumSize) {
+            return;
+        }
+        com.google.common.cache.Cache<K, T> old = cache;
+        com.google.common.cache.Cache<K, T> resized = build(maximumSize);
+        // a weighted cache evicts on its own as entries are copied, otherwise stop once full
+        long remaining = isWeighted() ? Long.MAX_VALUE : maximumSize;
+        for (Map.Entry<K, T> entry : old.asMap().entrySet()) {
+            if (remaining-- <= 0) {
+                break;
+            }
+            resized.put(entry.getKey(), entry.getValue());
+        }
+        previousStats = previousStats.plus(old.stats());
+        this.maximumSize = maximumSize;
+        cache = resized;
+        old.invalidateAll();
+    }
+
+    @Override
+    public synchronized CacheStats getStats() {
+        return previousStats.plus(cache.stats());
+    }
+
+    @Override
+    public List<K> getTopKeys(int limit) {
+        if (sampler == null) {
+            return Collections.emptyList();
+        }
+        return sampler.getTopKeys(limit);
+    }
+
     public static class Builder<K, T> implements
     org.auraframework.builder.CacheBuilder<K, T> {
         // builder defaults
         int initialCapacity = 128;
         int concurrencyLevel = 4;
         long maximumSize = 1024;
+        long maximumWeight = -1;
+        Weigher<? super K, ? super T> weigher;
         boolean recordStats = false;
-        boolean softValues = true;
+        boolean softValues = false;
         boolean useSecondaryStorage = false;
         String name;
 
@@ -237,6 +378,18 @@ public class CacheImpl<K, T> implements Cache<K, T> {
             return this;
         };
 
+        @Override
+        public Builder<K, T> setWeigher(Weigher<? super K, ? super T> weigher) {
+            this.weigher = weigher;
+            return this;
+        }
+
+        @Override
+        public Builder<K, T> setMaximumWeight(long maximumWeight) {
+            this.maximumWeight = maximumWeight;
+            return this;
+        }
+
         @Override
         public Builder<K, T> setUseSecondaryStorage(boolean useSecondaryStorage) {
             this.useSecondaryStorage = useSecondaryStorage;
@@ -272,6 +425,20 @@ public class CacheImpl<K, T> implements Cache<K, T> {
             return new CacheImpl<>(this);
         }
 
+        private Builder<K, T> copy() {
+            Builder<K, T> copy = new Builder<>();
+            copy.initialCapacity = initialCapacity;
+            copy.concurrencyLevel = concurrencyLevel;
+            copy.maximumSize = maximumSize;
+            copy.maximumWeight = maximumWeight;
+            copy.weigher = weigher;
+            copy.recordStats = recordStats;
+            copy.softValues = softValues;
+            copy.useSecondaryStorage = useSecondaryStorage;
+            copy.name = name;
+            return copy;
+        }
+
     }
 
 }
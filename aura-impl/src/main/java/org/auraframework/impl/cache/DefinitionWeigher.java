@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.cache;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.auraframework.def.AttributeDefRef;
+import org.auraframework.def.BaseComponentDef;
+import org.auraframework.def.Definition;
+import org.auraframework.def.IncludeDef;
+import org.auraframework.def.RootDefinition;
+import org.auraframework.def.TestSuiteDef;
+
+import com.google.common.base.Optional;
+import com.google.common.cache.Weigher;
+
+/**
+ * Estimates the bytes retained by a cached definition.
+ *
+ * The weigher runs on every insert, under the lock of the cache segment, so it only looks at what the
+ * definition already holds: its type, code held as a string, the attributes it declares and the facets
+ * of its markup. It never serializes or walks the definition, and never asks for other definitions,
+ * which could re-enter the cache being written. The figures are rough averages of the retained heap of
+ * framework definitions; the point is that a large bundle weighs more than a small one, not byte
+ * accuracy.
+ */
+public class DefinitionWeigher implements Weigher<Object, Optional<? extends Definition>> {
+
+    /** Weight of a cached miss */
+    static final int ABSENT_WEIGHT = 64;
+
+    /** Weight of a declared attribute, with its type and default */
+    static final int ATTRIBUTE_WEIGHT = 512;
+
+    /** Weight of a component or text reference in the markup */
+    static final int REFERENCE_WEIGHT = 1024;
+
+    @Override
+    public int weigh(Object key, Optional<? extends Definition> value) {
+        if (value == null || !value.isPresent()) {
+            return ABSENT_WEIGHT;
+        }
+        Definition def = value.get();
+        long weight = getTypeWeight(def) + 2L * getCodeLength(def);
+        try {
+            weight += getStructureWeight(def);
+        } catch (RuntimeException e) {
+            // a weigher must not fail the put, the type figure will do
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static long getStructureWeight(Definition def) {
+        long weight = 0;
+        if (def instanceof RootDefinition) {
+            // declared only, the inherited attributes live in other definitions
+            Map<?, ?> attributes = ((RootDefinition) def).getDeclaredAttributeDefs();
+            if (attributes != null) {
+                weight += (long) ATTRIBUTE_WEIGHT * attributes.size();
+            }
+        }
+        if (def instanceof BaseComponentDef) {
+            List<AttributeDefRef> facets = ((BaseComponentDef) def).getFacets();
+            if (facets != null) {
+                for (AttributeDefRef facet : facets) {
+                    Object facetValue = facet.getValue();
+                    int references = facetValue instanceof Collection ? ((Collection<?>) facetValue).size() : 1;
+                    weight += (long) REFERENCE_WEIGHT * references;
+                }
+            }
+        }
+        return weight;
+    }
+
+    private static int getCodeLength(Definition def) {
+        String code = null;
+        if (def instanceof IncludeDef) {
+            code = ((IncludeDef) def).getCode();
+        } else if (def instanceof TestSuiteDef) {
+            code = ((TestSuiteDef) def).getCode();
+        }
+        return code != null ? code.length() : 0;
+    }
+
+    private static int getTypeWeight(Definition def) {
+        if (def.getDescriptor() == null) {
+            return 1024;
+        }
+        switch (def.getDescriptor().getDefType()) {
+        case APPLICATION:
+        case COMPONENT:
+            return 16 * 1024;
+        case INTERFACE:
+        case EVENT:
+        case LIBRARY:
+        case STYLE:
+        case FLAVORED_STYLE:
+        case FLAVOR_BUNDLE:
+        case TOKENS:
+        case CONTROLLER:
+        case HELPER:
+        case RENDERER:
+        case PROVIDER:
+        case MODEL:
+        case SVG:
+        case DOCUMENTATION:
+            return 4 * 1024;
+        default:
+            return 1024;
+        }
+    }
+}
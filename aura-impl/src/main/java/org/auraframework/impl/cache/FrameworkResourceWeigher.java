@@ -0,0 +1,32 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.cache;
+
+import org.auraframework.http.FrameworkResource;
+
+import com.google.common.cache.Weigher;
+
+/**
+ * Weighs cached framework resources by the bytes they hold, including their gzipped copy, plus the key.
+ */
+public class FrameworkResourceWeigher implements Weigher<String, FrameworkResource> {
+
+    @Override
+    public int weigh(String key, FrameworkResource value) {
+        long weight = StringWeigher.ENTRY_OVERHEAD + 2L * key.length() + value.getSize();
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+}
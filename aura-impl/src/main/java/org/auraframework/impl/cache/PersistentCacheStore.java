@@ -0,0 +1,443 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.cache;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.log4j.Logger;
+import org.auraframework.Aura;
+import org.auraframework.adapter.ConfigAdapter;
+import org.auraframework.def.ClientLibraryDef;
+import org.auraframework.def.DefDescriptor;
+import org.auraframework.def.Definition;
+import org.auraframework.system.DependencyEntry;
+import org.auraframework.system.MasterDefRegistry;
+import org.auraframework.system.Source;
+import org.auraframework.util.IOUtil;
+import org.auraframework.util.text.Hash;
+
+import com.google.common.base.Charsets;
+import com.google.common.base.Joiner;
+import com.google.common.base.Objects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
+
+/**
+ * An optional on-disk copy of the dependency entries and generated strings, so that a restarted server does not have
+ * to recompile every application before it can answer.
+ *
+ * The store is enabled by setting the system property {@value #DIR_PROPERTY} to a directory. Everything is kept under
+ * a sub-directory named for the framework version and uid, so a new framework build never sees older output.
+ * <ul>
+ * <li>Dependency entries are stored per descriptor with the own hash of every dependency that has a source. An entry
+ * is only used if the current source of each of those dependencies hashes the same, and dependencies without a source
+ * still have none. Definitions without a source come from static registries or java, which only change with a new
+ * build.</li>
+ * <li>Dependency entries also record a fingerprint of the roots their sources come from: the file names in each
+ * bundle directory, and the size and date of each jar. A file added next to a definition (e.g. a new helper) does not
+ * change the hash of any recorded dependency, but it does change the fingerprint, so the entry is not used.</li>
+ * <li>Strings are stored by their strings cache key. Those keys include the application uid, which is a hash of all
+ * its definitions, so they need no further checking.</li>
+ * </ul>
+ * Writes happen on a background thread, to a temporary file that is then moved into place, so a reader never sees a
+ * partial file. Anything unreadable is ignored and will be recompiled.
+ *
+ * The same thread cleans up periodically: the output of other framework builds can never be read again and is
+ * removed, as is anything that has not been read or written for the number of days set by {@value #MAX_AGE_PROPERTY}
+ * (default {@value #DEFAULT_MAX_AGE_DAYS}), such as the strings of applications that have since changed.
+ */
+public class PersistentCacheStore {
+    private static final Logger logger = Logger.getLogger(PersistentCacheStore.class);
+
+    public static final String DIR_PROPERTY = "aura.cache.persistentDir";
+
+    public static final String MAX_AGE_PROPERTY = "aura.cache.persistentMaxAgeDays";
+
+    static final int DEFAULT_MAX_AGE_DAYS = 7;
+
+    /** How often the store is cleaned up, the first time being one interval after start */
+    private static final long CLEANUP_INTERVAL_HOURS = 6;
+
+    /** Reads only refresh the date of a file older than this, to keep reads from writing */
+    private static final long TOUCH_INTERVAL_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private static final String DEPENDENCIES_DIR = "deps";
+    private static final String STRINGS_DIR = "strings";
+
+    private static final PersistentCacheStore instance = new PersistentCacheStore(System.getProperty(DIR_PROPERTY));
+
+    private final File root;
+    private final ScheduledExecutorService writer;
+    private final long maxAgeMillis;
+
+    PersistentCacheStore(String root) {
+        this(root, TimeUnit.DAYS.toMillis(Long.getLong(MAX_AGE_PROPERTY, DEFAULT_MAX_AGE_DAYS)));
+    }
+
+    PersistentCacheStore(String root, long maxAgeMillis) {
+        this.maxAgeMillis = maxAgeMillis;
+        if (root == null || root.isEmpty()) {
+            this.root = null;
+            this.writer = null;
+        } else {
+            this.root = new File(root);
+            this.writer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "AuraPersistentCacheWriter");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+            this.writer.scheduleWithFixedDelay(new Runnable() {
+                @Override
+                public void run() {
+                    cleanup();
+                }
+            }, CLEANUP_INTERVAL_HOURS, CLEANUP_INTERVAL_HOURS, TimeUnit.HOURS);
+        }
+    }
+
+    public static PersistentCacheStore getInstance() {
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return root != null;
+    }
+
+    /**
+     * Get a stored dependency entry, if it is still valid for the current sources.
+     *
+     * @param registry the registry used to find the current sources.
+     * @param uid the expected uid, or null for any.
+     * @param descriptor the top level descriptor.
+     * @return the entry, or null if there is none or it is out of date.
+     */
+    public DependencyEntry getDependencies(MasterDefRegistry registry, String uid, DefDescriptor<?> descriptor) {
+        if (!isEnabled()) {
+            return null;
+        }
+        String key = getDependencyKey(descriptor);
+        Object o = read(getFile(DEPENDENCIES_DIR, key));
+        if (!(o instanceof StoredDependencies)) {
+            return null;
+        }
+        StoredDependencies stored = (StoredDependencies) o;
+        if (!stored.key.equals(key) || (uid != null && !uid.equals(stored.uid))) {
+            return null;
+        }
+        for (int i = 0; i < stored.dependencies.size(); i++) {
+            if (!Objects.equal(stored.hashes.get(i), getSourceHash(registry, stored.dependencies.get(i)))) {
+                return null;
+            }
+        }
+        if (!stored.roots.equals(getRootFingerprints(registry, stored.dependencies))) {
+            return null;
+        }
+        Set<DefDescriptor<? extends Definition>> dependencies = Sets.newLinkedHashSet(stored.dependencies);
+        return new DependencyEntry(stored.uid, Collections.unmodifiableSet(dependencies),
+                stored.clientLibraries);
+    }
+
+    /**
+     * Store a freshly compiled dependency entry.
+     *
+     * @param registry the registry used to find the current sources.
+     * @param descriptor the top level descriptor.
+     * @param de the entry, with dependencies in order.
+     * @param hashes the own hash of each dependency, or null for those without a source.
+     */
+    public void putDependencies(MasterDefRegistry registry, DefDescriptor<?> descriptor, DependencyEntry de,
+            List<String> hashes) {
+        if (!isEnabled()) {
+            return;
+        }
+        String key = getDependencyKey(descriptor);
+        SortedMap<String, String> roots = getRootFingerprints(registry, de.dependencies);
+        write(getFile(DEPENDENCIES_DIR, key), new StoredDependencies(key, de, hashes, roots));
+    }
+
+    /**
+     * @return the stored string for a strings cache key, or null.
+     */
+    public String getString(String key) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Object o = read(getFile(STRINGS_DIR, key));
+        if (!(o instanceof StoredString)) {
+            return null;
+        }
+        StoredString stored = (StoredString) o;
+        return stored.key.equals(key) ? stored.value : null;
+    }
+
+    public void putString(String key, String value) {
+        if (!isEnabled() || value == null) {
+            return;
+        }
+        write(getFile(STRINGS_DIR, key), new StoredString(key, value));
+    }
+
+    /**
+     * Drop all stored dependency entries, for when sources have changed.
+     */
+    public void invalidateDependencies() {
+        if (!isEnabled()) {
+            return;
+        }
+        final File dir = getFile(DEPENDENCIES_DIR, null);
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    IOUtil.delete(dir);
+                } catch (IOUtil.DeleteFailedException e) {
+                    logger.warn("Unable to clear " + dir, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * Remove the output of other framework builds, and files not used for longer than the maximum age.
+     */
+    void cleanup() {
+        File build;
+        try {
+            build = getFile(null, null);
+        } catch (RuntimeException e) {
+            logger.warn("Unable to clean up " + root, e);
+            return;
+        }
+        File[] builds = root.listFiles();
+        if (builds == null) {
+            return;
+        }
+        long oldest = System.currentTimeMillis() - maxAgeMillis;
+        for (File dir : builds) {
+            if (!dir.equals(build)) {
+                try {
+                    IOUtil.delete(dir);
+                } catch (IOUtil.DeleteFailedException e) {
+                    logger.warn("Unable to remove " + dir, e);
+                }
+                continue;
+            }
+            for (String kind : new String[] { DEPENDENCIES_DIR, STRINGS_DIR }) {
+                File[] files = new File(dir, kind).listFiles();
+                if (files == null) {
+                    continue;
+                }
+                for (File file : files) {
+                    if (file.lastModified() < oldest && !file.delete()) {
+                        logger.warn("Unable to remove " + file);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Wait for the writes queued so far to finish.
+     */
+    void awaitWrites() throws InterruptedException, ExecutionException {
+        if (isEnabled()) {
+            writer.submit(new Runnable() {
+                @Override
+                public void run() {
+                }
+            }).get();
+        }
+    }
+
+    /**
+     * The hash of the current source of a dependency, null if it has no source.
+     */
+    private String getSourceHash(MasterDefRegistry registry, DefDescriptor<?> descriptor) {
+        Source<?> source = registry.getSource(descriptor);
+        if (source == null) {
+            return null;
+        }
+        if (!source.exists()) {
+            return "";
+        }
+        source.getContents();
+        Hash hash = source.getHash();
+        return hash.isSet() ? hash.toString() : "";
+    }
+
+    /**
+     * Fingerprint the roots the sources of the dependencies come from, by root.
+     *
+     * A bundle directory is fingerprinted by the names of its files, and a jar by its size and date, so that adding a
+     * file to a bundle changes the fingerprint even though no recorded source changed.
+     */
+    private SortedMap<String, String> getRootFingerprints(MasterDefRegistry registry,
+            Collection<? extends DefDescriptor<?>> dependencies) {
+        SortedMap<String, String> roots = Maps.newTreeMap();
+        for (DefDescriptor<?> descriptor : dependencies) {
+            Source<?> source = registry.getSource(descriptor);
+            String url = source != null ? source.getUrl() : null;
+            if (url == null) {
+                continue;
+            }
+            if (url.startsWith("file://")) {
+                File dir = new File(url.substring("file://".length())).getParentFile();
+                if (dir != null && !roots.containsKey(dir.getPath())) {
+                    String[] names = dir.list();
+                    if (names == null) {
+                        names = new String[0];
+                    }
+                    Arrays.sort(names);
+                    roots.put(dir.getPath(), Joiner.on('/').join(names));
+                }
+            } else if (url.startsWith("jar:")) {
+                int end = url.indexOf("!/");
+                if (end > 0 && !roots.containsKey(url.substring(0, end))) {
+                    File jar;
+                    try {
+                        jar = new File(URI.create(url.substring("jar:".length(), end)));
+                    } catch (IllegalArgumentException e) {
+                        // not a local jar, it can only change with a new build
+                        continue;
+                    }
+                    roots.put(url.substring(0, end), jar.length() + "@" + jar.lastModified());
+                }
+            }
+        }
+        return roots;
+    }
+
+    private String getDependencyKey(DefDescriptor<?> descriptor) {
+        return descriptor.getDefType() + ":" + descriptor.getQualifiedName().toLowerCase();
+    }
+
+    /**
+     * Get the file for a key, under the directory of the running framework build.
+     *
+     * @param kind the kind of file, or null for the directory of the build.
+     * @param key the key, or null for the directory of the kind.
+     */
+    private File getFile(String kind, String key) {
+        ConfigAdapter configAdapter = Aura.getConfigAdapter();
+        String build = configAdapter.getAuraVersion() + "-" + configAdapter.getAuraFrameworkNonce();
+        File dir = new File(root, name(build));
+        if (kind == null) {
+            return dir;
+        }
+        dir = new File(dir, kind);
+        return key == null ? dir : new File(dir, name(key));
+    }
+
+    private static String name(String key) {
+        return Hashing.sha1().hashString(key, Charsets.UTF_8).toString();
+    }
+
+    private Object read(File file) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+            Object o = in.readObject();
+            // keep what is still being used from being cleaned up
+            long now = System.currentTimeMillis();
+            if (now - file.lastModified() > TOUCH_INTERVAL_MILLIS) {
+                file.setLastModified(now);
+            }
+            return o;
+        } catch (Exception e) {
+            logger.info("Ignoring unreadable " + file, e);
+            return null;
+        }
+    }
+
+    private void write(final File file, final Serializable value) {
+        writer.execute(new Runnable() {
+            @Override
+            public void run() {
+                File tmp = new File(file.getPath() + ".tmp");
+                try {
+                    IOUtil.mkdirs(file.getParentFile());
+                    try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(tmp))) {
+                        out.writeObject(value);
+                    }
+                    Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                            StandardCopyOption.ATOMIC_MOVE);
+                } catch (Exception e) {
+                    logger.warn("Unable to write " + file, e);
+                    tmp.delete();
+                }
+            }
+        });
+    }
+
+    private static final class StoredDependencies implements Serializable {
+        private static final long serialVersionUID = -6388419146380617502L;
+
+        private final String key;
+        private final String uid;
+        private final List<DefDescriptor<?>> dependencies;
+        private final List<String> hashes;
+        private final SortedMap<String, String> roots;
+        private final List<ClientLibraryDef> clientLibraries;
+
+        private StoredDependencies(String key, DependencyEntry de, List<String> hashes,
+                SortedMap<String, String> roots) {
+            this.key = key;
+            this.uid = de.uid;
+            this.dependencies = ImmutableList.copyOf(de.dependencies);
+            this.hashes = hashes;
+            this.roots = roots;
+            this.clientLibraries = ImmutableList.copyOf(de.clientLibraries);
+        }
+    }
+
+    private static final class StoredString implements Serializable {
+        private static final long serialVersionUID = -2896405962377437117L;
+
+        private final String key;
+        private final String value;
+
+        private StoredString(String key, String value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+}
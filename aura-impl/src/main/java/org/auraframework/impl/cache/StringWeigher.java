@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.cache;
+
+import com.google.common.cache.Weigher;
+
+/**
+ * Weighs cached strings by the bytes they retain: two bytes per character for the key and the
+ * value, plus a fixed overhead for the objects around them.
+ */
+public class StringWeigher implements Weigher<Object, CharSequence> {
+
+    /** Approximate bytes for the cache entry and the string and array headers */
+    static final int ENTRY_OVERHEAD = 96;
+
+    @Override
+    public int weigh(Object key, CharSequence value) {
+        long weight = ENTRY_OVERHEAD + 2L * value.length();
+        if (key instanceof CharSequence) {
+            weight += 2L * ((CharSequence) key).length();
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+}
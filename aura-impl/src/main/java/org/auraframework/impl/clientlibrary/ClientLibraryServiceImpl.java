@@ -17,6 +17,8 @@ package org.auraframework.impl.clientlibrary;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 
 import org.apache.commons.lang3.StringUtils;
 import org.auraframework.Aura;
@@ -30,11 +32,17 @@ import org.auraframework.throwable.AuraRuntimeException;
 import org.auraframework.throwable.NoContextException;
 import org.auraframework.throwable.quickfix.QuickFixException;
 
+import com.google.common.base.Charsets;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hashing;
 
 /**
  * Service for including external client libraries (CSS or JS)
+ * <p>
+ * Combined output is cached by a hash of the ordered combinables rather than by app, so apps that include the same
+ * client libraries share one copy, and the resources url carries that hash so browsers can keep it for as long as it
+ * is unchanged.
  */
 @ServiceComponent
 public class ClientLibraryServiceImpl implements ClientLibraryService {
@@ -42,6 +50,7 @@ public class ClientLibraryServiceImpl implements ClientLibraryService {
 
     private final Cache<String, String>  outputCache;
     private final Cache<String, Set<String>>  urlsCache;
+    private final Cache<String, String>  keyCache;
 
 
     public ClientLibraryServiceImpl() {
@@ -49,6 +58,7 @@ public class ClientLibraryServiceImpl implements ClientLibraryService {
         outputCache = Aura.getCachingService().getClientLibraryOutputCache();
 
         urlsCache = Aura.getCachingService().getClientLibraryUrlsCache();
+        keyCache = Aura.getCachingService().getClientLibraryKeyCache();
     }
 
     /**
@@ -183,7 +193,17 @@ public class ClientLibraryServiceImpl implements ClientLibraryService {
 
             if (hasCombines) {
                 // all combinable resources are put into resources.css or resources.js
-                urls.add(getResourcesPath(context, type));
+                String path = getResourcesPath(context, type);
+                String combinationKey;
+                try {
+                    combinationKey = getCombinationKey(context, type);
+                } catch (IOException e) {
+                    throw new AuraRuntimeException(e);
+                }
+                if (combinationKey != null) {
+                    path = path + "?h=" + combinationKey;
+                }
+                urls.add(path);
             }
 
             urlsCache.put(key, urls);
@@ -201,7 +221,7 @@ public class ClientLibraryServiceImpl implements ClientLibraryService {
      * @throws IOException
      * @throws QuickFixException
      */
-    private void write(AuraContext context, ClientLibraryDef.Type type, Appendable output) throws IOException, QuickFixException {
+    private void write(final AuraContext context, final ClientLibraryDef.Type type, Appendable output) throws IOException, QuickFixException {
         if (output == null) {
             throw new AuraRuntimeException("Output cannot be null");
         }
@@ -210,39 +230,89 @@ public class ClientLibraryServiceImpl implements ClientLibraryService {
             throw new NoContextException();
         }
 
-        AuraContext.Mode mode = context.getMode();
-        String uid = context.getUid(context.getApplicationDescriptor());
-
-        String key = makeCacheKey(uid, mode, type);
-        String code = outputCache.getIfPresent(key);
-
-        if (code == null) {
-            // no cache yet
-            List<ClientLibraryDef> clientLibs = getClientLibraries(context, type);
-            Set<Combinable> combinables = Sets.newLinkedHashSet();
-            StringBuilder sb = new StringBuilder();
+        String key = getCombinationKey(context, type);
+        if (key == null) {
+            return;
+        }
 
-            for (ClientLibraryDef clientLib : clientLibs) {
-                if (canCombine(clientLib)) {
-                    Combinable combinable = getCombinable(clientLib);
-                    if (combinable != null) {
-                        combinables.add(combinable);
-                    }
+        String code;
+        try {
+            // concurrent requests for the same combination wait for a single writer
+            code = outputCache.get(key, new Callable<String>() {
+                @Override
+                public String call() throws Exception {
+                    List<Combinable> combinables = getCombinables(context, type);
+                    StringBuilder sb = new StringBuilder();
+                    // ClientLibraryCSSFormatAdapter or ClientLibraryJSFormatAdapter
+                    Aura.getSerializationService().writeCollection(combinables, Combinable.class, sb,
+                            type.toString());
+                    return sb.toString();
                 }
+            });
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
             }
-
-            if (!combinables.isEmpty()) {
-                // ClientLibraryCSSFormatAdapter or ClientLibraryJSFormatAdapter
-                Aura.getSerializationService().writeCollection(combinables, Combinable.class, sb, type.toString());
+            if (cause instanceof QuickFixException) {
+                throw (QuickFixException) cause;
             }
-
-            code = sb.toString();
-            outputCache.put(key, code);
+            throw new AuraRuntimeException(cause);
         }
 
         output.append(code);
     }
 
+    /**
+     * Gets the key of the current application's combined client libraries. Keys are kept by application uid, mode and
+     * type, so the client libraries are only looked up and hashed again when the application or its sources change.
+     *
+     * @param context current aura context
+     * @param type CSS or JS
+     * @return the key, or null if there is nothing to combine
+     * @throws QuickFixException
+     * @throws IOException
+     */
+    private String getCombinationKey(AuraContext context, ClientLibraryDef.Type type)
+            throws QuickFixException, IOException {
+        AuraContext.Mode mode = context.getMode();
+        String uid = context.getUid(context.getApplicationDescriptor());
+        if (uid == null) {
+            return null;
+        }
+
+        String appKey = new StringBuilder(uid).append(":").append(type).append(":").append(mode).toString();
+        String key = keyCache.getIfPresent(appKey);
+        if (key == null) {
+            List<Combinable> combinables = getCombinables(context, type);
+            // an empty key records that there is nothing to combine
+            key = combinables.isEmpty() ? "" : makeCombinationKey(combinables, mode, type);
+            keyCache.put(appKey, key);
+        }
+        return key.isEmpty() ? null : key;
+    }
+
+    /**
+     * Gets the combinables of the current application's client libraries that can be combined, in order
+     *
+     * @param context current aura context
+     * @param type CSS or JS
+     * @return combinables without duplicates
+     * @throws QuickFixException
+     */
+    private List<Combinable> getCombinables(AuraContext context, ClientLibraryDef.Type type) throws QuickFixException {
+        Set<Combinable> combinables = Sets.newLinkedHashSet();
+        for (ClientLibraryDef clientLib : getClientLibraries(context, type)) {
+            if (canCombine(clientLib)) {
+                Combinable combinable = getCombinable(clientLib);
+                if (combinable != null) {
+                    combinables.add(combinable);
+                }
+            }
+        }
+        return Lists.newArrayList(combinables);
+    }
+
     /**
      * Convenience wrapper to get corresponding resolver from registry
      *
@@ -297,24 +367,38 @@ public class ClientLibraryServiceImpl implements ClientLibraryService {
     }
 
     /**
-     * Creates cache key using the current uid, mode, and type. Caches uncompressed version for DEV or TEST modes,
-     * compressed otherwise
+     * Creates the cache key for a combination: a hash of the type, whether the output is uncompressed (DEV or TEST
+     * modes) or compressed, and the identity of each combinable in order. Resource definitions are identified by their
+     * source hash, so the key changes whenever their contents do.
      *
-     * @param uid application uid
+     * @param combinables ordered combinables
      * @param mode current aura mode
      * @param type CSS or JS
      * @return cache key
+     * @throws IOException
      */
-    private static String makeCacheKey(String uid, AuraContext.Mode mode, ClientLibraryDef.Type type) {
+    private static String makeCombinationKey(List<Combinable> combinables, AuraContext.Mode mode,
+            ClientLibraryDef.Type type) throws IOException {
         StringBuilder key = new StringBuilder();
-        key.append(uid).append(":").append(type).append(":");
-
-        if (mode.prettyPrint()) {
-            key.append("DEV");
-        } else {
-            key.append("MIN");
+        key.append(type).append(":").append(mode.prettyPrint() ? "DEV" : "MIN");
+        for (Combinable combinable : combinables) {
+            key.append("\n").append(combinable.getClass().getName()).append(":");
+            if (combinable instanceof ResourceDef) {
+                ResourceDef def = (ResourceDef) combinable;
+                key.append(def.getDescriptor().getQualifiedName()).append(":");
+                String ownHash = def.getOwnHash();
+                key.append(ownHash != null ? ownHash : hash(combinable.getContents()));
+            } else if (combinable instanceof ClientLibraryResolver) {
+                key.append(((ClientLibraryResolver) combinable).getLocation());
+            } else {
+                key.append(hash(combinable.getContents()));
+            }
         }
-        return key.toString();
+        return hash(key.toString());
+    }
+
+    private static String hash(String value) {
+        return Hashing.sha1().hashString(value != null ? value : "", Charsets.UTF_8).toString();
     }
 
     /**
@@ -112,6 +112,37 @@ public class AuraContextServiceImpl implements ContextService {
         }
     }
 
+    @Override
+    public Runnable propagateContext(final Runnable task) {
+        assertEstablished();
+        final ContextAdapter contextAdapter = AuraImpl.getContextAdapter();
+        final LoggingAdapter loggingAdapter = AuraImpl.getLoggingAdapter();
+        final AuraContext context = contextAdapter.getCurrentContext();
+        final LoggingContext loggingContext = loggingAdapter.getLoggingContext();
+        return new Runnable() {
+            @Override
+            public void run() {
+                contextAdapter.attach(context);
+                loggingAdapter.attach(loggingContext);
+                try {
+                    task.run();
+                } finally {
+                    detachContext();
+                }
+            }
+        };
+    }
+
+    @Override
+    public void detachContext() {
+        // releasing only clears this thread's references, the context itself lives on
+        try {
+            AuraImpl.getContextAdapter().release();
+        } finally {
+            AuraImpl.getLoggingAdapter().release();
+        }
+    }
+
     @Override
     public AuraContext pushSystemContext() {
         assertEstablished();
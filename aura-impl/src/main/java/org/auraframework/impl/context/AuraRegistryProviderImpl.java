@@ -15,6 +15,7 @@
  */
 package org.auraframework.impl.context;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -184,9 +185,14 @@ public class AuraRegistryProviderImpl implements RegistryAdapter, SourceListener
                 ois = new ObjectInputStream(ris);
                 Object o = ois.readObject();
                 if (o instanceof List) {
-                    @SuppressWarnings("unchecked")
-                    List<DefRegistry<?>> l = (List<DefRegistry<?>>)o;
-                    return l.toArray(new DefRegistry<?> [l.size()]);
+                    List<?> l = (List<?>)o;
+                    DefRegistry<?>[] regs = new DefRegistry<?> [l.size()];
+                    for (int i = 0; i < regs.length; i++) {
+                        Object entry = l.get(i);
+                        // namespaces may be written as separately serialized segments
+                        regs[i] = (DefRegistry<?>) (entry instanceof byte[] ? readSegment((byte[]) entry) : entry);
+                    }
+                    return regs;
                 }
                 return (DefRegistry[]) ois.readObject();
             } catch (Exception e) {
@@ -211,6 +217,12 @@ public class AuraRegistryProviderImpl implements RegistryAdapter, SourceListener
         return null;
     }
 
+    private Object readSegment(byte[] segment) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(segment))) {
+            return ois.readObject();
+        }
+    }
+
     private SourceLocationInfo createSourceLocationInfo(ComponentLocationAdapter location) {
         DefRegistry<?>[] staticRegs = getStaticRegistries(location);
         String pkg = location.getComponentSourcePackage();
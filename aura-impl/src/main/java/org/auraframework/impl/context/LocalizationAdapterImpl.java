@@ -15,6 +15,7 @@
  */
 package org.auraframework.impl.context;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
@@ -83,6 +84,15 @@ public class LocalizationAdapterImpl implements LocalizationAdapter {
         return label.get(this.getAuraLocale().getLanguageLocale().toString());
     }
 
+    @Override
+    public Map<String, String> getLabels(String section, Collection<String> names) {
+        Map<String, String> result = new HashMap<>();
+        for (String name : names) {
+            result.put(name, getLabel(section, name));
+        }
+        return result;
+    }
+
     @Override
     public boolean labelExists(String section, String name) {
         return true;
@@ -19,6 +19,7 @@ import java.util.Map;
 
 import org.apache.log4j.Logger;
 import org.auraframework.annotations.Annotations.ServiceComponent;
+import org.auraframework.impl.metricsservice.PerformanceMetrics;
 import org.auraframework.service.LoggingService;
 import org.auraframework.system.LoggingContext;
 import org.auraframework.util.json.Json;
@@ -185,6 +186,21 @@ public class LoggingContextImpl implements LoggingContext {
         loggingValues.putAll(values);
         logRequestValuesMap(loggingValues);
         logActions(loggingValues);
+        recordPerformanceMetrics();
+    }
+
+    /**
+     * Feed the request timers into the server wide profile. Action timers are skipped, as their
+     * names carry the action parameters; the server records actions by descriptor instead.
+     */
+    protected void recordPerformanceMetrics() {
+        PerformanceMetrics metrics = PerformanceMetrics.getInstance();
+        for (Map.Entry<String, Timer> entry : timers.entrySet()) {
+            if (!entry.getKey().startsWith(LoggingService.TIMER_ACTION)) {
+                metrics.recordTimer(entry.getKey(), entry.getValue().getNanoTime());
+            }
+        }
+        metrics.recordRequest();
     }
     
     protected Map<String, Object> getRequestValues () {
@@ -349,6 +365,13 @@ public class LoggingContextImpl implements LoggingContext {
             return (totalTime > 0L) ? (totalTime / 1000000L) : totalTime; //convert to ms for public consumption
         }
 
+        /**
+         * @return The accumulated duration in ns, or -1 if the timer has never been stopped.
+         */
+        public long getNanoTime() {
+            return totalTime;
+        }
+
         /**
          * Reset the accumulated total time.  If the timer was
          * started it is now stopped and the accumulated time is discarded.
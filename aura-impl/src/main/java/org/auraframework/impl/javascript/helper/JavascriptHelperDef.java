@@ -15,17 +15,13 @@
  */
 package org.auraframework.impl.javascript.helper;
 
-import static org.auraframework.instance.AuraValueProviderType.LABEL;
-
 import java.io.IOException;
 import java.util.Map;
 import java.util.Set;
 
-import org.auraframework.Aura;
 import org.auraframework.def.HelperDef;
 import org.auraframework.expression.PropertyReference;
 import org.auraframework.impl.system.DefinitionImpl;
-import org.auraframework.instance.GlobalValueProvider;
 import org.auraframework.throwable.quickfix.QuickFixException;
 import org.auraframework.util.json.Json;
 
@@ -51,13 +47,7 @@ public class JavascriptHelperDef extends DefinitionImpl<HelperDef> implements He
 
     @Override
     public void retrieveLabels() throws QuickFixException {
-        GlobalValueProvider labelProvider = Aura.getContextService().getCurrentContext().getGlobalProviders()
-                .get(LABEL.getPrefix());
-        for (PropertyReference e : expressionRefs) {
-            if (e.getRoot().equals(LABEL.getPrefix())) {
-                labelProvider.getValue(e.getStem());
-            }
-        }
+        retrieveLabels(expressionRefs);
     }
 
     @Override
@@ -22,9 +22,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import org.auraframework.Aura;
+import org.auraframework.cache.Cache;
 import org.auraframework.def.DefDescriptor;
 import org.auraframework.def.IncludeDef;
 import org.auraframework.expression.PropertyReference;
+import org.auraframework.impl.cache.PersistentCacheStore;
 import org.auraframework.impl.root.library.IncludeDefImpl;
 import org.auraframework.impl.util.TextTokenizer;
 import org.auraframework.system.Source;
@@ -35,10 +38,15 @@ import org.auraframework.throwable.quickfix.QuickFixException;
 import org.auraframework.util.javascript.JavascriptProcessingError;
 import org.auraframework.util.javascript.JavascriptWriter;
 
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+
 public class JavascriptIncludeDefHandler extends JavascriptHandler<IncludeDef, IncludeDef> {
 
     private static final String JS_PREFIX = "A="; // let first unnamed function satisfy Closure
 
+    private static final String CHECK_KEY_PREFIX = "jsInclude:";
+
     private final IncludeDefImpl.Builder builder = new IncludeDefImpl.Builder();
 
     public JavascriptIncludeDefHandler(DefDescriptor<IncludeDef> descriptor, Source<?> source) {
@@ -51,38 +59,14 @@ public class JavascriptIncludeDefHandler extends JavascriptHandler<IncludeDef, I
             String code = source.getContents();
 
             // Check for well-formed js before storing code in definition.
-
-            // We allow unnamed function at root, but Closure compiler doesn't.
-
-            // Remove leading whitespace and comments to get to code
-            String codeToCheck = code.replaceFirst("(?s)^(?:[\\s\n]|/\\*.*?\\*/|//.*?\n)+", "");
-            final boolean isUnnamedFunction = codeToCheck.matches("(?s)^function\\s*\\(.*");
-
-            if (isUnnamedFunction) {
-                codeToCheck = JS_PREFIX + codeToCheck;
-            }
-
-            Writer w = new StringWriter();
-            List<JavascriptProcessingError> errors;
+            String errorSummary;
             try {
-                // strip whitespace, comments, and some unnecessary tokens
-                errors = JavascriptWriter.CLOSURE_WHITESPACE.compress(codeToCheck, w, source.getUrl());
+                errorSummary = getErrors(code);
             } catch (IOException e) {
                 return createDefinition(new AuraRuntimeException(e, getLocation()));
             }
-            if (!errors.isEmpty()) {
-                StringBuilder errorSummary = new StringBuilder();
-                for (JavascriptProcessingError error : errors) {
-                    errorSummary.append('\n');
-                    if (isUnnamedFunction && error.getLine() == 1) {
-                        // adjust for prefix
-                        error.setStartColumn(error.getStartColumn() - JS_PREFIX.length());
-                    }
-                    errorSummary.append(error.toString());
-                }
-                if (errorSummary.length() > 0) {
-                    return createDefinition(new InvalidDefinitionException(errorSummary.toString(), getLocation()));
-                }
+            if (errorSummary.length() > 0) {
+                return createDefinition(new InvalidDefinitionException(errorSummary, getLocation()));
             }
 
             try {
@@ -102,6 +86,75 @@ public class JavascriptIncludeDefHandler extends JavascriptHandler<IncludeDef, I
         return builder.build();
     }
 
+    /**
+     * Get the errors Closure finds in the code, remembering the outcome by content hash in the includeCheckCache.
+     * Keys are content hashes, so entries never go stale and are kept across source changes.
+     *
+     * Clean code is clean wherever it is included from, so that outcome is shared by every include with the
+     * same code. Errors name the file, so they are only shared with the same code at the same url.
+     *
+     * @param code the include code.
+     * @return the summary of the errors, empty if there are none.
+     */
+    private String getErrors(String code) throws IOException {
+        String codeHash = Hashing.sha1().hashString(code, Charsets.UTF_8).toString();
+        String cleanKey = CHECK_KEY_PREFIX + codeHash;
+        String errorSummary = getCheck(cleanKey);
+        if (errorSummary != null) {
+            return errorSummary;
+        }
+        String url = source.getUrl();
+        String errorKey = CHECK_KEY_PREFIX + Hashing.sha1().hashString(url + "\n" + codeHash, Charsets.UTF_8)
+                .toString();
+        errorSummary = getCheck(errorKey);
+        if (errorSummary != null) {
+            return errorSummary;
+        }
+
+        // We allow unnamed function at root, but Closure compiler doesn't.
+
+        // Remove leading whitespace and comments to get to code
+        String codeToCheck = code.replaceFirst("(?s)^(?:[\\s\n]|/\\*.*?\\*/|//.*?\n)+", "");
+        final boolean isUnnamedFunction = codeToCheck.matches("(?s)^function\\s*\\(.*");
+
+        if (isUnnamedFunction) {
+            codeToCheck = JS_PREFIX + codeToCheck;
+        }
+
+        Writer w = new StringWriter();
+        // strip whitespace, comments, and some unnecessary tokens
+        List<JavascriptProcessingError> errors = JavascriptWriter.CLOSURE_WHITESPACE.compress(codeToCheck, w, url);
+        StringBuilder sb = new StringBuilder();
+        for (JavascriptProcessingError error : errors) {
+            sb.append('\n');
+            if (isUnnamedFunction && error.getLine() == 1) {
+                // adjust for prefix
+                error.setStartColumn(error.getStartColumn() - JS_PREFIX.length());
+            }
+            sb.append(error.toString());
+        }
+        errorSummary = sb.toString();
+        putCheck(errorSummary.isEmpty() ? cleanKey : errorKey, errorSummary);
+        return errorSummary;
+    }
+
+    private static String getCheck(String key) {
+        Cache<String, String> checks = Aura.getCachingService().getIncludeCheckCache();
+        String value = checks.getIfPresent(key);
+        if (value == null) {
+            value = PersistentCacheStore.getInstance().getString(key);
+            if (value != null) {
+                checks.put(key, value);
+            }
+        }
+        return value;
+    }
+
+    private static void putCheck(String key, String value) {
+        Aura.getCachingService().getIncludeCheckCache().put(key, value);
+        PersistentCacheStore.getInstance().putString(key, value);
+    }
+
     @Override
     public void addExpressionReferences(Set<PropertyReference> propRefs) {
         builder.addExpressionReferences(propRefs);
@@ -18,12 +18,8 @@ package org.auraframework.impl.javascript.provider;
 import java.util.Collection;
 import java.util.Set;
 
-import static org.auraframework.instance.AuraValueProviderType.LABEL;
-
 import java.io.IOException;
 
-import org.auraframework.Aura;
-
 import org.auraframework.builder.ComponentDefRefBuilder;
 import org.auraframework.def.DefDescriptor;
 import org.auraframework.def.ProviderDef;
@@ -32,7 +28,6 @@ import org.auraframework.def.RootDefinition;
 import org.auraframework.expression.PropertyReference;
 import org.auraframework.impl.system.DefinitionImpl;
 import org.auraframework.instance.ComponentConfig;
-import org.auraframework.instance.GlobalValueProvider;
 import org.auraframework.throwable.quickfix.InvalidDefinitionException;
 import org.auraframework.throwable.quickfix.QuickFixException;
 import org.auraframework.util.json.JsFunction;
@@ -71,13 +66,7 @@ public class JavascriptProviderDef extends DefinitionImpl<ProviderDef> implement
 
     @Override
     public void retrieveLabels() throws QuickFixException {
-        GlobalValueProvider labelProvider = Aura.getContextService().getCurrentContext().getGlobalProviders()
-                .get(LABEL.getPrefix());
-        for (PropertyReference e : expressionRefs) {
-            if (e.getRoot().equals(LABEL.getPrefix())) {
-                labelProvider.getValue(e.getStem());
-            }
-        }
+        retrieveLabels(expressionRefs);
     }
 
     public static class Builder extends DefinitionImpl.BuilderImpl<ProviderDef> {
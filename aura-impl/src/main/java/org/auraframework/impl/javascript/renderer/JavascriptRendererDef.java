@@ -18,18 +18,14 @@
  */
 package org.auraframework.impl.javascript.renderer;
 
-import static org.auraframework.instance.AuraValueProviderType.LABEL;
-
 import java.io.IOException;
 import java.util.List;
 import java.util.Set;
 
-import org.auraframework.Aura;
 import org.auraframework.def.RendererDef;
 import org.auraframework.expression.PropertyReference;
 import org.auraframework.impl.system.DefinitionImpl;
 import org.auraframework.instance.BaseComponent;
-import org.auraframework.instance.GlobalValueProvider;
 import org.auraframework.throwable.quickfix.QuickFixException;
 import org.auraframework.util.json.JsFunction;
 import org.auraframework.util.json.Json;
@@ -132,13 +128,7 @@ public class JavascriptRendererDef extends DefinitionImpl<RendererDef> implement
 
     @Override
     public void retrieveLabels() throws QuickFixException {
-        GlobalValueProvider labelProvider = Aura.getContextService().getCurrentContext().getGlobalProviders()
-                .get(LABEL.getPrefix());
-        for (PropertyReference e : expressionRefs) {
-            if (e.getRoot().equals(LABEL.getPrefix())) {
-                labelProvider.getValue(e.getStem());
-            }
-        }
+        retrieveLabels(expressionRefs);
     }
 
     public static class Builder extends DefinitionImpl.BuilderImpl<RendererDef> {
@@ -56,8 +56,21 @@ public class MetricsServiceImpl implements MetricsService  {
         }
     }
 
+    /**
+     * Per request data lives on the logging context and goes away with it, the aggregated
+     * profile is kept until {@link #resetAggregateMetrics()}.
+     */
     @Override
     public void clearMetrics() {
-        // TODO Auto-generated method stub
+    }
+
+    @Override
+    public void serializeAggregateMetrics(Json json) throws IOException {
+        PerformanceMetrics.getInstance().serialize(json);
+    }
+
+    @Override
+    public void resetAggregateMetrics() {
+        PerformanceMetrics.getInstance().reset();
     }
 }
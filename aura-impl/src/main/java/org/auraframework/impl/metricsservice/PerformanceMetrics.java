@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.metricsservice;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.log4j.Logger;
+import org.auraframework.util.json.Json;
+
+import com.google.common.collect.Maps;
+import com.google.common.collect.Ordering;
+
+/**
+ * Server wide performance profile, aggregated across requests.
+ *
+ * Each logging context feeds its timers and per action durations in here when the request is
+ * flushed, so this keeps one {@link LatencyHistogram} per timer name and one per action
+ * descriptor. The data is visible through JMX as {@link #OBJECT_NAME} and as JSON from
+ * {@link PerformanceMetricsServlet}.
+ */
+public class PerformanceMetrics implements PerformanceMetricsMBean {
+
+    public static final String OBJECT_NAME = "org.auraframework:type=PerformanceMetrics";
+
+    /**
+     * Upper bound on the number of distinct timers or actions tracked, so that badly behaved
+     * callers with generated names cannot grow this without limit.
+     */
+    private static final int MAX_SERIES = 2048;
+
+    private static final Logger logger = Logger.getLogger(PerformanceMetrics.class);
+
+    private static final PerformanceMetrics INSTANCE = new PerformanceMetrics();
+
+    static {
+        INSTANCE.register();
+    }
+
+    private final ConcurrentMap<String, LatencyHistogram> timers = Maps.newConcurrentMap();
+    private final ConcurrentMap<String, LatencyHistogram> actions = Maps.newConcurrentMap();
+    private final AtomicLong requests = new AtomicLong();
+
+    public static PerformanceMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    PerformanceMetrics() {
+    }
+
+    private void register() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(this, name);
+            }
+        } catch (JMException e) {
+            logger.warn("Unable to register " + OBJECT_NAME, e);
+        } catch (SecurityException e) {
+            logger.warn("Unable to register " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Note that a request has been flushed.
+     */
+    public void recordRequest() {
+        requests.incrementAndGet();
+    }
+
+    /**
+     * Record a timer value for the current request.
+     *
+     * @param name the timer name.
+     * @param nanos the elapsed time in nanoseconds.
+     */
+    public void recordTimer(String name, long nanos) {
+        record(timers, name, nanos);
+    }
+
+    /**
+     * Record the time taken by a single action.
+     *
+     * @param descriptor the qualified name of the action.
+     * @param nanos the elapsed time in nanoseconds.
+     */
+    public void recordAction(String descriptor, long nanos) {
+        record(actions, descriptor, nanos);
+    }
+
+    private void record(ConcurrentMap<String, LatencyHistogram> series, String name, long nanos) {
+        if (name == null || nanos < 0L) {
+            return;
+        }
+        LatencyHistogram histogram = series.get(name);
+        if (histogram == null) {
+            if (series.size() >= MAX_SERIES) {
+                return;
+            }
+            histogram = new LatencyHistogram();
+            LatencyHistogram existing = series.putIfAbsent(name, histogram);
+            if (existing != null) {
+                histogram = existing;
+            }
+        }
+        histogram.record(nanos / 1000L);
+    }
+
+    public LatencyHistogram getTimer(String name) {
+        return timers.get(name);
+    }
+
+    public LatencyHistogram getAction(String descriptor) {
+        return actions.get(descriptor);
+    }
+
+    @Override
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public String[] getTimerNames() {
+        return sortedNames(timers);
+    }
+
+    @Override
+    public String[] getActionNames() {
+        return sortedNames(actions);
+    }
+
+    @Override
+    public String[] getTimerSummary() {
+        return summarize(timers);
+    }
+
+    @Override
+    public String[] getActionSummary() {
+        return summarize(actions);
+    }
+
+    @Override
+    public long getTimerPercentile(String name, double percentile) {
+        LatencyHistogram histogram = timers.get(name);
+        return (histogram == null) ? -1L : histogram.getPercentile(percentile);
+    }
+
+    @Override
+    public long getActionPercentile(String name, double percentile) {
+        LatencyHistogram histogram = actions.get(name);
+        return (histogram == null) ? -1L : histogram.getPercentile(percentile);
+    }
+
+    /**
+     * Drop everything recorded so far.
+     */
+    @Override
+    public void reset() {
+        timers.clear();
+        actions.clear();
+        requests.set(0L);
+    }
+
+    /**
+     * Write the profile as a JSON map of timers and actions, durations in microseconds.
+     */
+    public void serialize(Json json) throws IOException {
+        json.writeMapBegin();
+        json.writeMapEntry("requests", requests.get());
+        json.writeMapKey("timers");
+        serialize(json, timers);
+        json.writeMapKey("actions");
+        serialize(json, actions);
+        json.writeMapEnd();
+    }
+
+    private void serialize(Json json, Map<String, LatencyHistogram> series) throws IOException {
+        json.writeMapBegin();
+        for (String name : sortedNames(series)) {
+            LatencyHistogram histogram = series.get(name);
+            if (histogram == null) {
+                continue;
+            }
+            json.writeMapKey(name);
+            json.writeMapBegin();
+            json.writeMapEntry("count", histogram.getCount());
+            json.writeMapEntry("mean", histogram.getMean());
+            json.writeMapEntry("p50", histogram.getPercentile(50));
+            json.writeMapEntry("p99", histogram.getPercentile(99));
+            json.writeMapEntry("max", histogram.getMax());
+            json.writeMapEnd();
+        }
+        json.writeMapEnd();
+    }
+
+    private static String[] sortedNames(Map<String, LatencyHistogram> series) {
+        return Ordering.<String>natural().sortedCopy(series.keySet()).toArray(new String[0]);
+    }
+
+    private static String[] summarize(Map<String, LatencyHistogram> series) {
+        String[] names = sortedNames(series);
+        String[] summary = new String[names.length];
+        for (int i = 0; i < names.length; i++) {
+            LatencyHistogram histogram = series.get(names[i]);
+            if (histogram == null) {
+                summary[i] = names[i];
+                continue;
+            }
+            summary[i] = String.format("%s count=%d mean=%d p50=%d p99=%d max=%d", names[i],
+                    histogram.getCount(), histogram.getMean(), histogram.getPercentile(50),
+                    histogram.getPercentile(99), histogram.getMax());
+        }
+        return summary;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.metricsservice;
+
+/**
+ * JMX view of the aggregated {@link PerformanceMetrics}.
+ *
+ * Durations are reported in microseconds.
+ */
+public interface PerformanceMetricsMBean {
+
+    long getRequestCount();
+
+    String[] getTimerNames();
+
+    String[] getActionNames();
+
+    /**
+     * @return one line per timer with count, mean, p50, p99 and max.
+     */
+    String[] getTimerSummary();
+
+    /**
+     * @return one line per action descriptor with count, mean, p50, p99 and max.
+     */
+    String[] getActionSummary();
+
+    long getTimerPercentile(String name, double percentile);
+
+    long getActionPercentile(String name, double percentile);
+
+    void reset();
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.metricsservice;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.auraframework.Aura;
+import org.auraframework.adapter.ConfigAdapter;
+import org.auraframework.util.json.JsonEncoder;
+
+import com.google.common.base.Charsets;
+
+/**
+ * Admin endpoint for the aggregated performance profile.
+ *
+ * GET returns the timer and action histograms as JSON, durations in microseconds. POST with
+ * reset=true discards everything recorded so far. In production, only sysadmins may use it.
+ */
+@SuppressWarnings("serial")
+public class PerformanceMetricsServlet extends HttpServlet {
+
+    // KEEP THIS URL IN SYNC WITH THE SERVLET'S URL-MAPPING ENTRY IN WEB.XML!
+    public static final String URL = "/qa/auraPerformance";
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response) throws ServletException,
+            IOException {
+        if (!checkAllowed(response)) {
+            return;
+        }
+
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setCharacterEncoding(Charsets.UTF_8.toString());
+        response.setContentType(JsonEncoder.MIME_TYPE);
+        response.setHeader("Cache-Control", "no-cache, no-store");
+
+        JsonEncoder json = JsonEncoder.createJsonStream(response.getOutputStream(), true, false, false);
+        try {
+            Aura.getMetricsService().serializeAggregateMetrics(json);
+        } finally {
+            json.close();
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException,
+            IOException {
+        if (!checkAllowed(response)) {
+            return;
+        }
+
+        if (Boolean.parseBoolean(request.getParameter("reset"))) {
+            Aura.getMetricsService().resetAggregateMetrics();
+        }
+        response.setStatus(HttpServletResponse.SC_NO_CONTENT);
+    }
+
+    /**
+     * Only let sysadmins in when running in production.
+     *
+     * @return true if the request may go on, false if it was refused.
+     */
+    private boolean checkAllowed(HttpServletResponse response) throws IOException {
+        ConfigAdapter configAdapter = Aura.getConfigAdapter();
+        if (configAdapter.isProduction() && !configAdapter.isSysAdmin()) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return false;
+        }
+        return true;
+    }
+}
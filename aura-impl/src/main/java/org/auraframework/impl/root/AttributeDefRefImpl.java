@@ -56,7 +56,8 @@ public class AttributeDefRefImpl extends DefinitionImpl<AttributeDef> implements
 
     protected AttributeDefRefImpl(Builder builder) {
         super(builder);
-        this.value = builder.value;
+        // literal values repeat a lot across components, share them
+        this.value = (builder.value instanceof String) ? AuraUtil.intern((String) builder.value) : builder.value;
         this.parsedValue = value;
         this.hashCode = AuraUtil.hashCode(descriptor, value);
     }
@@ -15,8 +15,6 @@
  */
 package org.auraframework.impl.root;
 
-import java.util.Collections;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -55,14 +53,12 @@ public abstract class RootDefinitionImpl<T extends RootDefinition> extends Defin
         if (builder.attributeDefs == null || builder.attributeDefs.size() == 0) {
             this.attributeDefs = ImmutableMap.of();
         } else {
-            this.attributeDefs = Collections
-                    .unmodifiableMap(new LinkedHashMap<>(builder.attributeDefs));
+            this.attributeDefs = ImmutableMap.copyOf(builder.attributeDefs);
         }
         if (builder.requiredVersionDefs == null || builder.requiredVersionDefs.size() == 0) {
             this.requiredVersionDefs = ImmutableMap.of();
         } else {
-            this.requiredVersionDefs = Collections
-                    .unmodifiableMap(new LinkedHashMap<>(builder.requiredVersionDefs));
+            this.requiredVersionDefs = ImmutableMap.copyOf(builder.requiredVersionDefs);
         }
         this.providerDescriptors = AuraUtil.immutableList(builder.providerDescriptors);
 
@@ -16,8 +16,6 @@
 
 package org.auraframework.impl.root.component;
 
-import static org.auraframework.instance.AuraValueProviderType.LABEL;
-
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -152,9 +150,9 @@ RootDefinitionImpl<T> implements BaseComponentDef, Serializable {
         this.imports = AuraUtil.immutableList(builder.imports);
         this.styleDescriptor = builder.styleDescriptor;
         this.flavoredStyleDescriptor = builder.flavoredStyleDescriptor;
-        this.rendererDescriptors = builder.rendererDescriptors;
-        this.helperDescriptors = builder.helperDescriptors;
-        this.resourceDescriptors = builder.resourceDescriptors;
+        this.rendererDescriptors = AuraUtil.compactList(builder.rendererDescriptors);
+        this.helperDescriptors = AuraUtil.compactList(builder.helperDescriptors);
+        this.resourceDescriptors = AuraUtil.compactList(builder.resourceDescriptors);
         this.isAbstract = builder.isAbstract;
         this.isExtensible = builder.isExtensible;
         this.isTemplate = builder.isTemplate;
@@ -525,13 +523,7 @@ RootDefinitionImpl<T> implements BaseComponentDef, Serializable {
     @Override
     public void retrieveLabels() throws QuickFixException {
         // only get our direct labels, all others are handled by dependencies.
-        GlobalValueProvider labelProvider = Aura.getContextService().getCurrentContext().getGlobalProviders()
-                .get(LABEL.getPrefix());
-        for (PropertyReference e : expressionRefs) {
-            if (e.getRoot().equals(LABEL.getPrefix())) {
-                labelProvider.getValue(e.getStem());
-            }
-        }
+        retrieveLabels(expressionRefs);
     }
 
     @Override
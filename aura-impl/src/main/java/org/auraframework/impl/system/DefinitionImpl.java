@@ -19,6 +19,7 @@ import static org.auraframework.instance.AuraValueProviderType.LABEL;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -29,6 +30,8 @@ import org.auraframework.def.Definition;
 import org.auraframework.def.DefinitionAccess;
 import org.auraframework.expression.PropertyReference;
 import org.auraframework.impl.DefinitionAccessImpl;
+import org.auraframework.impl.adapter.LabelValueProvider;
+import org.auraframework.impl.util.AuraUtil;
 import org.auraframework.instance.GlobalValueProvider;
 import org.auraframework.system.Location;
 import org.auraframework.system.SubDefDescriptor;
@@ -40,6 +43,9 @@ import org.auraframework.util.json.Serialization.ReferenceScope;
 import org.auraframework.util.json.Serialization.ReferenceType;
 import org.auraframework.util.text.Hash;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 
 /**
@@ -62,6 +68,11 @@ public abstract class DefinitionImpl<T extends Definition> implements Definition
     private final DefinitionAccess access;
     private boolean valid;
 
+    /**
+     * The $Label references of this definition, picked out on the first call to retrieveLabels.
+     */
+    private transient volatile List<PropertyReference> labelRefs;
+
     protected DefinitionImpl(DefDescriptor<T> descriptor, Location location) {
         this(descriptor, location, null, null, null, null, null, null);
     }
@@ -75,8 +86,8 @@ public abstract class DefinitionImpl<T extends Definition> implements Definition
             String apiVersion, String description, DefinitionAccess access, String ownHash,
             QuickFixException parseError) {
         this.descriptor = descriptor;
-        this.location = location;
-        this.subDefs = subDefs;
+        this.location = AuraUtil.intern(location);
+        this.subDefs = (subDefs == null || subDefs.isEmpty()) ? null : ImmutableMap.copyOf(subDefs);
         this.apiVersion = apiVersion;
         this.description = description;
         this.ownHash = ownHash;
@@ -349,17 +360,34 @@ public abstract class DefinitionImpl<T extends Definition> implements Definition
      * A utility routine to get the full set of labels out of a set of property references.
      *
      * This is used everywhere that we parse javascript to get property references and want to
-     * process them. But can be applied to literally anything.
+     * process them. But can be applied to literally anything. The label references are picked out
+     * once per definition, so the props given must be the definition's own, unchanging, references.
      *
      * @param props the collection of properties to scan.
      */
     protected void retrieveLabels(Collection<PropertyReference> props) throws QuickFixException {
+        List<PropertyReference> refs = labelRefs;
+        if (refs == null) {
+            refs = Lists.newArrayList();
+            for (PropertyReference e : props) {
+                if (e.getRoot().equals(LABEL.getPrefix())) {
+                    refs.add(e.getStem());
+                }
+            }
+            labelRefs = refs = ImmutableList.copyOf(refs);
+        }
+        if (refs.isEmpty()) {
+            return;
+        }
+
         GlobalValueProvider labelProvider;
 
         labelProvider = Aura.getContextService().getCurrentContext().getGlobalProviders().get(LABEL.getPrefix());
-        for (PropertyReference e : props) {
-            if (e.getRoot().equals(LABEL.getPrefix())) {
-                labelProvider.getValue(e.getStem());
+        if (labelProvider instanceof LabelValueProvider) {
+            ((LabelValueProvider) labelProvider).loadLabels(refs);
+        } else {
+            for (PropertyReference e : refs) {
+                labelProvider.getValue(e);
             }
         }
     }
@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
 
 import javax.annotation.CheckForNull;
@@ -41,6 +42,7 @@ import org.auraframework.def.Definition;
 import org.auraframework.def.DefinitionAccess;
 import org.auraframework.def.DescriptorFilter;
 import org.auraframework.def.RootDefinition;
+import org.auraframework.impl.cache.PersistentCacheStore;
 import org.auraframework.impl.controller.AuraStaticControllerDefRegistry;
 import org.auraframework.service.CachingService;
 import org.auraframework.service.LoggingService;
@@ -63,6 +65,7 @@ import com.google.common.collect.ImmutableSortedSet;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 
 /**
  * Overall Master definition registry implementation, there be dragons here.
@@ -120,6 +123,21 @@ public class MasterDefRegistryImpl implements MasterDefRegistry {
 
     private final static int ACCESS_CHECK_CACHE_SIZE = 4096;
 
+    /**
+     * How long a request waits for another request compiling the same descriptor before compiling it itself.
+     */
+    private final static long COMPILE_WAIT_SECONDS = 30;
+
+    /**
+     * Compiles in flight across all registries, so that concurrent misses on the same descriptor compile it once.
+     */
+    private final static SingleFlight compiles = new SingleFlight(COMPILE_WAIT_SECONDS, TimeUnit.SECONDS);
+
+    /**
+     * Dependency entries and strings kept across restarts, when enabled.
+     */
+    private final static PersistentCacheStore persistentStore = PersistentCacheStore.getInstance();
+
     private final Lock rLock;
 
     private final Cache<DefDescriptor<?>, Boolean> existsCache;
@@ -866,11 +884,16 @@ public class MasterDefRegistryImpl implements MasterDefRegistry {
             }
 
             Set<DefDescriptor<? extends Definition>> deps = Sets.newLinkedHashSet();
+            boolean persist = cc.shouldCacheDependencies && persistentStore.isEnabled() && shouldCache(descriptor);
+            List<String> hashes = persist ? Lists.<String>newArrayList() : null;
 
             // level sorting is important for css and aura:library dependency ordering
             Collections.sort(compiled);
             for (CompilingDef<?> cd : compiled) {
                 deps.add(cd.descriptor);
+                if (persist) {
+                    hashes.add(getSource(cd.descriptor) != null ? cd.def.getOwnHash() : null);
+                }
             }
 
             de = new DependencyEntry(uid, Collections.unmodifiableSet(deps), clientLibs);
@@ -883,6 +906,9 @@ public class MasterDefRegistryImpl implements MasterDefRegistry {
                     depsCache.put(makeNonUidGlobalKey(descriptor), de);
                 }
             }
+            if (persist) {
+                persistentStore.putDependencies(this, descriptor, de, hashes);
+            }
             // See localDependencies comment
             localDependencies.put(de.uid, de);
             localDependencies.put(key, de);
@@ -894,6 +920,43 @@ public class MasterDefRegistryImpl implements MasterDefRegistry {
         }
     }
 
+    /**
+     * Compile a dependency entry, coalescing with other requests compiling the same descriptor.
+     *
+     * Compiling is done per registry, so concurrent requests that miss on the same descriptor would each compile the
+     * whole dependency graph. Instead, the first one compiles and the others wait for it, then pick up the entry it
+     * put in the global caches. If they still miss (e.g. the entry is only cached by uid), they compile, but the
+     * definitions now come from the defs cache rather than being parsed and validated again.
+     *
+     * Only the top level is coalesced. Waiting on individual definitions inside a compile could deadlock two requests
+     * compiling overlapping graphs in different orders.
+     *
+     * @param uid the uid if known, used to look up the entry after waiting.
+     * @param descriptor the incoming descriptor to compile
+     * @return the dependency entry, or null if not found.
+     * @throws QuickFixException if the definition failed to compile.
+     */
+    @CheckForNull
+    private <T extends Definition> DependencyEntry compileDECoalesced(@CheckForNull String uid,
+            @Nonnull DefDescriptor<T> descriptor) throws QuickFixException {
+        if (!shouldCache(descriptor)) {
+            return compileDE(descriptor);
+        }
+        String key = makeNonUidGlobalKey(descriptor);
+        if (compiles.lead(key, rLock)) {
+            try {
+                return compileDE(descriptor);
+            } finally {
+                compiles.done(key);
+            }
+        }
+        DependencyEntry de = getDE(uid, descriptor);
+        if (de == null) {
+            de = compileDE(descriptor);
+        }
+        return de;
+    }
+
     /**
      * Get a dependency entry for a given uid.
      *
@@ -933,6 +996,13 @@ public class MasterDefRegistryImpl implements MasterDefRegistry {
                 de = depsCache.getIfPresent(makeNonUidGlobalKey(descriptor));
             }
         }
+        if (de == null && persistentStore.isEnabled() && shouldCache(descriptor)) {
+            de = persistentStore.getDependencies(this, uid, descriptor);
+            if (de != null) {
+                depsCache.put(makeGlobalKey(de.uid, descriptor), de);
+                depsCache.put(makeNonUidGlobalKey(descriptor), de);
+            }
+        }
         if (de != null) {
             // See localDependencies comment
             localDependencies.put(de.uid, de);
@@ -1067,11 +1137,20 @@ public class MasterDefRegistryImpl implements MasterDefRegistry {
                 }
 
                 if (de == null) {
-                    compileDE(descriptor);
+                    de = compileDECoalesced(null, descriptor);
+                    if (de == null) {
+                        return null;
+                    }
 
+                    //
+                    // If we compiled it ourselves, the def is already here. If another thread did,
+                    // we fall through and build from the entry it left behind.
+                    //
                     @SuppressWarnings("unchecked")
                     D def = (D) defs.get(descriptor);
-                    return def;
+                    if (def != null) {
+                        return def;
+                    }
                 }
             }
 
@@ -1160,36 +1239,44 @@ public class MasterDefRegistryImpl implements MasterDefRegistry {
             return false;
         }
         cacheable = reg.isCacheable() && shouldCache(descriptor);
+        Boolean val = null;
         if (cacheable) {
             //
             // Try our various caches.
             //
-            Boolean val = existsCache.getIfPresent(descriptor);
+            val = existsCache.getIfPresent(descriptor);
             if (val != null && val.booleanValue()) {
                 return true;
             }
         }
         rLock.lock();
         try {
-            if (cacheable) {
-                Optional<?> opt = defsCache.getIfPresent(descriptor);
-                if (opt != null) {
-                    //
-                    // We cache here.
-                    //
-                    if (opt.isPresent()) {
-                        existsCache.put(descriptor, Boolean.TRUE);
-                        return true;
-                    } else {
-                        existsCache.put(descriptor, Boolean.FALSE);
-                        return false;
+            if (cacheable && val == null) {
+                //
+                // Nothing cached yet, load through the cache so that concurrent lookups share one check.
+                //
+                regExists = loadExists(descriptor, reg);
+            } else {
+                if (cacheable) {
+                    Optional<?> opt = defsCache.getIfPresent(descriptor);
+                    if (opt != null) {
+                        //
+                        // We cache here.
+                        //
+                        if (opt.isPresent()) {
+                            existsCache.put(descriptor, Boolean.TRUE);
+                            return true;
+                        } else {
+                            existsCache.put(descriptor, Boolean.FALSE);
+                            return false;
+                        }
                     }
                 }
-            }
-            regExists = reg.exists(descriptor);
-            if (cacheable) {
-                Boolean cacheVal = Boolean.valueOf(regExists);
-                existsCache.put(descriptor, cacheVal);
+                regExists = reg.exists(descriptor);
+                if (cacheable) {
+                    Boolean cacheVal = Boolean.valueOf(regExists);
+                    existsCache.put(descriptor, cacheVal);
+                }
             }
         } finally {
             rLock.unlock();
@@ -1201,6 +1288,28 @@ public class MasterDefRegistryImpl implements MasterDefRegistry {
         return regExists;
     }
 
+    /**
+     * Check for existence through the exists cache, using the defs cache if it knows the answer.
+     */
+    private <D extends Definition> boolean loadExists(final DefDescriptor<D> descriptor, final DefRegistry<D> reg) {
+        try {
+            return existsCache.get(descriptor, new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    Optional<?> opt = defsCache.getIfPresent(descriptor);
+                    if (opt != null) {
+                        return Boolean.valueOf(opt.isPresent());
+                    }
+                    return Boolean.valueOf(reg.exists(descriptor));
+                }
+            }).booleanValue();
+        } catch (ExecutionException ee) {
+            throw Throwables.propagate(ee.getCause());
+        } catch (UncheckedExecutionException uee) {
+            throw Throwables.propagate(uee.getCause());
+        }
+    }
+
     /**
      * This figures out based on prefix what registry this component is for, it could return null if the prefix is not
      * found.
@@ -1244,7 +1353,9 @@ public class MasterDefRegistryImpl implements MasterDefRegistry {
     @Override
     public <D extends Definition> void assertAccess(DefDescriptor<?> referencingDescriptor, D def)
             throws QuickFixException {
-        assertAccess(referencingDescriptor, def, accessCheckCache);
+        if (!isAccessGranted(referencingDescriptor, def)) {
+            assertAccess(referencingDescriptor, def, accessCheckCache);
+        }
     }
 
     public <D extends Definition> void assertAccess(DefDescriptor<?> referencingDescriptor, D def,
@@ -1260,9 +1371,59 @@ public class MasterDefRegistryImpl implements MasterDefRegistry {
 
     @Override
     public <D extends Definition> String hasAccess(DefDescriptor<?> referencingDescriptor, D def) {
+        if (isAccessGranted(referencingDescriptor, def)) {
+            return null;
+        }
         return hasAccess(referencingDescriptor, def, accessCheckCache);
     }
 
+    /**
+     * Check whether access is granted without building any strings.
+     *
+     * This is called for every component instance, and access is almost always granted, so the decision is made
+     * directly from the namespaces involved. The target name, cache key and denial message are only built by
+     * {@link #hasAccess(DefDescriptor, Definition, Cache)} when this returns false, which also keeps the
+     * accessCheckCache for denials and cross namespace references rather than every lookup.
+     *
+     * @return true if access is granted, false if the full check must be made.
+     */
+    @SuppressWarnings("deprecation")
+    private <D extends Definition> boolean isAccessGranted(DefDescriptor<?> referencingDescriptor, D def) {
+        if (def == null) {
+            return true;
+        }
+
+        DefinitionAccess access = def.getAccess();
+        if (access.isGlobal() || !access.requiresAuthentication()) {
+            return true;
+        }
+
+        ConfigAdapter configAdapter = Aura.getConfigAdapter();
+        if (referencingDescriptor == null) {
+            return false;
+        }
+        if (configAdapter.isUnsecuredPrefix(referencingDescriptor.getPrefix())) {
+            return true;
+        }
+        String referencingNamespace = referencingDescriptor.getNamespace();
+        if (referencingNamespace == null || referencingNamespace.isEmpty()) {
+            return false;
+        }
+        if (configAdapter.isPrivilegedNamespace(referencingNamespace)) {
+            return true;
+        }
+
+        String namespace;
+        if (def instanceof AttributeDef) {
+            namespace = ((AttributeDef) def).getParentDescriptor().getNamespace();
+        } else {
+            namespace = def.getDescriptor().getNamespace();
+        }
+        return referencingNamespace == namespace || referencingNamespace.equals(namespace)
+                || configAdapter.isUnsecuredNamespace(namespace)
+                || configAdapter.isUnsecuredPrefix(def.getDescriptor().getPrefix());
+    }
+
     @SuppressWarnings("deprecation")
     <D extends Definition> String hasAccess(DefDescriptor<?> referencingDescriptor, D def,
             Cache<String, String> accessCheckCache) {
@@ -1396,7 +1557,9 @@ public class MasterDefRegistryImpl implements MasterDefRegistry {
 
 	        if (de != null) {
 	        	try {
-	        		return stringsCache.get(getKey(de, descriptor, key), loader);
+	        		String stringKey = getKey(de, descriptor, key);
+	        		return stringsCache.get(stringKey,
+	        		        persistentStore.isEnabled() ? persistingLoader(stringKey, loader) : loader);
 	    		} catch (ExecutionException e) {
 	    			// Don't interfere if the callable caused these exceptions.
 	    		    Throwables.propagateIfInstanceOf(e.getCause(), IOException.class);
@@ -1427,11 +1590,30 @@ public class MasterDefRegistryImpl implements MasterDefRegistry {
             DependencyEntry de = localDependencies.get(uid);
 
             if (de != null) {
-                stringsCache.put(getKey(de, descriptor, key), value);
+                String stringKey = getKey(de, descriptor, key);
+                stringsCache.put(stringKey, value);
+                persistentStore.putString(stringKey, value);
             }
         }
     }
 
+    /**
+     * Wrap a strings cache loader to try the persistent store first, and to store what it loads.
+     */
+    private Callable<String> persistingLoader(final String stringKey, final Callable<String> loader) {
+        return new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                String value = persistentStore.getString(stringKey);
+                if (value == null) {
+                    value = loader.call();
+                    persistentStore.putString(stringKey, value);
+                }
+                return value;
+            }
+        };
+    }
+
     /**
      * Get the UID.
      *
@@ -1462,7 +1644,7 @@ public class MasterDefRegistryImpl implements MasterDefRegistry {
             de = getDE(uid, descriptor);
             if (de == null) {
                 try {
-                    de = compileDE(descriptor);
+                    de = compileDECoalesced(uid, descriptor);
                     //
                     // If we can't find our descriptor, we just give back a null.
                     if (de == null) {
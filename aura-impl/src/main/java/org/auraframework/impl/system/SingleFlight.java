@@ -0,0 +1,117 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.system;
+
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import com.google.common.collect.Maps;
+
+/**
+ * Coalesces concurrent work on the same key across threads.
+ *
+ * The first thread to ask for a key becomes its leader and does the work, and other threads
+ * asking for the same key wait until the leader is done. The waiters then look in the caches
+ * the leader filled, and only do the work themselves if they still miss.
+ *
+ * A thread that is already leading never waits, and waits are bounded. Work is never lost:
+ * at worst a waiter repeats what the leader did, as it would have without coalescing.
+ */
+final class SingleFlight {
+
+    private final ConcurrentMap<String, CountDownLatch> inFlight = Maps.newConcurrentMap();
+
+    private final ThreadLocal<int[]> leading = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
+
+    private final long timeoutNanos;
+
+    SingleFlight(long timeout, TimeUnit unit) {
+        this.timeoutNanos = unit.toNanos(timeout);
+    }
+
+    /**
+     * Become the leader for a key, or wait for the current leader.
+     *
+     * @param key the key for the work.
+     * @return true if the caller is now the leader and must call {@link #done(String)} in a
+     *         finally block, false if the caller waited (or must not wait) and should check the
+     *         caches before doing the work itself.
+     */
+    boolean lead(String key) {
+        return lead(key, null);
+    }
+
+    /**
+     * Become the leader for a key, or wait for the current leader without holding a lock.
+     *
+     * If the caller has to wait, one hold of the given lock is released for the duration of the
+     * wait and taken again before returning, so that waiters do not hold up writers.
+     *
+     * @param key the key for the work.
+     * @param held a lock held by the caller, or null.
+     * @return see {@link #lead(String)}.
+     */
+    boolean lead(String key, Lock held) {
+        CountDownLatch latch = new CountDownLatch(1);
+        CountDownLatch existing = inFlight.putIfAbsent(key, latch);
+        if (existing == null) {
+            leading.get()[0]++;
+            return true;
+        }
+        if (leading.get()[0] > 0) {
+            // waiting while leading could deadlock against a thread waiting on us
+            return false;
+        }
+        if (held != null) {
+            held.unlock();
+        }
+        try {
+            existing.await(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (held != null) {
+                held.lock();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Finish leading a key, releasing any waiters.
+     */
+    void done(String key) {
+        leading.get()[0]--;
+        CountDownLatch latch = inFlight.remove(key);
+        if (latch != null) {
+            latch.countDown();
+        }
+    }
+
+    /**
+     * @return the number of keys currently being worked on.
+     */
+    int size() {
+        return inFlight.size();
+    }
+}
@@ -24,6 +24,8 @@ import org.auraframework.system.Location;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.common.collect.Lists;
 
 /**
@@ -31,6 +33,10 @@ import com.google.common.collect.Lists;
  */
 public class AuraUtil {
 
+    private static final Interner<Location> LOCATIONS = Interners.newWeakInterner();
+
+    private static final Interner<String> VALUES = Interners.newWeakInterner();
+
     /**
      * Accepts a Set, or null, and always returns an immutable Set. If set was
      * null, return will be an empty ImmutableSet
@@ -81,6 +87,49 @@ public class AuraUtil {
         }
     }
 
+    /**
+     * Accepts a List, or null, and returns a compact immutable copy. Unlike
+     * {@link #immutableList(List)}, null stays null, and a list holding nulls
+     * is returned as is.
+     *
+     * @param <T> Any Object type
+     * @param list any List, or null
+     * @return An ImmutableList that is a copy of list, or list itself
+     */
+    public static <T> List<T> compactList(List<T> list) {
+        if (list == null || list.contains(null)) {
+            return list;
+        }
+        return ImmutableList.copyOf(list);
+    }
+
+    /**
+     * Share a single instance of equal locations between definitions.
+     *
+     * Locations with a cache file are returned as is, as equality does not
+     * look at the cache file, and so are those without a file name.
+     *
+     * @param location any location, or null
+     * @return the shared location equal to location
+     */
+    public static Location intern(Location location) {
+        if (location == null || location.hasCacheEntry() || location.getFileName() == null) {
+            return location;
+        }
+        return LOCATIONS.intern(location);
+    }
+
+    /**
+     * Share a single instance of equal literal values, such as attribute
+     * values, between definitions.
+     *
+     * @param value any string, or null
+     * @return the shared string equal to value
+     */
+    public static String intern(String value) {
+        return value == null ? null : VALUES.intern(value);
+    }
+
     /**
      * shortcut for hashing some stuff.
      * 
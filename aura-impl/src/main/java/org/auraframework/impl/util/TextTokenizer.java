@@ -19,8 +19,6 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.auraframework.def.AttributeDef;
 import org.auraframework.def.BaseComponentDef;
@@ -46,25 +44,18 @@ import com.google.common.collect.Sets;
 /**
  * Parses expressions and literal text. Those tokens can then be converted into
  * the appropriate types of ComponentDefRefs or Strings
+ *
+ * The text is scanned by hand in a single pass: an expression is a '{!' or '{#'
+ * followed by at least one character up to the first '}'.
  */
 public class TextTokenizer implements Iterable<TextTokenizer.Token> {
     public static final String BEGIN = "{(!|#)";
     public static final String END = "}";
 
-    private static final Pattern EXPRESSION_PATTERN = Pattern.compile("(\\" + BEGIN + "[^}]+?\\" + END + ")",
-            Pattern.DOTALL | Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-
-    private static final Pattern EXPRESSION_UNWRAPPING_PATTERN = Pattern.compile("\\" + BEGIN + "(.*)\\" + END,
-            Pattern.DOTALL | Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-
-    private static final Pattern UNTERMINATED_EXPRESSION_PATTERN = Pattern.compile("(\\" + BEGIN + "[^}]+?)",
-            Pattern.DOTALL | Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final char OPEN = '{';
+    private static final char CLOSE = '}';
 
-    private static final Pattern CURLY_BANG_INVERSION_PATTERN = Pattern.compile("(!\\{+" + "[^}]+?\\" + END + ")",
-            Pattern.DOTALL | Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
-
-    private static final Pattern LABEL_GVP_PATTERN = Pattern.compile("(\\$Label\\.\\w+\\.\\w+)",
-            Pattern.DOTALL | Pattern.CASE_INSENSITIVE | Pattern.MULTILINE);
+    private static final String LABEL_PREFIX = "$Label.";
 
     public static enum TokenType {
         PLAINTEXT(DefDescriptorImpl.getInstance("aura:text", ComponentDef.class)),
@@ -116,11 +107,24 @@ public class TextTokenizer implements Iterable<TextTokenizer.Token> {
     private void doTokenize() throws AuraValidationException {
         if (!AuraTextUtil.isNullEmptyOrWhitespace(text)) {
             int lastMatch = 0;
-            Matcher matcher = EXPRESSION_PATTERN.matcher(text);
+            int start = text.indexOf(OPEN);
 
-            while (matcher.find()) {
-                int start = matcher.start();
-                int end = matcher.end();
+            while (start >= 0 && start < text.length() - 1) {
+                if (!isExpressionStart(text, start)) {
+                    start = text.indexOf(OPEN, start + 1);
+                    continue;
+                }
+                int close = text.indexOf(CLOSE, start + 2);
+                if (close < 0) {
+                    // no later expression can be terminated either
+                    break;
+                }
+                if (close == start + 2) {
+                    // an empty '{!}' is not an expression
+                    start = text.indexOf(OPEN, start + 1);
+                    continue;
+                }
+                int end = close + 1;
 
                 // All text before the currently found expression
                 if (lastMatch != start) {
@@ -129,6 +133,7 @@ public class TextTokenizer implements Iterable<TextTokenizer.Token> {
 
                 tokens.add(new Token(TokenType.EXPRESSION, start, end));
                 lastMatch = end;
+                start = text.indexOf(OPEN, end);
             }
 
             // The remainder text after the last expression
@@ -152,15 +157,19 @@ public class TextTokenizer implements Iterable<TextTokenizer.Token> {
      *             malformed expression.
      */
     private void maybeAddPlainText(int begin, int end) throws AuraValidationException {
-        String substring = text.substring(begin, end);
+        int length = end - begin;
 
-        Matcher unterminated = UNTERMINATED_EXPRESSION_PATTERN.matcher(substring);
-        if (unterminated.matches()) {
-            throw new InvalidExpressionException("Unterminated expression", location);
+        // '{!' or '{#' and some text, but no closing brace
+        if (length > 2 && isExpressionStart(text, begin)) {
+            int close = text.indexOf(CLOSE, begin + 2);
+            if (close < 0 || close >= end) {
+                throw new InvalidExpressionException("Unterminated expression", location);
+            }
         }
 
-        Matcher curlyBangInversion = CURLY_BANG_INVERSION_PATTERN.matcher(substring);
-        if (curlyBangInversion.matches()) {
+        // '!{' and some text, closed by the only closing brace
+        if (length > 3 && text.charAt(begin) == '!' && text.charAt(begin + 1) == OPEN
+                && text.indexOf(CLOSE, begin + 2) == end - 1) {
             throw new InvalidExpressionException("Found an expression starting with '!{' but it should be '{!'",
                     location);
         }
@@ -209,14 +218,75 @@ public class TextTokenizer implements Iterable<TextTokenizer.Token> {
 
     /**
      * convenience method for removing curlybang.
+     *
+     * Everything from the first '{!' or '{#' to the last '}' is unwrapped.
      */
     public static String unwrap(String value) {
-        Matcher matcher = EXPRESSION_UNWRAPPING_PATTERN.matcher(value);
-        if (matcher.find()) {
-            return matcher.group(2);
-        } else {
-            return value;
+        int close = value.lastIndexOf(CLOSE);
+        int start = value.indexOf(OPEN);
+        while (start >= 0 && start + 2 <= close) {
+            if (isExpressionStart(value, start)) {
+                return value.substring(start + 2, close);
+            }
+            start = value.indexOf(OPEN, start + 1);
         }
+        return value;
+    }
+
+    /**
+     * @return true if there is a '{!' or '{#' at the given position.
+     */
+    private static boolean isExpressionStart(String value, int i) {
+        if (value.charAt(i) != OPEN || i + 1 >= value.length()) {
+            return false;
+        }
+        char c = value.charAt(i + 1);
+        return c == '!' || c == '#';
+    }
+
+    /**
+     * Find the "naked" $Label.section.name references in plain text, matching the prefix without regard to case.
+     *
+     * @return the references, or null if there are none.
+     */
+    private static Set<PropertyReference> findLabelRefs(String value, Location location) {
+        Set<PropertyReference> propRefs = null;
+        int prefixLength = LABEL_PREFIX.length();
+        int i = value.indexOf('$');
+        while (i >= 0) {
+            int next = i + 1;
+            if (value.regionMatches(true, i, LABEL_PREFIX, 0, prefixLength)) {
+                int section = i + prefixLength;
+                int sectionEnd = skipWord(value, section);
+                if (sectionEnd > section && sectionEnd < value.length() && value.charAt(sectionEnd) == '.') {
+                    int nameEnd = skipWord(value, sectionEnd + 1);
+                    if (nameEnd > sectionEnd + 1) {
+                        if (propRefs == null) {
+                            propRefs = Sets.newHashSet();
+                        }
+                        propRefs.add(new PropertyReferenceImpl(value.substring(i, nameEnd), location));
+                        next = nameEnd;
+                    }
+                }
+            }
+            i = value.indexOf('$', next);
+        }
+        return propRefs;
+    }
+
+    /**
+     * @return the position after the run of word characters ([a-zA-Z_0-9]) starting at i.
+     */
+    private static int skipWord(String value, int i) {
+        int length = value.length();
+        while (i < length) {
+            char c = value.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_')) {
+                break;
+            }
+            i++;
+        }
+        return i;
     }
 
     @Override
@@ -252,23 +322,15 @@ public class TextTokenizer implements Iterable<TextTokenizer.Token> {
             Set<PropertyReference> propRefs = null;
             if (type == TokenType.EXPRESSION) {
                 propRefs = Sets.newHashSetWithExpectedSize(2);
-                Expression e = AuraImpl.getExpressionAdapter().buildExpression(unwrap(raw), location);
+                // the scanner guarantees the braces, hand over what is between them
+                Expression e = AuraImpl.getExpressionAdapter().buildExpression(
+                        text.substring(begin + 2, end - 1), location);
                 e.gatherPropertyReferences(propRefs);
                 e.setByValue(raw.charAt(1)=='#');
                 result = e;
             } else {
                 // Let's see if we can find any "naked" $Label.section.name references in the plain text
-                Matcher matcher = LABEL_GVP_PATTERN.matcher(raw);
-                while (matcher.find()) {
-                    String labelRef = matcher.group();
-
-                    if (propRefs == null) {
-                        propRefs = Sets.newHashSet();
-                    }
-
-                    propRefs.add(new PropertyReferenceImpl(labelRef, location));
-                }
-
+                propRefs = findLabelRefs(raw, location);
                 result = raw;
             }
 
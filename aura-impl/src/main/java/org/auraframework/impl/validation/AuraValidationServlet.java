@@ -66,12 +66,7 @@ public class AuraValidationServlet extends AuraBaseServlet {
         Set<DefDescriptor<?>> descriptors = ValidationUtil.getAllDescriptorsIn(path);
         LOG.info("descriptors.size: " + descriptors.size());
         if (descriptors.size() > 0) {
-            for (DefDescriptor<?> descriptor : descriptors) {
-                List<ValidationError> ret = validationEngine.validate(descriptor);
-                for (ValidationError error : ret) {
-                    errors.add(error);
-                }
-            }
+            errors.addAll(validationEngine.validateAll(descriptors));
         }
 
         String charset = Charsets.UTF_8.toString();
@@ -16,16 +16,31 @@
 package org.auraframework.impl.validation;
 
 import java.io.IOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.auraframework.Aura;
+import org.auraframework.cache.Cache;
 import org.auraframework.def.DefDescriptor;
 import org.auraframework.def.DefDescriptor.DefType;
 import org.auraframework.def.Definition;
+import org.auraframework.service.ContextService;
+import org.auraframework.system.AuraContext;
+import org.auraframework.system.AuraContext.Authentication;
+import org.auraframework.system.AuraContext.Format;
+import org.auraframework.system.AuraContext.Mode;
 import org.auraframework.system.Source;
+import org.auraframework.throwable.AuraRuntimeException;
 import org.auraframework.throwable.quickfix.AuraValidationException;
 import org.auraframework.throwable.quickfix.DefinitionNotFoundException;
 import org.auraframework.throwable.quickfix.QuickFixException;
@@ -38,8 +53,10 @@ import org.auraframework.util.json.JsonConstant;
 import org.auraframework.util.json.JsonStreamReader;
 import org.auraframework.util.validation.ValidationError;
 
+import com.google.common.base.Charsets;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import com.google.common.hash.Hashing;
 
 /**
  * Engine for Aura validations
@@ -50,6 +67,12 @@ public final class ValidationEngine {
 
     private static final List<ValidationError> NO_ERRORS = ImmutableList.of();
 
+    /**
+     * How many threads validate at once in {@link #validateAll(Collection)}.
+     */
+    private static final int THREADS = Integer.getInteger("aura.validation.threads", Runtime.getRuntime()
+            .availableProcessors());
+
     /**
      * Validates definition denoted by descriptor
      */
@@ -78,15 +101,98 @@ public final class ValidationEngine {
      * @param prefix language prefix to validate, or null to validate all prefixes
      */
     public List<ValidationError> validateAllKnown(String prefix) throws QuickFixException {
-        List<ValidationError> allErrors = Lists.newArrayList();
+        List<DefDescriptor<?>> descriptors = Lists.newArrayList();
 
-        Set<DefDescriptor<?>> descriptors = ValidationUtil.getAllKnownDescriptors();
-        for (DefDescriptor<?> descriptor : descriptors) {
+        Set<DefDescriptor<?>> known = ValidationUtil.getAllKnownDescriptors();
+        for (DefDescriptor<?> descriptor : known) {
             if (prefix == null || prefix.equals(descriptor.getPrefix())) {
+                descriptors.add(descriptor);
+            }
+        }
+
+        return validateAll(descriptors);
+    }
+
+    /**
+     * Validates descriptors in parallel, see {@link #validateAll(Collection, int)}.
+     */
+    public List<ValidationError> validateAll(Collection<DefDescriptor<?>> descriptors) {
+        return validateAll(descriptors, THREADS);
+    }
+
+    /**
+     * Validates descriptors on several threads.
+     * 
+     * Each thread runs in a context of its own with the mode, format and access of the calling context, and takes
+     * the next descriptor until none are left. Errors are returned in the order of the descriptors, as if they had
+     * been validated one after the other.
+     * 
+     * @param descriptors the descriptors to validate
+     * @param threads how many threads to use, 1 validates on the calling thread
+     */
+    public List<ValidationError> validateAll(Collection<DefDescriptor<?>> descriptors, int threads) {
+        final List<DefDescriptor<?>> todo = ImmutableList.copyOf(descriptors);
+        List<ValidationError> allErrors = Lists.newArrayList();
+        threads = Math.min(threads, todo.size());
+
+        if (threads <= 1) {
+            for (DefDescriptor<?> descriptor : todo) {
                 allErrors.addAll(validate(descriptor));
             }
+            return allErrors;
+        }
+
+        AuraContext context = Aura.getContextService().getCurrentContext();
+        final Mode mode = context.getMode();
+        final Format format = context.getFormat();
+        final Authentication access = context.getAccess();
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicReferenceArray<List<ValidationError>> results = new AtomicReferenceArray<>(todo.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger count = new AtomicInteger();
+
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "AuraValidation-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        try {
+            List<Future<?>> workers = Lists.newArrayListWithCapacity(threads);
+            for (int i = 0; i < threads; i++) {
+                workers.add(executor.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        ContextService contextService = Aura.getContextService();
+                        contextService.startContext(mode, format, access);
+                        try {
+                            int index;
+                            while ((index = next.getAndIncrement()) < todo.size()) {
+                                results.set(index, validate(todo.get(index)));
+                            }
+                        } finally {
+                            contextService.endContext();
+                        }
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new AuraRuntimeException(ie);
+        } catch (ExecutionException ee) {
+            throw new AuraRuntimeException(ee.getCause());
+        } finally {
+            executor.shutdownNow();
         }
 
+        for (int i = 0; i < todo.size(); i++) {
+            allErrors.addAll(results.get(i));
+        }
         return allErrors;
     }
 
@@ -114,19 +220,48 @@ public final class ValidationEngine {
         }
 
         // perform language specific checking
-        if (prefix.equals(DefDescriptor.JAVASCRIPT_PREFIX)) {
-            errors.addAll(validateJavascript(source, descriptor.getDefType()));
-        } else if (prefix.equals(DefDescriptor.CSS_PREFIX)) {
-            errors.addAll(validateCSS(source, descriptor.getDefType()));
+        if (prefix.equals(DefDescriptor.JAVASCRIPT_PREFIX) || prefix.equals(DefDescriptor.CSS_PREFIX)) {
+            errors.addAll(lint(source, prefix, descriptor.getDefType()));
         }
         // TODO: all other prefixes
 
         return ValidationUtil.patchErrors(errors);
     }
 
-    private List<ValidationError> validateJavascript(Source<?> source, DefType defType) throws IOException {
+    /**
+     * Runs the language specific checks, reusing the result for a source that has not changed. Results are kept in
+     * the lintResultCache by source url and content hash. Callers patch the errors they get, so they are copied on
+     * the way in and out.
+     */
+    private List<ValidationError> lint(Source<?> source, String prefix, DefType defType) throws IOException {
         String sourceUrl = source.getUrl().toString();
-        String sourceCode = source.getContents() + ';';
+        String sourceCode = source.getContents();
+        String key = prefix + ':' + sourceUrl + '@' + Hashing.sha1().hashString(sourceCode, Charsets.UTF_8);
+        Cache<String, List<ValidationError>> lintResults = Aura.getCachingService().getLintResultCache();
+
+        List<ValidationError> errors = lintResults.getIfPresent(key);
+        if (errors == null) {
+            if (prefix.equals(DefDescriptor.JAVASCRIPT_PREFIX)) {
+                errors = validateJavascript(sourceUrl, sourceCode, defType);
+            } else {
+                errors = validateCSS(sourceUrl, sourceCode, defType);
+            }
+            lintResults.put(key, copy(errors));
+        }
+        return copy(errors);
+    }
+
+    private static List<ValidationError> copy(List<ValidationError> errors) {
+        List<ValidationError> copies = Lists.newArrayListWithCapacity(errors.size());
+        for (ValidationError error : errors) {
+            copies.add(error.copy());
+        }
+        return copies;
+    }
+
+    private List<ValidationError> validateJavascript(String sourceUrl, String sourceCode, DefType defType)
+            throws IOException {
+        sourceCode = sourceCode + ';';
 
         // check if needs to add "var actions=" line before '{' to prevent jslint parser errors
         JsonStreamReader jreader = new JsonStreamReader(sourceCode);
@@ -153,8 +288,8 @@ public final class ValidationEngine {
                     null, Level.Error);
         }
 
-        // TODO: reuse validators for optimization?
         List<ValidationError> errors = Lists.newArrayList();
+        // validators share a pool of engines that already have jslint loaded, so they are cheap to create
         List<JavascriptProcessingError> jsErrors = new JavascriptValidator()
                 .validate(sourceUrl, sourceCode, false, false);
         errors.addAll(ValidationUtil.patchErrorLines(jsErrors, lineOffset));
@@ -163,10 +298,8 @@ public final class ValidationEngine {
         return errors;
     }
 
-    private List<ValidationError> validateCSS(Source<?> source, DefType defType) throws IOException {
-        String sourceUrl = source.getUrl().toString();
-        String sourceCode = source.getContents();
-
+    private List<ValidationError> validateCSS(String sourceUrl, String sourceCode, DefType defType)
+            throws IOException {
         return new CSSLintValidator().validate(sourceUrl, sourceCode, true);
     }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.auraframework.adapter.ConfigAdapter;
+import org.auraframework.util.test.util.UnitTestCase;
+
+public class ActionAdmissionTest extends UnitTestCase {
+
+    private static final String CONTROLLER = "java://org.auraframework.impl.java.controller.TestController";
+    private static final String ACTION = CONTROLLER + "/ACTION$getString";
+    private static final String OTHER_ACTION = CONTROLLER + "/ACTION$getInt";
+
+    public ActionAdmissionTest(String name) {
+        super(name);
+    }
+
+    private ConfigAdapter getConfig(long queueTimeout) {
+        ConfigAdapter config = mock(ConfigAdapter.class);
+        when(config.getActionQueueTimeout()).thenReturn(queueTimeout);
+        when(config.getMaxQueuedActions()).thenReturn(-1);
+        return config;
+    }
+
+    public void testUnlimitedByDefault() {
+        ActionAdmission admission = new ActionAdmission(getConfig(1000));
+        assertNull(admission.getGate(ACTION));
+    }
+
+    public void testActionLimitRejectsWhenFull() {
+        ConfigAdapter config = getConfig(0);
+        when(config.getActionLimit(ACTION)).thenReturn(1);
+        ActionAdmission admission = new ActionAdmission(config);
+
+        ActionAdmission.Gate gate = admission.getGate(ACTION);
+        assertNotNull(gate);
+        assertNull("other actions of the controller should not be limited", admission.getGate(OTHER_ACTION));
+
+        assertTrue(gate.enter());
+        assertFalse("a second action should be rejected while the first runs", gate.enter());
+        gate.exit();
+        assertTrue("the slot should be free again", gate.enter());
+        gate.exit();
+    }
+
+    public void testControllerLimitIsShared() {
+        ConfigAdapter config = getConfig(0);
+        when(config.getActionLimit(CONTROLLER)).thenReturn(1);
+        ActionAdmission admission = new ActionAdmission(config);
+
+        ActionAdmission.Gate gate = admission.getGate(ACTION);
+        assertSame(gate, admission.getGate(OTHER_ACTION));
+        assertTrue(gate.enter());
+        assertFalse(admission.getGate(OTHER_ACTION).enter());
+        gate.exit();
+    }
+
+    public void testQueuedActionRunsWhenSlotFrees() throws Exception {
+        ConfigAdapter config = getConfig(10000);
+        when(config.getDefaultActionLimit()).thenReturn(1);
+        ActionAdmission admission = new ActionAdmission(config);
+        final ActionAdmission.Gate gate = admission.getGate(ACTION);
+        assertNotSame("the default limit applies to each action on its own", gate, admission.getGate(OTHER_ACTION));
+
+        assertTrue(gate.enter());
+        final boolean[] admitted = new boolean[1];
+        Thread waiter = new Thread() {
+            @Override
+            public void run() {
+                admitted[0] = gate.enter();
+            }
+        };
+        waiter.start();
+        Thread.sleep(50);
+        gate.exit();
+        waiter.join();
+        assertTrue("a queued action should get the freed slot", admitted[0]);
+        gate.exit();
+    }
+}
@@ -20,6 +20,7 @@ import java.lang.ref.WeakReference;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
 
@@ -42,6 +43,8 @@ import org.auraframework.service.CachingService;
 import org.auraframework.system.DependencyEntry;
 import org.auraframework.system.SourceListener;
 import org.auraframework.system.SourceListener.SourceMonitorEvent;
+import org.auraframework.util.test.annotation.ThreadHostileTest;
+import org.auraframework.util.validation.ValidationError;
 import org.mockito.Mockito;
 
 import com.google.common.base.Function;
@@ -118,6 +121,31 @@ public class CachingServiceImplTest extends AuraImplTestCase {
 		}
 	}
 
+	@ThreadHostileTest("sets a cache size system property")
+	public void testDeprecatedCacheSizePropertyLogsWarning() {
+		Logger logger = Logger.getLogger(CachingServiceImpl.class);
+		List<LoggingEvent> events = Lists.newLinkedList();
+		Log4jCaptureAppender appender = new Log4jCaptureAppender(events);
+		logger.addAppender(appender);
+		System.setProperty("aura.cache.defsCacheSize", "1000");
+		try {
+			new CachingServiceImpl();
+		} finally {
+			System.clearProperty("aura.cache.defsCacheSize");
+			logger.removeAppender(appender);
+		}
+
+		for (LoggingEvent event : events) {
+			String message = String.valueOf(event.getMessage());
+			if (message.startsWith("aura.cache.defsCacheSize")) {
+				assertEquals(Level.WARN, event.getLevel());
+				assertTrue(message, message.contains("aura.cache.defsCacheBytes"));
+				return;
+			}
+		}
+		fail("No warning for aura.cache.defsCacheSize in " + events);
+	}
+
 	public void testNotifyDependentSourceChange_NotifiesListeners() {
 		DefDescriptor<?> source = DefDescriptorImpl.getInstance(
 				getAuraTestingUtil().getNonce("some:descriptor"),
@@ -362,4 +390,37 @@ public class CachingServiceImplTest extends AuraImplTestCase {
 					}
 				}, keys);
 	}
+
+	public void testGetCachesIncludesAllCaches() {
+		CachingServiceImpl service = new CachingServiceImpl();
+		Map<String, Cache<?, ?>> caches = service.getCaches();
+
+		assertSame(service.getDefsCache(), caches.get("defsCache"));
+		assertSame(service.getDepsCache(), caches.get("depsCache"));
+		assertSame(service.getClientLibraryOutputCache(), caches.get("clientLibraryOutputCache"));
+		assertSame(service.getClientLibraryKeyCache(), caches.get("clientLibraryKeyCache"));
+		assertSame(service.getPageShellCache(), caches.get("pageShellCache"));
+		assertSame(service.getLabelCache(), caches.get("labelCache"));
+		assertSame(service.getFrameworkResourceCache(), caches.get("frameworkResourceCache"));
+		assertSame(service.getLintResultCache(), caches.get("lintResultCache"));
+		assertSame(service.getIncludeCheckCache(), caches.get("includeCheckCache"));
+		for (Map.Entry<String, Cache<?, ?>> entry : caches.entrySet()) {
+			assertEquals(entry.getKey(), entry.getValue().getName());
+		}
+	}
+
+	public void testNotifyDependentSourceChange_InvalidatesAllLintResults() {
+		Set<String> keys = Sets.newHashSet(
+				getAuraTestingUtil().getNonce("js:some/source.js@"),
+				getAuraTestingUtil().getNonce("css:other/source.css@"));
+
+		CachingServiceImpl service = new CachingServiceImpl();
+		testNotifyDependentSourceChange_InvalidatesAllCachedValues(service,
+				service.getLintResultCache(), new Function<String, List<ValidationError>>() {
+					@Override
+					public List<ValidationError> apply(String key) {
+						return Collections.emptyList();
+					}
+				}, keys);
+	}
 }
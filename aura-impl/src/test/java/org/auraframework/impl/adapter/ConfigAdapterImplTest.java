@@ -24,12 +24,15 @@ import static org.mockito.Mockito.when;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.SimpleDateFormat;
+import java.util.EnumSet;
 import java.util.Properties;
 import java.util.TimeZone;
 
 import org.auraframework.impl.javascript.AuraJavascriptGroup;
 import org.auraframework.impl.source.AuraResourcesHashingGroup;
 import org.auraframework.impl.util.AuraImplFiles;
+import org.auraframework.system.AuraContext.Mode;
+import org.auraframework.system.Client;
 import org.auraframework.throwable.AuraRuntimeException;
 import org.auraframework.util.resource.FileGroup;
 import org.auraframework.util.test.util.UnitTestCase;
@@ -185,9 +188,12 @@ public class ConfigAdapterImplTest extends UnitTestCase {
         verify(spy, Mockito.never()).makeHash(anyString(), anyString());
         assertEquals("Framework uid is not correct", "9YifBh-oLwXkDGW3d3qyDQ", uid);
 
-        // change js hash, verify changes framework nonce
+        // change js hash, verify changes framework nonce once refreshed
         when(jsHash.toString()).thenReturn("MocKitYMuCK");
         reset(spy);
+        assertEquals("Framework uid should not change until refreshed", "9YifBh-oLwXkDGW3d3qyDQ",
+                spy.getAuraFrameworkNonce());
+        spy.refreshFrameworkUid();
         uid = spy.getAuraFrameworkNonce();
         verify(spy, Mockito.times(1)).makeHash(anyString(), anyString());
         assertEquals("Framework uid is not correct", "ltz-V8xGPGhXbOiTtfSApQ", uid);
@@ -195,11 +201,13 @@ public class ConfigAdapterImplTest extends UnitTestCase {
         // change resource hash, verify changes framework nonce
         when(resourcesHash.toString()).thenReturn("MuCkiTyMocK");
         reset(spy);
+        spy.refreshFrameworkUid();
         uid = spy.getAuraFrameworkNonce();
         verify(spy, Mockito.times(1)).makeHash(anyString(), anyString());
         assertEquals("Framework uid is not correct", uid, "BJTaoiCDxoAF4Wbh0iC9lA");
 
         reset(spy);
+        spy.refreshFrameworkUid();
         uid = spy.getAuraFrameworkNonce();
         // test that makeHash is not called because jsHash and resourcesHash has not changed
         verify(spy, Mockito.never()).makeHash(anyString(), anyString());
@@ -231,4 +239,50 @@ public class ConfigAdapterImplTest extends UnitTestCase {
         impl.addPrivilegedNamespace("");
         assertFalse(impl.isPrivilegedNamespace(""));
     }
+
+    /**
+     * Without aura.conf settings nothing is warmed up, and the modes and clients fall back to defaults.
+     */
+    public void testWarmupDefaults() {
+        ConfigAdapterImpl impl = new ConfigAdapterImpl();
+        assertTrue("No applications should be warmed up by default", impl.getWarmupApplications().isEmpty());
+        assertEquals(EnumSet.of(impl.getDefaultMode()), impl.getWarmupModes());
+        assertEquals(EnumSet.of(Client.Type.OTHER), impl.getWarmupClientTypes());
+    }
+
+    /**
+     * A typo in the warmup settings is skipped rather than stopping startup.
+     */
+    public void testWarmupConfigSkipsUnknownValues() {
+        Properties config = new Properties();
+        config.setProperty("aura.warmup.modes", "prod, PRDO, dev");
+        config.setProperty("aura.warmup.clientTypes", "webkit,firefxo");
+
+        assertEquals(EnumSet.of(Mode.PROD, Mode.DEV),
+                ConfigAdapterImpl.splitConfig(config, "aura.warmup.modes", Mode.class));
+        assertEquals(EnumSet.of(Client.Type.WEBKIT),
+                ConfigAdapterImpl.splitConfig(config, "aura.warmup.clientTypes", Client.Type.class));
+        assertTrue(ConfigAdapterImpl.splitConfig(config, "aura.warmup.missing", Mode.class).isEmpty());
+    }
+
+    /**
+     * Without aura.conf settings no action is limited.
+     */
+    public void testActionLimitDefaults() {
+        ConfigAdapterImpl impl = new ConfigAdapterImpl();
+        assertEquals(0, impl.getActionLimit("java://org.foo.MyController/ACTION$search"));
+        assertEquals(0, impl.getDefaultActionLimit());
+        assertEquals(1000, impl.getActionQueueTimeout());
+        assertEquals(-1, impl.getMaxQueuedActions());
+    }
+
+    public void testIntConfigIgnoresBadNumbers() {
+        Properties config = new Properties();
+        config.setProperty("aura.actions.limit", " 4 ");
+        config.setProperty("aura.actions.queueTimeout", "1s");
+
+        assertEquals(4, ConfigAdapterImpl.getIntConfig(config, "aura.actions.limit", 0));
+        assertEquals(1000, ConfigAdapterImpl.getIntConfig(config, "aura.actions.queueTimeout", 1000));
+        assertEquals(-1, ConfigAdapterImpl.getIntConfig(config, "aura.actions.maxQueued", -1));
+    }
 }
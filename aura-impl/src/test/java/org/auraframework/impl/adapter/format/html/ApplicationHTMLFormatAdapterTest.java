@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.adapter.format.html;
+
+import org.auraframework.Aura;
+import org.auraframework.adapter.FormatAdapter;
+import org.auraframework.def.ApplicationDef;
+import org.auraframework.def.ComponentDef;
+import org.auraframework.def.DefDescriptor;
+import org.auraframework.impl.AuraImpl;
+import org.auraframework.impl.AuraImplTestCase;
+import org.auraframework.instance.Application;
+import org.auraframework.system.AuraContext;
+import org.auraframework.system.AuraContext.Authentication;
+import org.auraframework.system.AuraContext.Format;
+import org.auraframework.system.AuraContext.Mode;
+import org.auraframework.system.Client;
+import org.auraframework.test.client.UserAgent;
+
+/**
+ * Tests for the page shells written by BaseComponentHTMLFormatAdapter.
+ */
+public class ApplicationHTMLFormatAdapterTest extends AuraImplTestCase {
+    public ApplicationHTMLFormatAdapterTest(String name) {
+        super(name);
+    }
+
+    /**
+     * A template using a global value is rendered for each request, not shared between requests that only differ in
+     * that value.
+     */
+    public void testShellNotSharedForGlobalValue() throws Exception {
+        DefDescriptor<ComponentDef> template = addSourceAutoCleanup(ComponentDef.class,
+                "<aura:component isTemplate='true' extends='aura:template'>"
+                        + "<aura:set attribute='extraMetaTags'>"
+                        + "<meta name='formFactor' content='{!$Browser.formFactor}'/>"
+                        + "</aura:set></aura:component>");
+        DefDescriptor<ApplicationDef> app = addSourceAutoCleanup(ApplicationDef.class,
+                "<aura:application render='client' template='" + template.getQualifiedName() + "'/>");
+
+        assertFalse(PageShell.isShareable(Aura.getContextService().getCurrentContext(), template.getDef()));
+        String desktop = doWrite(app, UserAgent.SAFARI6);
+        String tablet = doWrite(app, UserAgent.IPAD);
+        assertTrue("Expected the desktop form factor:\n" + desktop, desktop.contains("content=\"DESKTOP\""));
+        assertTrue("Expected the tablet form factor:\n" + tablet, tablet.contains("content=\"TABLET\""));
+    }
+
+    /**
+     * A template with a model is rendered for each request.
+     */
+    public void testShellNotSharedForModel() throws Exception {
+        DefDescriptor<ComponentDef> template = addSourceAutoCleanup(ComponentDef.class,
+                "<aura:component isTemplate='true' extends='aura:template'"
+                        + " model='java://org.auraframework.components.test.java.model.TestJavaModel'/>");
+        assertFalse(PageShell.isShareable(Aura.getContextService().getCurrentContext(), template.getDef()));
+    }
+
+    /**
+     * A template built only from attributes and framework components is shared.
+     */
+    public void testShellSharedForStaticTemplate() throws Exception {
+        DefDescriptor<ComponentDef> template = addSourceAutoCleanup(ComponentDef.class,
+                "<aura:component isTemplate='true' extends='aura:template'>"
+                        + "<aura:set attribute='extraMetaTags'><meta name='static' content='yes'/></aura:set>"
+                        + "</aura:component>");
+        DefDescriptor<ApplicationDef> app = addSourceAutoCleanup(ApplicationDef.class,
+                "<aura:application render='client' template='" + template.getQualifiedName() + "'/>");
+
+        assertTrue(PageShell.isShareable(Aura.getContextService().getCurrentContext(), template.getDef()));
+        assertEquals(doWrite(app, UserAgent.SAFARI6), doWrite(app, UserAgent.SAFARI6));
+    }
+
+    /**
+     * Write the application in a new request from the given browser.
+     */
+    private String doWrite(DefDescriptor<ApplicationDef> app, UserAgent userAgent) throws Exception {
+        if (Aura.getContextService().isEstablished()) {
+            Aura.getContextService().endContext();
+        }
+        AuraContext context = Aura.getContextService().startContext(Mode.UTEST, Format.HTML,
+                Authentication.AUTHENTICATED, app);
+        context.setClient(new Client(userAgent.getUserAgentString()));
+        context.addLoaded(app, context.getDefRegistry().getUid(null, app));
+
+        Application instance = Aura.getInstanceService().getInstance(app, null);
+        FormatAdapter<Application> adapter = AuraImpl.getFormatAdapter(Format.HTML.name(), Application.class);
+        StringBuilder out = new StringBuilder();
+        adapter.write(instance, null, out);
+        return out.toString();
+    }
+}
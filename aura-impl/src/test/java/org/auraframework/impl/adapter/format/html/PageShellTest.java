@@ -0,0 +1,50 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.adapter.format.html;
+
+import java.util.List;
+
+import org.auraframework.util.test.util.UnitTestCase;
+
+import com.google.common.collect.ImmutableList;
+
+public class PageShellTest extends UnitTestCase {
+    public PageShellTest(String name) {
+        super(name);
+    }
+
+    public void testSplitAroundSlot() {
+        List<String> parts = PageShell.split("<script>$A.initConfig(" + PageShell.SLOT + ");</script>");
+        assertEquals(ImmutableList.of("<script>$A.initConfig(", ");</script>"), parts);
+    }
+
+    public void testSplitWithoutSlot() {
+        assertEquals(ImmutableList.of("<html/>"), PageShell.split("<html/>"));
+    }
+
+    public void testWriteFillsEverySlot() throws Exception {
+        List<String> parts = PageShell.split(PageShell.SLOT + "a" + PageShell.SLOT + "b");
+        StringBuilder out = new StringBuilder();
+        PageShell.write(parts, "{}", out);
+        assertEquals("{}a{}b", out.toString());
+    }
+
+    public void testWriteWithoutSlot() throws Exception {
+        StringBuilder out = new StringBuilder();
+        PageShell.write(PageShell.split("<html/>"), "{}", out);
+        assertEquals("<html/>", out.toString());
+    }
+}
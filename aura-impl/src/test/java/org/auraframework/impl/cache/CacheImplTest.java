@@ -17,6 +17,7 @@ package org.auraframework.impl.cache;
 
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 import org.auraframework.cache.Cache;
@@ -169,4 +170,109 @@ public class CacheImplTest extends UnitTestCase {
 		Mockito.verify(backingCache, Mockito.never()).invalidate(
 				Mockito.anyCollection());
 	}
+
+	public void testSetMaximumSizeKeepsEntriesAndStats() {
+		Cache<String, String> cache = new CacheImpl.Builder<String, String>()
+				.setMaximumSize(10).setRecordStats(true).setName("resize").build();
+		cache.put("a", "1");
+		cache.put("b", "2");
+		cache.getIfPresent("a");
+		cache.getIfPresent("missing");
+
+		cache.setMaximumSize(100);
+
+		assertEquals(100, cache.getMaximumSize());
+		assertEquals("1", cache.getIfPresent("a"));
+		assertEquals("2", cache.getIfPresent("b"));
+		assertEquals(3, cache.getStats().hitCount());
+		assertEquals(1, cache.getStats().missCount());
+	}
+
+	public void testSetMaximumSizeShrinks() {
+		Cache<String, String> cache = new CacheImpl.Builder<String, String>()
+				.setMaximumSize(10).build();
+		for (int i = 0; i < 10; i++) {
+			cache.put("key" + i, "value");
+		}
+
+		cache.setMaximumSize(2);
+
+		assertTrue("Cache not shrunk: " + cache.getSize(), cache.getSize() <= 2);
+	}
+
+	public void testSetMaximumSizeUnsupportedOnWrappedCache() {
+		Cache<Object, Object> cache = new CacheImpl<>(getMockCache());
+		try {
+			cache.setMaximumSize(10);
+			fail("Expected UnsupportedOperationException");
+		} catch (UnsupportedOperationException expected) {
+		}
+	}
+
+	public void testTopKeys() {
+		Cache<String, String> cache = new CacheImpl.Builder<String, String>()
+				.setRecordStats(true).build();
+		cache.put("hot", "value");
+		cache.put("cold", "value");
+		for (int i = 0; i < 2000; i++) {
+			cache.getIfPresent("hot");
+		}
+		cache.getIfPresent("cold");
+
+		List<String> top = cache.getTopKeys(1);
+		assertEquals(1, top.size());
+		assertEquals("hot", top.get(0));
+
+		cache.invalidate("hot");
+		assertFalse(cache.getTopKeys(10).contains("hot"));
+	}
+
+	public void testTopKeysNotTrackedWithoutStats() {
+		Cache<String, String> cache = new CacheImpl.Builder<String, String>().build();
+		cache.put("key", "value");
+		cache.getIfPresent("key");
+		assertTrue(cache.getTopKeys(10).isEmpty());
+	}
+
+	public void testWeightedCacheEvictsByWeight() {
+		Cache<String, String> cache = new CacheImpl.Builder<String, String>()
+				.setWeigher(new StringWeigher()).setMaximumWeight(4096)
+				.setConcurrencyLevel(1).build();
+		char[] big = new char[900];
+		Arrays.fill(big, 'x');
+		cache.put("big1", new String(big));
+		cache.put("big2", new String(big));
+		assertTrue(cache.isWeighted());
+		assertEquals(2, cache.getSize());
+
+		cache.put("big3", new String(big));
+		assertTrue("Expected eviction by weight, size is " + cache.getSize(),
+				cache.getSize() < 3);
+		assertTrue(cache.getWeightedSize() <= 4096);
+	}
+
+	public void testWeightedCacheRequiresMaximumWeight() {
+		try {
+			new CacheImpl.Builder<String, String>().setWeigher(
+					new StringWeigher()).build();
+			fail("Expected IllegalStateException");
+		} catch (IllegalStateException expected) {
+		}
+	}
+
+	public void testUnweightedSizeIsEntryCount() {
+		Cache<String, String> cache = new CacheImpl.Builder<String, String>()
+				.build();
+		cache.put("a", "a long value that does not count");
+		assertFalse(cache.isWeighted());
+		assertEquals(1, cache.getWeightedSize());
+	}
+
+	public void testStringWeigher() {
+		StringWeigher weigher = new StringWeigher();
+		assertEquals(StringWeigher.ENTRY_OVERHEAD + 2 * 3 + 2 * 5,
+				weigher.weigh("key", "value"));
+		assertEquals(StringWeigher.ENTRY_OVERHEAD + 2 * 5,
+				weigher.weigh(new Object(), "value"));
+	}
 }
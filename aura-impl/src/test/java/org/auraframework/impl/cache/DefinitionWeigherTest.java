@@ -0,0 +1,63 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.cache;
+
+import org.auraframework.def.ComponentDef;
+import org.auraframework.def.DefDescriptor;
+import org.auraframework.def.Definition;
+import org.auraframework.impl.AuraImplTestCase;
+
+import com.google.common.base.Optional;
+
+public class DefinitionWeigherTest extends AuraImplTestCase {
+
+    public DefinitionWeigherTest(String name) {
+        super(name);
+    }
+
+    private int weigh(String body) throws Exception {
+        DefDescriptor<ComponentDef> desc = addSourceAutoCleanup(ComponentDef.class,
+                String.format(baseComponentTag, "", body));
+        ComponentDef def = desc.getDef();
+        return new DefinitionWeigher().weigh(desc, Optional.of(def));
+    }
+
+    public void testWeightGrowsWithSource() throws Exception {
+        int small = weigh("");
+        StringBuilder body = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            body.append("<aura:attribute name='attr").append(i)
+                    .append("' type='String' default='a default value for attribute ").append(i).append("'/>");
+        }
+        int large = weigh(body.toString());
+
+        assertTrue("A component with more source should weigh more, was " + large + " against " + small,
+                large > small + body.length());
+    }
+
+    public void testWeightGrowsWithMarkup() throws Exception {
+        int small = weigh("");
+        int large = weigh("<div>one</div><div>two</div><aura:text value='three'/>");
+
+        assertTrue("A component with more markup should weigh more, was " + large + " against " + small,
+                large > small);
+    }
+
+    public void testAbsentWeight() {
+        assertEquals(DefinitionWeigher.ABSENT_WEIGHT,
+                new DefinitionWeigher().weigh("key", Optional.<Definition> absent()));
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.cache;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import org.auraframework.def.ClientLibraryDef;
+import org.auraframework.def.ComponentDef;
+import org.auraframework.def.DefDescriptor;
+import org.auraframework.def.Definition;
+import org.auraframework.impl.system.DefDescriptorImpl;
+import org.auraframework.system.DependencyEntry;
+import org.auraframework.system.MasterDefRegistry;
+import org.auraframework.system.Source;
+import org.auraframework.util.IOUtil;
+import org.auraframework.util.test.util.UnitTestCase;
+import org.mockito.Mockito;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+
+public class PersistentCacheStoreTest extends UnitTestCase {
+    private File dir;
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        dir = Files.createTempDirectory("persistentCacheStore").toFile();
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        IOUtil.delete(dir);
+        super.tearDown();
+    }
+
+    public void testDisabledWithoutDirectory() throws Exception {
+        PersistentCacheStore store = new PersistentCacheStore(null);
+        assertFalse(store.isEnabled());
+        store.putString("key", "value");
+        assertNull(store.getString("key"));
+    }
+
+    public void testStringRoundTrip() throws Exception {
+        PersistentCacheStore store = new PersistentCacheStore(dir.getPath());
+        assertNull(store.getString("uid@markup://test:app@JS:MIN:uid"));
+        store.putString("uid@markup://test:app@JS:MIN:uid", "var x = 1;");
+        store.awaitWrites();
+
+        // a second store over the same directory stands in for a restart
+        PersistentCacheStore restarted = new PersistentCacheStore(dir.getPath());
+        assertEquals("var x = 1;", restarted.getString("uid@markup://test:app@JS:MIN:uid"));
+        assertNull(restarted.getString("uid@markup://test:app@JS:DEV:uid"));
+    }
+
+    public void testDependenciesValidatedAgainstSources() throws Exception {
+        DefDescriptor<ComponentDef> app = DefDescriptorImpl.getInstance("test:app", ComponentDef.class);
+        DefDescriptor<ComponentDef> dep = DefDescriptorImpl.getInstance("test:dep", ComponentDef.class);
+        Set<DefDescriptor<? extends Definition>> deps = ImmutableSet.<DefDescriptor<? extends Definition>>of(dep,
+                app);
+        DependencyEntry de = new DependencyEntry("theUid", deps, Collections.<ClientLibraryDef>emptyList());
+        MasterDefRegistry registry = Mockito.mock(MasterDefRegistry.class);
+
+        PersistentCacheStore store = new PersistentCacheStore(dir.getPath());
+        List<String> hashes = Lists.newArrayList((String) null, null);
+        store.putDependencies(registry, app, de, hashes);
+        store.awaitWrites();
+
+        // neither dependency has a source, so the entry is still valid
+        DependencyEntry loaded = store.getDependencies(registry, null, app);
+        assertNotNull(loaded);
+        assertEquals("theUid", loaded.uid);
+        assertEquals(Lists.newArrayList(deps), Lists.newArrayList(loaded.dependencies));
+        assertNotNull(store.getDependencies(registry, "theUid", app));
+        assertNull("A different uid was asked for", store.getDependencies(registry, "otherUid", app));
+        assertNull("Nothing was stored for the dependency", store.getDependencies(registry, null, dep));
+
+        // a dependency that had a source must still hash the same
+        store.putDependencies(registry, app, de, Lists.newArrayList("someHash", null));
+        store.awaitWrites();
+        assertNull(store.getDependencies(registry, null, app));
+
+        store.putDependencies(registry, app, de, hashes);
+        store.invalidateDependencies();
+        store.awaitWrites();
+        assertNull(store.getDependencies(registry, null, app));
+    }
+
+    public void testNewFileInBundleInvalidatesDependencies() throws Exception {
+        DefDescriptor<ComponentDef> app = DefDescriptorImpl.getInstance("test:app", ComponentDef.class);
+        Set<DefDescriptor<? extends Definition>> deps = ImmutableSet.<DefDescriptor<? extends Definition>>of(app);
+        DependencyEntry de = new DependencyEntry("theUid", deps, Collections.<ClientLibraryDef>emptyList());
+        File bundle = new File(dir, "sources/test/app");
+        IOUtil.mkdirs(bundle);
+        File cmp = new File(bundle, "app.cmp");
+        assertTrue(cmp.createNewFile());
+        @SuppressWarnings("unchecked")
+        Source<ComponentDef> source = Mockito.mock(Source.class);
+        Mockito.when(source.getUrl()).thenReturn("file://" + cmp.getAbsolutePath());
+        MasterDefRegistry registry = Mockito.mock(MasterDefRegistry.class);
+        Mockito.when(registry.getSource(app)).thenReturn(source);
+
+        PersistentCacheStore store = new PersistentCacheStore(new File(dir, "store").getPath());
+        // the mocked source does not exist, which hashes as empty
+        store.putDependencies(registry, app, de, Lists.newArrayList(""));
+        store.awaitWrites();
+        assertNotNull(store.getDependencies(registry, null, app));
+
+        assertTrue(new File(bundle, "appHelper.js").createNewFile());
+        assertNull("A file added to the bundle was not noticed", store.getDependencies(registry, null, app));
+    }
+
+    public void testCleanupRemovesOtherBuildsAndUnusedFiles() throws Exception {
+        File otherBuild = new File(dir, "otherBuild");
+        IOUtil.mkdirs(otherBuild);
+        assertTrue(new File(otherBuild, "stale").createNewFile());
+
+        PersistentCacheStore store = new PersistentCacheStore(dir.getPath(), TimeUnit.DAYS.toMillis(1));
+        store.putString("unused", "var x = 1;");
+        store.awaitWrites();
+        setLastModified(dir, System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2));
+        store.putString("used", "var y = 2;");
+        store.awaitWrites();
+
+        store.cleanup();
+
+        assertFalse("Other builds should be removed", otherBuild.exists());
+        assertNull("Files unused for longer than the maximum age should be removed", store.getString("unused"));
+        assertEquals("var y = 2;", store.getString("used"));
+    }
+
+    private static void setLastModified(File file, long time) {
+        File[] files = file.listFiles();
+        if (files != null) {
+            for (File child : files) {
+                setLastModified(child, time);
+            }
+        }
+        assertTrue(file.setLastModified(time));
+    }
+}
@@ -16,12 +16,14 @@
 package org.auraframework.impl.context;
 
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.auraframework.Aura;
 import org.auraframework.adapter.ContextAdapter;
 import org.auraframework.impl.AuraImpl;
 import org.auraframework.impl.AuraImplTestCase;
 import org.auraframework.service.ContextService;
+import org.auraframework.system.AuraContext;
 import org.auraframework.system.AuraContext.Authentication;
 import org.auraframework.system.AuraContext.Format;
 import org.auraframework.system.AuraContext.GlobalValue;
@@ -53,6 +55,30 @@ public class AuraContextServiceImplTest extends AuraImplTestCase {
         assertFalse(p.isEstablished());
     }
 
+    public void testPropagateContext() throws Exception {
+        final ContextService contextService = Aura.getContextService();
+        AuraContext context = contextService.startContext(Mode.DEV, Format.JSON, Authentication.AUTHENTICATED);
+        final AtomicReference<AuraContext> seen = new AtomicReference<>();
+        Runnable task = contextService.propagateContext(new Runnable() {
+            @Override
+            public void run() {
+                seen.set(contextService.getCurrentContext());
+            }
+        });
+        contextService.detachContext();
+        assertFalse(contextService.isEstablished());
+
+        Thread thread = new Thread(task);
+        thread.start();
+        thread.join();
+        assertSame(context, seen.get());
+
+        // the context is lent to the task, not ended by it
+        task.run();
+        assertFalse("task should detach the context when done", contextService.isEstablished());
+        assertSame(context, seen.get());
+    }
+
     private void unregisterGlobal(String name) {
         try {
             Map<String, GlobalValue> values = AuraPrivateAccessor.get(AuraContextImpl.class, "allowedGlobalValues");
@@ -67,6 +67,11 @@ public class TestLoggingAdapterImpl extends LoggingAdapterImpl implements TestLo
         return currentContext.get();
     }
 
+    @Override
+    public void attach(LoggingContext context) {
+        currentContext.set(context);
+    }
+
     @Override
     public void beginCapture() {
         isCapturing = true;
@@ -15,6 +15,7 @@
  */
 package org.auraframework.impl.javascript.parser.handler;
 
+import org.auraframework.Aura;
 import org.auraframework.def.DefDescriptor;
 import org.auraframework.def.IncludeDef;
 import org.auraframework.impl.def.DefinitionTest;
@@ -22,6 +23,9 @@ import org.auraframework.test.source.StringSource;
 import org.auraframework.throwable.quickfix.InvalidDefinitionException;
 import org.mockito.Mock;
 
+import com.google.common.base.Charsets;
+import com.google.common.hash.Hashing;
+
 public class JavascriptIncludeDefHandlerTest extends DefinitionTest<IncludeDef> {
 
     public JavascriptIncludeDefHandlerTest(String name) {
@@ -108,6 +112,29 @@ public class JavascriptIncludeDefHandlerTest extends DefinitionTest<IncludeDef>
         }
     }
 
+    public void testRememberedErrorsNameEachFile() throws Exception {
+        String code = "var b=1;\n}";
+        for (String name : new String[] { "firstPath", "secondPath", "firstPath" }) {
+            StringSource<IncludeDef> source = new StringSource<>(descriptor, code, name, null);
+            IncludeDef def = new JavascriptIncludeDefHandler(descriptor, source).getDefinition();
+            try {
+                def.validateDefinition();
+                fail("Invalid JS wasn't validated for " + name);
+            } catch (Throwable t) {
+                assertExceptionMessageEndsWith(t, InvalidDefinitionException.class,
+                        String.format("JS Processing Error: %s (line 2, char 0) : Parse error. syntax error\n", name));
+            }
+        }
+    }
+
+    public void testCheckKeptInCachingService() throws Exception {
+        String code = "var kept = '" + getName() + System.nanoTime() + "'";
+        String key = "jsInclude:" + Hashing.sha1().hashString(code, Charsets.UTF_8).toString();
+        StringSource<IncludeDef> source = new StringSource<>(descriptor, code, filename, null);
+        new JavascriptIncludeDefHandler(descriptor, source).getDefinition().validateDefinition();
+        assertEquals("", Aura.getCachingService().getIncludeCheckCache().getIfPresent(key));
+    }
+
     public void testWarningIgnoredForNonStandardJsDoc() throws Exception {
         String code = "function(){return 'x'}\n/*!\n * @version 1\n */";
         StringSource<IncludeDef> source = new StringSource<>(descriptor, code, filename, null);
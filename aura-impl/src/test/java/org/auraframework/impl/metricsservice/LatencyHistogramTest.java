@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.metricsservice;
+
+import org.auraframework.util.test.util.UnitTestCase;
+
+public class LatencyHistogramTest extends UnitTestCase {
+
+    public LatencyHistogramTest(String name) {
+        super(name);
+    }
+
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMean());
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getMax());
+    }
+
+    public void testBucketBoundsContainValue() {
+        long[] values = { 0, 1, 7, 8, 9, 15, 16, 17, 100, 1000, 123456, 1L << 30, (1L << 40) - 1 };
+        for (long value : values) {
+            int bucket = LatencyHistogram.getBucket(value);
+            long upper = LatencyHistogram.getUpperBound(bucket);
+            assertTrue("Upper bound " + upper + " below " + value, upper >= value);
+            assertTrue("Upper bound " + upper + " too far above " + value, upper <= value + value / 8);
+            if (bucket > 0) {
+                assertTrue("Previous bucket should end below " + value,
+                        LatencyHistogram.getUpperBound(bucket - 1) < value);
+            }
+        }
+    }
+
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(1000, histogram.getCount());
+        assertEquals(500, histogram.getMean());
+        assertEquals(1000, histogram.getMax());
+        long p50 = histogram.getPercentile(50);
+        assertTrue("p50 was " + p50, p50 >= 500 && p50 <= 500 + 500 / 8);
+        long p99 = histogram.getPercentile(99);
+        assertTrue("p99 was " + p99, p99 >= 990 && p99 <= 1000);
+        assertEquals(1000, histogram.getPercentile(100));
+    }
+
+    public void testNegativeIgnored() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-1);
+        assertEquals(0, histogram.getCount());
+    }
+
+    public void testReset() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(42);
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+
+    public void testRegistryAggregates() {
+        PerformanceMetrics metrics = new PerformanceMetrics();
+        metrics.recordAction("java://foo/ACTION$bar", 2000000L);
+        metrics.recordAction("java://foo/ACTION$bar", 4000000L);
+        metrics.recordTimer("serialization", 1000L);
+        metrics.recordRequest();
+
+        assertEquals(1, metrics.getRequestCount());
+        assertEquals(2, metrics.getAction("java://foo/ACTION$bar").getCount());
+        assertEquals(3000, metrics.getAction("java://foo/ACTION$bar").getMean());
+        assertEquals(1, metrics.getTimer("serialization").getCount());
+        assertEquals(-1, metrics.getTimerPercentile("missing", 50));
+
+        metrics.reset();
+        assertEquals(0, metrics.getActionNames().length);
+        assertEquals(0, metrics.getRequestCount());
+    }
+}
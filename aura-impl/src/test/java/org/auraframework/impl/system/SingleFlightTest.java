@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.impl.system;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.auraframework.util.test.util.UnitTestCase;
+
+import com.google.common.collect.Lists;
+
+public class SingleFlightTest extends UnitTestCase {
+
+    public SingleFlightTest(String name) {
+        super(name);
+    }
+
+    public void testFirstCallerLeads() {
+        SingleFlight flight = new SingleFlight(1, TimeUnit.SECONDS);
+        assertTrue(flight.lead("key"));
+        assertEquals(1, flight.size());
+        flight.done("key");
+        assertEquals(0, flight.size());
+        assertTrue("Key should be free again once done", flight.lead("key"));
+        flight.done("key");
+    }
+
+    public void testLeaderDoesNotWaitOnItself() {
+        SingleFlight flight = new SingleFlight(10, TimeUnit.SECONDS);
+        assertTrue(flight.lead("key"));
+        long start = System.nanoTime();
+        assertFalse(flight.lead("key"));
+        assertTrue("Leader waited on itself", System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        flight.done("key");
+    }
+
+    public void testConcurrentCallersShareOneLeader() throws Exception {
+        final SingleFlight flight = new SingleFlight(10, TimeUnit.SECONDS);
+        final AtomicInteger work = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        int threads = 8;
+        final CountDownLatch arriving = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Boolean>> results = Lists.newArrayList();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        arriving.countDown();
+                        if (flight.lead("key")) {
+                            try {
+                                started.countDown();
+                                release.await();
+                                work.incrementAndGet();
+                            } finally {
+                                flight.done("key");
+                            }
+                            return true;
+                        }
+                        return false;
+                    }
+                }));
+                if (i == 0) {
+                    assertTrue(started.await(5, TimeUnit.SECONDS));
+                }
+            }
+            assertTrue(arriving.await(5, TimeUnit.SECONDS));
+            // give the followers time to start waiting
+            Thread.sleep(200);
+            release.countDown();
+            int leaders = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(10, TimeUnit.SECONDS)) {
+                    leaders++;
+                }
+            }
+            assertEquals(1, leaders);
+            assertEquals(1, work.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    public void testWaitIsBounded() throws Exception {
+        final SingleFlight flight = new SingleFlight(50, TimeUnit.MILLISECONDS);
+        assertTrue(flight.lead("key"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> waiter = executor.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    return flight.lead("key");
+                }
+            });
+            assertFalse(waiter.get(5, TimeUnit.SECONDS));
+        } finally {
+            flight.done("key");
+            executor.shutdownNow();
+        }
+    }
+
+    public void testWaiterReleasesHeldLock() throws Exception {
+        final SingleFlight flight = new SingleFlight(10, TimeUnit.SECONDS);
+        final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        assertTrue(flight.lead("key"));
+        final CountDownLatch waiting = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Boolean> waiter = executor.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() {
+                    lock.readLock().lock();
+                    try {
+                        waiting.countDown();
+                        boolean led = flight.lead("key", lock.readLock());
+                        assertEquals("Read lock should be held again after waiting", 1, lock.getReadHoldCount());
+                        return led;
+                    } finally {
+                        lock.readLock().unlock();
+                    }
+                }
+            });
+            assertTrue(waiting.await(5, TimeUnit.SECONDS));
+            assertTrue("Waiter should not hold the read lock while waiting",
+                    lock.writeLock().tryLock(5, TimeUnit.SECONDS));
+            lock.writeLock().unlock();
+            flight.done("key");
+            assertFalse(waiter.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.Set;
 
 import org.auraframework.impl.AuraImplTestCase;
+import org.auraframework.system.Location;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
@@ -67,4 +68,23 @@ public class AuraUtilTest extends AuraImplTestCase {
         assertNotNull(AuraUtil.immutableList(null));
     }
 
+    public void testCompactList() {
+        assertNull(AuraUtil.compactList(null));
+        assertSame(ImmutableList.of(), AuraUtil.compactList(new ArrayList<String>()));
+
+        List<String> withNull = new ArrayList<>();
+        withNull.add(null);
+        assertSame(withNull, AuraUtil.compactList(withNull));
+    }
+
+    public void testInternLocation() {
+        Location first = AuraUtil.intern(new Location(new String("file"), 1, 2, 3));
+        Location second = AuraUtil.intern(new Location(new String("file"), 1, 2, 3));
+        assertSame(first, second);
+        assertSame(first.getFileName(), new Location(new String("file"), 3).getFileName());
+
+        Location cached = new Location("file", 1, 2, 3, "cacheFile");
+        assertSame(cached, AuraUtil.intern(cached));
+    }
+
 }
@@ -24,13 +24,18 @@ import org.auraframework.def.AttributeDefRef;
 import org.auraframework.def.BaseComponentDef.WhitespaceBehavior;
 import org.auraframework.def.ComponentDefRef;
 import org.auraframework.def.DefDescriptor;
+import org.auraframework.expression.PropertyReference;
 import org.auraframework.impl.AuraImplTestCase;
 import org.auraframework.impl.expression.PropertyReferenceImpl;
 import org.auraframework.impl.root.parser.handler.ComponentDefHandler;
+import org.auraframework.impl.root.parser.handler.ExpressionContainerHandler;
 import org.auraframework.impl.util.TextTokenizer.Token;
 import org.auraframework.throwable.quickfix.AuraValidationException;
 import org.auraframework.throwable.quickfix.InvalidExpressionException;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+
 public class TextTokenizerTest extends AuraImplTestCase {
     private static final String[] testText = new String[] { "this is text", "{!this.is.an.expression}",
             "\n\nOther text\n\n" };
@@ -48,6 +53,32 @@ public class TextTokenizerTest extends AuraImplTestCase {
         assertEquals("ab.cab", TextTokenizer.unwrap("ab.cab"));
         assertEquals("{!ab.cab", TextTokenizer.unwrap("{!ab.cab"));
         assertEquals("{ab.cab}", TextTokenizer.unwrap("{ab.cab}"));
+        assertEquals("a} {!b", TextTokenizer.unwrap("x{!a} {!b}"));
+        assertEquals("", TextTokenizer.unwrap("{#}"));
+    }
+
+    public void testEmptyAndNestedBraces() throws AuraValidationException {
+        TextTokenizer tokenizer = TextTokenizer.tokenize("{!} {{!v.a}}", null);
+        assertEquals("Wrong number of TextTokenizer tokens returned", 3, tokenizer.size());
+        List<Token> tokens = Lists.newArrayList(tokenizer);
+        assertEquals("{!} {", tokens.get(0).getRawValue());
+        assertEquals(TextTokenizer.TokenType.EXPRESSION, tokens.get(1).getType());
+        assertEquals("{!v.a}", tokens.get(1).getRawValue());
+        assertEquals("}", tokens.get(2).getRawValue());
+    }
+
+    public void testNakedLabelReferences() throws Exception {
+        final Set<PropertyReference> refs = Sets.newHashSet();
+        TextTokenizer tokenizer = TextTokenizer.tokenize("see $Label.Section1.name and $label.s.n.x or $Label.bad", null);
+        tokenizer.addExpressionRefs(new ExpressionContainerHandler() {
+            @Override
+            public void addExpressionReferences(Set<PropertyReference> propRefs) {
+                refs.addAll(propRefs);
+            }
+        });
+        assertEquals(2, refs.size());
+        assertTrue(refs.contains(new PropertyReferenceImpl("$Label.Section1.name", null)));
+        assertTrue(refs.contains(new PropertyReferenceImpl("$label.s.n", null)));
     }
 
     /**
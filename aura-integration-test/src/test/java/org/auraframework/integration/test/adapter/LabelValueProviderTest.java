@@ -0,0 +1,59 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.integration.test.adapter;
+
+import java.util.Map;
+
+import org.auraframework.Aura;
+import org.auraframework.expression.PropertyReference;
+import org.auraframework.impl.AuraImplTestCase;
+import org.auraframework.impl.adapter.LabelValueProvider;
+import org.auraframework.impl.expression.PropertyReferenceImpl;
+
+import com.google.common.collect.ImmutableList;
+
+public class LabelValueProviderTest extends AuraImplTestCase {
+
+    public LabelValueProviderTest(String name) {
+        super(name);
+    }
+
+    public void testLoadLabelsResolvesAllReferences() throws Exception {
+        LabelValueProvider lvp = new LabelValueProvider();
+        lvp.loadLabels(ImmutableList.<PropertyReference> of(
+                new PropertyReferenceImpl("Section1.controller", null),
+                new PropertyReferenceImpl("Section1.helper", null),
+                new PropertyReferenceImpl("Section2.renderer", null)));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, String>> data = (Map<String, Map<String, String>>) lvp.getData();
+        assertEquals("Controller", data.get("Section1").get("controller"));
+        assertEquals("Helper", data.get("Section1").get("helper"));
+        assertEquals("Renderer", data.get("Section2").get("renderer"));
+    }
+
+    public void testLabelsAreSharedAcrossProviders() throws Exception {
+        PropertyReference ref = new PropertyReferenceImpl("Section3.provider", null);
+        new LabelValueProvider().getValue(ref);
+
+        String locale = String.valueOf(Aura.getLocalizationAdapter().getAuraLocale().getLanguageLocale());
+        assertEquals("Provider", Aura.getCachingService().getLabelCache().getIfPresent(locale + "|Section3|provider"));
+
+        LabelValueProvider other = new LabelValueProvider();
+        other.loadLabels(ImmutableList.of(ref));
+        assertEquals("Provider", other.getValue(ref));
+    }
+}
@@ -156,6 +156,46 @@ public class ClientLibraryServiceImplTest extends AuraImplTestCase {
 
     }
 
+    public void testResourcesUrlNamesCachedCombination() throws Exception {
+        AuraContext context = Aura.getContextService().getCurrentContext();
+        DefDescriptor<ApplicationDef> appDesc = Aura.getDefinitionService()
+                .getDefDescriptor("clientLibraryTest:clientLibraryTest", ApplicationDef.class);
+        context.setApplicationDescriptor(appDesc);
+        Aura.getDefinitionService().updateLoaded(appDesc);
+
+        String hash = null;
+        for (String url : clientLibraryService.getUrls(context, Type.JS)) {
+            int index = url.indexOf("/resources.js?h=");
+            if (index > -1) {
+                hash = url.substring(index + "/resources.js?h=".length());
+            }
+        }
+        assertNotNull("resources.js url should carry the combination hash", hash);
+
+        StringBuilder sb = new StringBuilder();
+        clientLibraryService.writeJs(context, sb);
+        assertEquals(sb.toString(), Aura.getCachingService().getClientLibraryOutputCache().getIfPresent(hash));
+    }
+
+    /**
+     * The combination key is kept per application uid, mode and type, so later requests don't look up and hash the
+     * client libraries again.
+     */
+    public void testCombinationKeyKeptPerApplication() throws Exception {
+        AuraContext context = Aura.getContextService().getCurrentContext();
+        DefDescriptor<ApplicationDef> appDesc = Aura.getDefinitionService()
+                .getDefDescriptor("clientLibraryTest:clientLibraryTest", ApplicationDef.class);
+        context.setApplicationDescriptor(appDesc);
+        Aura.getDefinitionService().updateLoaded(appDesc);
+
+        StringBuilder sb = new StringBuilder();
+        clientLibraryService.writeJs(context, sb);
+        String appKey = context.getUid(appDesc) + ":" + Type.JS + ":" + context.getMode();
+        String key = Aura.getCachingService().getClientLibraryKeyCache().getIfPresent(appKey);
+        assertNotNull("combination key should be kept for the application", key);
+        assertEquals(sb.toString(), Aura.getCachingService().getClientLibraryOutputCache().getIfPresent(key));
+    }
+
     public void testGetResolvedUrl() {
         assertNull(clientLibraryService.getResolvedUrl(null));
 
@@ -388,6 +428,10 @@ public class ClientLibraryServiceImplTest extends AuraImplTestCase {
             Type resourceType) throws Exception {
         String suffix = (resourceType == Type.JS) ? "/resources.js" : "/resources.css";
         resourceUrl = URLDecoder.decode(resourceUrl, "UTF-8");
+        int query = resourceUrl.indexOf("?h=");
+        if (query > -1) {
+            resourceUrl = resourceUrl.substring(0, query);
+        }
         assertTrue(resourceUrl.startsWith("/l/"));
         assertTrue(resourceUrl.endsWith(suffix));
         resourceUrl = resourceUrl.substring("/l/".length(), resourceUrl.length() - suffix.length());
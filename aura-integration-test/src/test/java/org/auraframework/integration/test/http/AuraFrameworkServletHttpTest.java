@@ -29,7 +29,10 @@ import org.apache.http.client.methods.HttpGet;
 import org.apache.http.message.BasicHeader;
 import org.apache.http.util.EntityUtils;
 import org.auraframework.Aura;
+import org.auraframework.cache.Cache;
 import org.auraframework.http.AuraBaseServlet;
+import org.auraframework.http.AuraFrameworkServlet;
+import org.auraframework.http.FrameworkResource;
 import org.auraframework.test.util.AuraHttpTestCase;
 import org.auraframework.util.test.annotation.ThreadHostileTest;
 import org.auraframework.util.test.annotation.UnAdaptableTest;
@@ -421,4 +424,96 @@ public class AuraFrameworkServletHttpTest extends AuraHttpTestCase {
 
         get.releaseConnection();
     }
+
+    private String getContentEncoding(String acceptEncoding) throws Exception {
+        HttpGet get = obtainNoncedGetMethod(sampleJavascriptResourcePathWithNonce, false);
+        get.setHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        HttpResponse response = perform(get);
+        assertEquals(HttpStatus.SC_OK, getStatusCode(response));
+        Header encoding = response.getFirstHeader(HttpHeaders.CONTENT_ENCODING);
+        EntityUtils.consume(response.getEntity());
+        get.releaseConnection();
+        return encoding != null ? encoding.getValue() : null;
+    }
+
+    /**
+     * Verify that the gzipped copy of a resource is only sent to clients that accept gzip with a non-zero q-value.
+     */
+    public void testGzipNegotiation() throws Exception {
+        assertEquals("gzip", getContentEncoding("gzip"));
+        assertEquals("gzip", getContentEncoding("deflate, gzip;q=0.5"));
+        assertEquals("gzip", getContentEncoding("*"));
+        assertNull(getContentEncoding("identity"));
+        assertNull(getContentEncoding("gzip;q=0"));
+        assertNull(getContentEncoding("gzip; q=0.0, deflate"));
+        assertNull(getContentEncoding("gzip;q=0, *"));
+        assertNull(getContentEncoding("gzipped"));
+    }
+
+    public void testAcceptsGzip() {
+        assertFalse(AuraFrameworkServlet.acceptsGzip(null));
+        assertFalse(AuraFrameworkServlet.acceptsGzip(""));
+        assertTrue(AuraFrameworkServlet.acceptsGzip("GZIP"));
+        assertTrue(AuraFrameworkServlet.acceptsGzip("x-gzip"));
+        assertTrue(AuraFrameworkServlet.acceptsGzip("br;q=1.0, gzip;q=0.8, *;q=0.1"));
+        assertTrue(AuraFrameworkServlet.acceptsGzip("gzip;q=0, gzip"));
+        assertFalse(AuraFrameworkServlet.acceptsGzip("*;q=0"));
+        assertFalse(AuraFrameworkServlet.acceptsGzip("gzip;q=zero"));
+    }
+
+    /**
+     * Verify that a resource read under the current framework uid is served from the frameworkResourceCache.
+     */
+    @ThreadHostileTest("changes the framework resource cache")
+    public void testResourceServedFromCache() throws Exception {
+        String uid = Aura.getConfigAdapter().getAuraFrameworkNonce();
+        String key = AuraFrameworkServlet.getResourceKey(uid, Aura.getConfigAdapter().isProduction(),
+                "/aura/resources/aura/resetCSS.css");
+        Cache<String, FrameworkResource> cache = Aura.getCachingService().getFrameworkResourceCache();
+
+        HttpGet get = obtainNoncedGetMethod(sampleTextResourcePathWithNonce, false);
+        HttpResponse response = perform(get);
+        String body = getResponseBody(response);
+        get.releaseConnection();
+        FrameworkResource cached = cache.getIfPresent(key);
+        assertNotNull("Resource was not kept under the framework uid", cached);
+        assertEquals(body, new String(cached.getBytes(), AuraBaseServlet.UTF_ENCODING));
+
+        cache.put(key, new FrameworkResource("/* cached */".getBytes(AuraBaseServlet.UTF_ENCODING), "text/css",
+                false));
+        try {
+            get = obtainNoncedGetMethod(sampleTextResourcePathWithNonce, false);
+            response = perform(get);
+            assertEquals("/* cached */", getResponseBody(response));
+            get.releaseConnection();
+        } finally {
+            cache.invalidate(key);
+        }
+    }
+
+    /**
+     * Verify that a resource kept under another framework uid is not served once the uid has changed.
+     */
+    @ThreadHostileTest("changes the framework resource cache")
+    public void testResourceReadAgainAfterUidChange() throws Exception {
+        String path = "/aura/resources/aura/resetCSS.css";
+        boolean production = Aura.getConfigAdapter().isProduction();
+        String staleKey = AuraFrameworkServlet.getResourceKey("previousuid", production, path);
+        Cache<String, FrameworkResource> cache = Aura.getCachingService().getFrameworkResourceCache();
+
+        cache.put(staleKey, new FrameworkResource("/* stale */".getBytes(AuraBaseServlet.UTF_ENCODING),
+                "text/css", false));
+        try {
+            HttpGet get = obtainNoncedGetMethod(sampleTextResourcePathWithNonce, false);
+            HttpResponse response = perform(get);
+            String body = getResponseBody(response);
+            get.releaseConnection();
+            assertEquals(HttpStatus.SC_OK, getStatusCode(response));
+            assertFalse("Resource kept under a previous uid was served", body.contains("/* stale */"));
+            String uid = Aura.getConfigAdapter().getAuraFrameworkNonce();
+            assertNotNull(cache.getIfPresent(AuraFrameworkServlet.getResourceKey(uid, production, path)));
+        } finally {
+            cache.invalidate(staleKey);
+        }
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.integration.test.http;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpPost;
+import org.auraframework.test.util.AuraHttpTestCase;
+import org.auraframework.util.test.annotation.ThreadHostileTest;
+
+import com.google.common.collect.ImmutableMap;
+
+/**
+ * Action requests run asynchronously by AuraServlet, with -Daura.servlet.async=true.
+ */
+@ThreadHostileTest("switches all action requests to asynchronous")
+public class AuraServletAsyncHttpTest extends AuraHttpTestCase {
+    private static final String CONTROLLER = "java://org.auraframework.components.test.java.controller.JavaTestController";
+
+    private String async;
+    private String timeout;
+
+    public AuraServletAsyncHttpTest(String name) {
+        super(name);
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        async = System.setProperty("aura.servlet.async", "true");
+        timeout = System.clearProperty("aura.servlet.asyncTimeout");
+    }
+
+    @Override
+    public void tearDown() throws Exception {
+        restore("aura.servlet.async", async);
+        restore("aura.servlet.asyncTimeout", timeout);
+        super.tearDown();
+    }
+
+    private static void restore(String key, String value) {
+        if (value == null) {
+            System.clearProperty(key);
+        } else {
+            System.setProperty(key, value);
+        }
+    }
+
+    /**
+     * Actions run on the action executor, and their results come back as they do for synchronous requests.
+     */
+    public void testActionsRunOnExecutor() throws Exception {
+        ServerAction a = new ServerAction(CONTROLLER + "/ACTION$getThreadName", null);
+        a.run();
+        String thread = (String) a.getReturnValue();
+        assertTrue("Expected the action to run on the action executor, not on " + thread,
+                thread.startsWith("AuraAction-"));
+
+        ServerAction b = new ServerAction(CONTROLLER + "/ACTION$getString",
+                ImmutableMap.<String, Object> of("param", "some string"));
+        b.run();
+        assertEquals("some string", b.getReturnValue());
+    }
+
+    /**
+     * A request that runs past the timeout fails, and the server goes on serving requests, so the context of the timed
+     * out request was handed back properly.
+     */
+    public void testTimeout() throws Exception {
+        ServerAction buffer = new ServerAction(CONTROLLER + "/ACTION$getBuffer", null);
+        buffer.run();
+        String id = (String) buffer.getReturnValue();
+
+        System.setProperty("aura.servlet.asyncTimeout", "200");
+        Map<String, Object> params = ImmutableMap.<String, Object> of("id", id, "delayMs", new BigDecimal(2000),
+                "append", "slow");
+        HttpPost post = new ServerAction(CONTROLLER + "/ACTION$appendBuffer", params).getPostMethod();
+        HttpResponse response = perform(post);
+        assertEquals(HttpStatus.SC_SERVICE_UNAVAILABLE, getStatusCode(response));
+        post.releaseConnection();
+
+        System.clearProperty("aura.servlet.asyncTimeout");
+        // let the interrupted action finish with its context before checking the server
+        Thread.sleep(500);
+        ServerAction after = new ServerAction(CONTROLLER + "/ACTION$getString",
+                ImmutableMap.<String, Object> of("param", "after"));
+        after.run();
+        assertEquals("after", after.getReturnValue());
+
+        new ServerAction(CONTROLLER + "/ACTION$deleteBuffer", ImmutableMap.<String, Object> of("id", id)).run();
+    }
+}
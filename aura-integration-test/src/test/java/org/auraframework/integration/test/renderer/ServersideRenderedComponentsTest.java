@@ -72,6 +72,28 @@ public class ServersideRenderedComponentsTest extends AuraImplTestCase {
                 ComponentDef.class, null, "<div>am a div</div>just text<span>am a span</span>");
     }
 
+    /**
+     * Static html is rendered once per tag and replayed; expressions alongside it must still be evaluated per
+     * instance.
+     */
+    public void testStaticHtmlMixedWithExpressions() throws Exception {
+        String markup = String.format(baseComponentTag, "",
+                "<aura:attribute name='label' type='String'/>"
+                        + "<div class='outer'><span title='static'>plain <b>bold</b></span>"
+                        + "<p title='{!v.label}'>{!v.label}</p><br/></div>");
+        DefDescriptor<ComponentDef> desc = addSourceAutoCleanup(ComponentDef.class, markup);
+        for (String label : new String[] { "first", "second", "first" }) {
+            Map<String, Object> attributes = new HashMap<>();
+            attributes.put("label", label);
+            BaseComponent<?, ?> instance = (BaseComponent<?, ?>) Aura.getInstanceService().getInstance(desc,
+                    attributes);
+            StringWriter sw = new StringWriter();
+            Aura.getRenderingService().render(instance, sw);
+            assertEquals("<div class=\"outer\"><span title=\"static\">plain <b>bold</b></span>"
+                    + "<p title=\"" + label + "\">" + label + "</p><br/>\n</div>", sw.toString().trim());
+        }
+    }
+
     public void testArrayLength() throws Exception {
         assertRenderedHTML(String.format(baseComponentTag, "", ATTR_COMPONENT_ARRAY + "{!v.componentArray.length}"),
                 ComponentDef.class, null, "3");
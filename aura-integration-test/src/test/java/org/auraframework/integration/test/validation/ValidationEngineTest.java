@@ -26,6 +26,8 @@ import org.auraframework.impl.validation.AuraValidationTestCase;
 import org.auraframework.impl.validation.ValidationEngine;
 import org.auraframework.util.validation.ValidationError;
 
+import com.google.common.collect.Lists;
+
 public final class ValidationEngineTest extends AuraValidationTestCase {
 
     public ValidationEngineTest(String name) {
@@ -91,4 +93,30 @@ public final class ValidationEngineTest extends AuraValidationTestCase {
                 "/validationTest/basic/basic.cmp [line 1, column 1] cmp/custom: Abstract component markup://validationTest:basic must be extensible",
                 errors.get(0));
     }
+
+    /**
+     * Parallel validation gives the same errors, in the same order, as validating one descriptor after the other,
+     * also when the lint results come from the cache the second time round.
+     */
+    public void testValidateAllInParallel() {
+        List<DefDescriptor<?>> descriptors = Lists.newArrayList();
+        descriptors.add(DefDescriptorImpl.getInstance("js://validationTest.basic", ControllerDef.class));
+        descriptors.add(DefDescriptorImpl.getInstance("markup://validationTest:basic", ComponentDef.class));
+        descriptors.add(DefDescriptorImpl.getInstance("css://validationTest.basic", StyleDef.class));
+
+        ValidationEngine engine = new ValidationEngine();
+        List<String> expected = Lists.newArrayList();
+        for (ValidationError error : engine.validateAll(descriptors, 1)) {
+            expected.add(error.toCommonFormat());
+        }
+        assertFalse(expected.isEmpty());
+
+        for (int run = 0; run < 2; run++) {
+            List<String> actual = Lists.newArrayList();
+            for (ValidationError error : new ValidationEngine().validateAll(descriptors, 3)) {
+                actual.add(error.toCommonFormat());
+            }
+            assertEquals(expected, actual);
+        }
+    }
 }
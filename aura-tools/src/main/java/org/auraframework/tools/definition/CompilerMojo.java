@@ -68,6 +68,16 @@ public class CompilerMojo extends AbstractMojo {
      */
     private String[] excluded;
 
+    /**
+     * incremental: Only recompile namespaces whose sources changed since the last run.
+     *
+     * Segments of unchanged namespaces are kept in '.registries.d' inside the output directory.
+     *
+     * @parameter property="incremental" default-value="false"
+     * @optional
+     */
+    private boolean incremental;
+
     /**
      * Create an empty compiler instance.
      *
@@ -83,6 +93,7 @@ public class CompilerMojo extends AbstractMojo {
     public void execute() throws MojoExecutionException {
         Logger logger = new Logger(this.getLog());
         RegistrySerializer rs = new RegistrySerializer(componentDirectory, outputDirectory, excluded, logger);
+        rs.setIncremental(incremental);
         try {
             rs.execute();
         } catch (RegistrySerializerException rse) {
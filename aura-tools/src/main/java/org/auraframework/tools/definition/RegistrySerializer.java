@@ -15,15 +15,24 @@
  */
 package org.auraframework.tools.definition;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -41,8 +50,12 @@ import org.auraframework.system.DefRegistry;
 import org.auraframework.system.MasterDefRegistry;
 import org.auraframework.throwable.quickfix.QuickFixException;
 
+import com.google.common.base.Charsets;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
 
 import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
@@ -53,12 +66,26 @@ import javax.annotation.Nonnull;
  * This requires a components directory, an output directory, and optionally can take
  * a set of namespaces to exclude.
  *
- * Note that the output file is a binary object file that is a set of registries,
- * one per namespace, that contain all of the defs that are in the namespaces.
+ * Note that the output file is a binary object file that is a list of independently
+ * serialized segments, one per namespace, each holding a registry with all of the defs
+ * that are in the namespace. Namespaces are compiled concurrently, each in its own context,
+ * and in incremental mode the segment of a namespace whose sources did not change since
+ * the previous run is reused as is.
  */
 public class RegistrySerializer {
     private static final Log log = LogFactory.getLog(RegistrySerializer.class);
 
+    /**
+     * The number of namespaces compiled concurrently.
+     */
+    private static final int THREADS = Integer.getInteger("aura.registries.threads",
+            Runtime.getRuntime().availableProcessors());
+
+    /**
+     * The directory, under the output directory, where per namespace segments are kept for incremental builds.
+     */
+    private static final String SEGMENT_DIRECTORY = ".registries.d";
+
     /**
      * An exception during serialization.
      */
@@ -178,7 +205,12 @@ public class RegistrySerializer {
     /**
      * A flag for an error occuring.
      */
-    private boolean error = false;
+    private volatile boolean error = false;
+
+    /**
+     * Reuse the segments of namespaces whose sources are unchanged.
+     */
+    private boolean incremental = false;
 
     /**
      * Create a compiler instance.
@@ -208,16 +240,54 @@ public class RegistrySerializer {
      * @throws RegistrySerializerException if there is an error.
      */
     public void write(@Nonnull Set<String> namespaces, @Nonnull OutputStream out) {
-        List<DefRegistry<Definition>> regs = Lists.newArrayList();
-        for (String name : namespaces) {
-            regs.add(getRegistry(name));
+        List<String> names = Lists.newArrayList(namespaces);
+        List<Future<byte[]>> futures = Lists.newArrayListWithCapacity(names.size());
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(THREADS, names.size())),
+                new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread t = new Thread(r, "RegistrySerializer-" + count.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    }
+                });
+        try {
+            for (final String name : names) {
+                futures.add(executor.submit(new Callable<byte[]>() {
+                    @Override
+                    public byte[] call() throws Exception {
+                        return getSegment(name);
+                    }
+                }));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<byte[]> segments = Lists.newArrayListWithCapacity(names.size());
+        for (int i = 0; i < names.size(); i++) {
+            try {
+                byte[] segment = futures.get(i).get();
+                if (segment != null) {
+                    segments.add(segment);
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                logger.error("Interrupted while compiling "+names.get(i), ie);
+                error = true;
+            } catch (ExecutionException ee) {
+                logger.error("Unable to compile "+names.get(i), ee.getCause());
+                error = true;
+            }
         }
 
         ObjectOutputStream objectOut = null;
         try {
             try {
                 objectOut = new ObjectOutputStream(out);
-                objectOut.writeObject(regs);
+                objectOut.writeObject(segments);
             } finally {
                 out.close();
             }
@@ -227,6 +297,119 @@ public class RegistrySerializer {
         }
     }
 
+    /**
+     * Get the serialized registry segment for a namespace.
+     *
+     * In incremental mode a segment left by a previous run is reused if the namespace sources have the
+     * same fingerprint, otherwise the namespace is compiled in a context of its own and the new segment is
+     * kept for the next run.
+     *
+     * @param namespace the namespace to compile.
+     * @return the segment, or null if it could not be serialized.
+     */
+    private byte[] getSegment(@Nonnull String namespace) throws QuickFixException {
+        File segmentFile = null;
+        if (incremental) {
+            segmentFile = new File(new File(outputDirectory, SEGMENT_DIRECTORY),
+                    namespace + "." + getFingerprint(namespace));
+            if (segmentFile.isFile()) {
+                try {
+                    logger.debug("Reusing segment for "+namespace);
+                    return Files.toByteArray(segmentFile);
+                } catch (IOException ioe) {
+                    logger.warning("Unable to read "+segmentFile, ioe);
+                }
+            }
+        }
+
+        DefRegistry<Definition> registry;
+        Aura.getContextService().startContext(Mode.DEV, null, Format.JSON, Authentication.AUTHENTICATED, null);
+        try {
+            registry = getRegistry(namespace);
+        } finally {
+            Aura.getContextService().endContext();
+        }
+
+        byte[] segment;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOut = new ObjectOutputStream(bytes)) {
+                objectOut.writeObject(registry);
+            }
+            segment = bytes.toByteArray();
+        } catch (IOException ioe) {
+            logger.error("Unable to serialize "+namespace, ioe);
+            error = true;
+            return null;
+        }
+
+        if (segmentFile != null && !error) {
+            saveSegment(namespace, segmentFile, segment);
+        }
+        return segment;
+    }
+
+    /**
+     * Keep a segment for the next incremental run, dropping any stale segment of the namespace.
+     */
+    private void saveSegment(String namespace, File segmentFile, byte[] segment) {
+        File dir = segmentFile.getParentFile();
+        if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+            logger.warning("Unable to create "+dir);
+            return;
+        }
+        File[] stale = dir.listFiles();
+        if (stale != null) {
+            for (File f : stale) {
+                String fname = f.getName();
+                if (fname.startsWith(namespace + ".") && fname.indexOf('.', namespace.length() + 1) < 0) {
+                    f.delete();
+                }
+            }
+        }
+        try {
+            Files.write(segment, segmentFile);
+        } catch (IOException ioe) {
+            logger.warning("Unable to write "+segmentFile, ioe);
+            segmentFile.delete();
+        }
+    }
+
+    /**
+     * Compute a fingerprint over the relative names and contents of all files in a namespace.
+     *
+     * Only the sources of the namespace itself are covered, so a change to a namespace it depends on, or to
+     * the framework itself, requires a full (non incremental) build.
+     */
+    String getFingerprint(@Nonnull String namespace) {
+        Hasher hasher = Hashing.sha1().newHasher();
+        try {
+            hashDirectory(new File(componentDirectory, namespace), namespace, hasher);
+        } catch (IOException ioe) {
+            // an unreadable namespace can never match a previous segment.
+            hasher.putLong(System.nanoTime());
+        }
+        return hasher.hash().toString();
+    }
+
+    private void hashDirectory(File dir, String path, Hasher hasher) throws IOException {
+        File[] files = dir.listFiles();
+        if (files == null) {
+            return;
+        }
+        Arrays.sort(files);
+        for (File f : files) {
+            String name = path + "/" + f.getName();
+            if (f.isDirectory()) {
+                hashDirectory(f, name, hasher);
+            } else {
+                hasher.putString(name, Charsets.UTF_8);
+                hasher.putLong(f.length());
+                hasher.putBytes(Files.toByteArray(f));
+            }
+        }
+    }
+
     /**
      * Get a registry for the namespace given.
      *
@@ -338,16 +521,7 @@ public class RegistrySerializer {
             throw new RegistrySerializerException("Unable to create "+outputFile, fnfe);
         }
         try {
-            try {
-                Aura.getContextService().startContext(Mode.DEV, null, Format.JSON, Authentication.AUTHENTICATED, null);
-            } catch (QuickFixException qfe) {
-                throw new RegistrySerializerException("problem creating context "+qfe);
-            }
-            try {
-                write(namespaces, out);
-            } finally {
-                Aura.getContextService().endContext();
-            }
+            write(namespaces, out);
             if (error) {
                 throw new RegistrySerializerException("one or more errors occurred during compile");
             }
@@ -360,6 +534,24 @@ public class RegistrySerializer {
         }
     }
 
+    /**
+     * Sets whether segments of unchanged namespaces from a previous run should be reused.
+     *
+     * @param incremental true to only compile namespaces whose sources changed.
+     */
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
+    /**
+     * Gets whether this instance reuses segments of unchanged namespaces.
+     *
+     * @return true if incremental.
+     */
+    public boolean isIncremental() {
+        return this.incremental;
+    }
+
     /**
      * Gets the componentDirectory for this instance.
      *
@@ -24,6 +24,7 @@ import org.auraframework.tools.definition.RegistrySerializer.RegistrySerializerE
 import org.auraframework.tools.definition.RegistrySerializer.RegistrySerializerLogger;
 import org.auraframework.util.test.util.UnitTestCase;
 
+import com.google.common.base.Charsets;
 import com.google.common.collect.Lists;
 
 public class RegistrySerializerTest extends UnitTestCase {
@@ -76,6 +77,21 @@ public class RegistrySerializerTest extends UnitTestCase {
         }
     }
 
+    public void testFingerprintTracksNamespaceSources() throws Exception {
+        Path compPath = actb.getComponentsPath();
+        String ns = actb.getNewNamespace();
+        Path cmp = compPath.resolve(ns).resolve("fingerprint").resolve("fingerprint.cmp");
+        Files.createDirectories(cmp.getParent());
+        Files.write(cmp, "<aura:component/>".getBytes(Charsets.UTF_8));
+        RegistrySerializer rs = new RegistrySerializer(compPath.toFile(), compPath.toFile(), null, null);
+
+        String original = rs.getFingerprint(ns);
+        assertEquals("Fingerprint should be stable", original, rs.getFingerprint(ns));
+
+        Files.write(cmp, "<aura:component>changed</aura:component>".getBytes(Charsets.UTF_8));
+        assertFalse("Fingerprint should change with contents", original.equals(rs.getFingerprint(ns)));
+    }
+
 //    public void testOutputValid() throws Exception {
 //        TestLogger logger = new TestLogger();
 //        Path compPath = actb.getComponentsPath();
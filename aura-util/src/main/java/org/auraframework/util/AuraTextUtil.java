@@ -15,7 +15,9 @@
  */
 package org.auraframework.util;
 
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.util.ArrayList;
@@ -36,13 +38,13 @@ public class AuraTextUtil {
             "\u2029", "\u0000" };
     private static final String[] JS_OUT = new String[] { "\\\\", "\\'", "\\n", "\\r", "\\\"", "\\u0021--", "\\u003C",
             "\\u003E", "\\n", "\\u2029", "" };
-    private static final TrieMatcher JS_SEARCH_REPLACE = TrieMatcher.compile(JS_IN, JS_OUT);
+    private static final Escaper JS_ESCAPER = new Escaper(JS_IN, JS_OUT);
 
     private static final String[] JSON_IN = new String[] { "\\", "\n", "\r", "\t", "\"", "!--", "<", ">", "\u2028",
             "\u2029", "\u0000", "*/" };
     private static final String[] JSON_OUT = new String[] { "\\\\", "\\n", "\\r", "\\t", "\\\"", "\\u0021--",
             "\\u003C", "\\u003E", "\\n", "\\u2029", "", "\\u002A/" };
-    private static final TrieMatcher JSON_SEARCH_REPLACE = TrieMatcher.compile(JSON_IN, JSON_OUT);
+    private static final Escaper JSON_ESCAPER = new Escaper(JSON_IN, JSON_OUT);
 
     private static final String[] RESERVED_METHODS = new String[]{
             "auraType","getDef","getRendering",
@@ -72,7 +74,7 @@ public class AuraTextUtil {
     //
     private static final String[] JSON_FUNC_IN = new String[] { "!--", "\u2028", "\u2029", "\u0000", "*/" };
     private static final String[] JSON_FUNC_OUT = new String[] { "\\u0021--", "\n", "\\u2029", "", "\\u002A/" };
-    private static final TrieMatcher JSON_FUNC_SEARCH_REPLACE = TrieMatcher.compile(JSON_FUNC_IN, JSON_FUNC_OUT);
+    private static final Escaper JSON_FUNC_ESCAPER = new Escaper(JSON_FUNC_IN, JSON_FUNC_OUT);
 
     // replace escaped w/ non-escaped
     // w/o html tags
@@ -80,7 +82,7 @@ public class AuraTextUtil {
     private static final String[] ESCAPED_TEXT = { "<", ">", "&", "\"", "'", "'", "©" };
     private static final TrieMatcher HTML_TO_TEXT_ESCAPED_ONLY = TrieMatcher.compile(ESCAPED_HTML, ESCAPED_TEXT);
 
-    private static final TrieMatcher TEXT_TO_HTML = TrieMatcher.compile(
+    private static final Escaper TEXT_TO_HTML = new Escaper(
             ObjectArrays.concat(ESCAPED_TEXT, new String[] { "\n" }, String.class),
             ObjectArrays.concat(ESCAPED_HTML, new String[] { "<br/>" }, String.class));
 
@@ -205,14 +207,28 @@ public class AuraTextUtil {
      * passing Javascript into elements, you should escape any potentially dangerous portions of the script.
      */
     public static String escapeForJavascriptString(String in) {
-        return TrieMatcher.replaceMultiple(in, JS_SEARCH_REPLACE);
+        return JS_ESCAPER.escape(in);
+    }
+
+    /**
+     * Escapes as {@link #escapeForJavascriptString(String)}, writing to out rather than building a new string.
+     */
+    public static void escapeForJavascriptString(Appendable out, CharSequence in) throws IOException {
+        JS_ESCAPER.escape(out, in);
     }
 
     /**
      * Properly escapes string for JSON.
      */
     public static String escapeForJSONString(String in) {
-        return TrieMatcher.replaceMultiple(in, JSON_SEARCH_REPLACE);
+        return JSON_ESCAPER.escape(in);
+    }
+
+    /**
+     * Escapes as {@link #escapeForJSONString(String)}, writing to out rather than building a new string.
+     */
+    public static void escapeForJSONString(Appendable out, CharSequence in) throws IOException {
+        JSON_ESCAPER.escape(out, in);
     }
 
     /**
@@ -225,7 +241,14 @@ public class AuraTextUtil {
      * @return a string with the sequences replaced appropriately
      */
     public static String escapeForJSONFunction(String in) {
-        return TrieMatcher.replaceMultiple(in, JSON_FUNC_SEARCH_REPLACE);
+        return JSON_FUNC_ESCAPER.escape(in);
+    }
+
+    /**
+     * Escapes as {@link #escapeForJSONFunction(String)}, writing to out rather than building a new string.
+     */
+    public static void escapeForJSONFunction(Appendable out, CharSequence in) throws IOException {
+        JSON_FUNC_ESCAPER.escape(out, in);
     }
 
     /**
@@ -578,7 +601,15 @@ public class AuraTextUtil {
      * @return escaped text
      */
     public static String escapeForHTML(String input) {
-        return TrieMatcher.replaceMultiple(input, TEXT_TO_HTML);
+        return TEXT_TO_HTML.escape(input);
+    }
+
+    /**
+     * Escapes as {@link #escapeForHTML(String)}, writing to out rather than building a new string. The same
+     * restrictions apply.
+     */
+    public static void escapeForHTML(Appendable out, CharSequence input) throws IOException {
+        TEXT_TO_HTML.escape(out, input);
     }
 
     /**
@@ -704,4 +735,156 @@ public class AuraTextUtil {
         }
         return false;
     }
+
+    /**
+     * Replaces single characters by looking them up in a table, writing the runs between replacements straight
+     * through, so that input with nothing to escape is never copied.
+     *
+     * This is built from the same search and replace pairs as a {@link TrieMatcher}, and gives the same result for
+     * them. A search string longer than one character is treated as its first character followed by a context that
+     * must be present, and its replacement must end with that context, e.g. "!--" to "\\u0021--".
+     */
+    private static final class Escaper {
+        private static final int TABLE_SIZE = 128;
+
+        private final String[] replacements = new String[TABLE_SIZE];
+        private final String[] contexts = new String[TABLE_SIZE];
+        private final char[] otherChars;
+        private final String[] otherReplacements;
+
+        private Escaper(String[] in, String[] out) {
+            List<Character> chars = new ArrayList<>();
+            List<String> others = new ArrayList<>();
+            for (int i = 0; i < in.length; i++) {
+                char ch = in[i].charAt(0);
+                String context = in[i].substring(1);
+                if (!out[i].endsWith(context)) {
+                    throw new IllegalArgumentException("Replacement for " + in[i] + " must end with " + context);
+                }
+                String replacement = out[i].substring(0, out[i].length() - context.length());
+                if (ch < TABLE_SIZE) {
+                    // later entries win, as they would in the trie
+                    replacements[ch] = replacement;
+                    contexts[ch] = context.isEmpty() ? null : context;
+                } else if (context.isEmpty()) {
+                    int index = chars.indexOf(ch);
+                    if (index < 0) {
+                        chars.add(ch);
+                        others.add(replacement);
+                    } else {
+                        others.set(index, replacement);
+                    }
+                } else {
+                    throw new IllegalArgumentException("Unsupported search string " + in[i]);
+                }
+            }
+            for (String context : contexts) {
+                for (int i = 0; context != null && i < context.length(); i++) {
+                    if (context.charAt(i) < TABLE_SIZE && replacements[context.charAt(i)] != null) {
+                        throw new IllegalArgumentException("Context " + context + " overlaps another search string");
+                    }
+                }
+            }
+            otherChars = new char[chars.size()];
+            for (int i = 0; i < otherChars.length; i++) {
+                otherChars[i] = chars.get(i);
+            }
+            otherReplacements = others.toArray(new String[others.size()]);
+        }
+
+        /**
+         * @return the replacement for the character at index, or null if it is written as is.
+         */
+        private String getReplacement(CharSequence in, int index) {
+            char ch = in.charAt(index);
+            if (ch < TABLE_SIZE) {
+                String replacement = replacements[ch];
+                if (replacement != null) {
+                    String context = contexts[ch];
+                    if (context == null || regionMatches(in, index + 1, context)) {
+                        return replacement;
+                    }
+                }
+                return null;
+            }
+            for (int i = 0; i < otherChars.length; i++) {
+                if (otherChars[i] == ch) {
+                    return otherReplacements[i];
+                }
+            }
+            return null;
+        }
+
+        private static boolean regionMatches(CharSequence in, int offset, String context) {
+            int length = context.length();
+            if (offset + length > in.length()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (in.charAt(offset + i) != context.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private String escape(String in) {
+            if (in == null) {
+                return null;
+            }
+            int length = in.length();
+            for (int i = 0; i < length; i++) {
+                if (getReplacement(in, i) != null) {
+                    StringBuilder sb = new StringBuilder(length + 16);
+                    try {
+                        escape(sb, in, i);
+                    } catch (IOException e) {
+                        // StringBuilder does not throw
+                        throw new IllegalStateException(e);
+                    }
+                    return sb.toString();
+                }
+            }
+            return in;
+        }
+
+        private void escape(Appendable out, CharSequence in) throws IOException {
+            if (in != null) {
+                escape(out, in, 0);
+            }
+        }
+
+        /**
+         * Write in to out, starting the scan at from, as nothing before it needs replacing.
+         */
+        private void escape(Appendable out, CharSequence in, int from) throws IOException {
+            int length = in.length();
+            int start = 0;
+            for (int i = from; i < length; i++) {
+                String replacement = getReplacement(in, i);
+                if (replacement != null) {
+                    append(out, in, start, i);
+                    out.append(replacement);
+                    start = i + 1;
+                }
+            }
+            append(out, in, start, length);
+        }
+
+        /**
+         * Append a run of the input, without the substring that Writer.append would make of it.
+         */
+        private static void append(Appendable out, CharSequence in, int start, int end) throws IOException {
+            if (start == end) {
+                return;
+            }
+            if (start == 0 && end == in.length()) {
+                out.append(in);
+            } else if (out instanceof Writer && in instanceof String) {
+                ((Writer) out).write((String) in, start, end - start);
+            } else {
+                out.append(in, start, end);
+            }
+        }
+    }
 }
@@ -20,8 +20,6 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
-import javax.script.Invocable;
-
 import org.auraframework.util.IOUtil;
 import org.auraframework.util.validation.RhinoBasedValidator;
 import org.auraframework.util.validation.ValidationError;
@@ -55,10 +53,7 @@ public final class CSSLintValidator extends RhinoBasedValidator {
     public List<ValidationError> validate(String filename, String source, boolean disableRulesForAura) {
         List<ValidationError> errors = Lists.newArrayList();
         try {
-            @SuppressWarnings("unchecked")
-            List<Map<String, ?>> lintErrors = (List<Map<String, ?>>) ((Invocable) engine).invokeFunction(tool
-                    + "Helper",
-                    source, disableRulesForAura);
+            List<Map<String, ?>> lintErrors = invokeHelper(source, disableRulesForAura);
 
             for (int i = 0; i < lintErrors.size(); i++) {
                 Map<String, ?> error = lintErrors.get(i);
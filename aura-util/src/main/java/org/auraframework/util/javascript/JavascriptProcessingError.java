@@ -42,6 +42,10 @@ public final class JavascriptProcessingError extends ValidationError {
         super("js/custom", filename, line, character, message, evidence, level, null);
     }
 
+    private JavascriptProcessingError(JavascriptProcessingError other) {
+        super(other);
+    }
+
     private static JavascriptProcessingError make(List<JavascriptProcessingError> errorsList, String message, int line,
             int character, String filename, String evidence, Level level) {
         JavascriptProcessingError msg = new JavascriptProcessingError(message, line, character, filename, evidence,
@@ -60,6 +64,11 @@ public final class JavascriptProcessingError extends ValidationError {
         return make(errorsList, message, line, character, filename, evidence, Level.Error);
     }
 
+    @Override
+    public JavascriptProcessingError copy() {
+        return new JavascriptProcessingError(this);
+    }
+
     @Override
     public String toString() {
         String s = String.format("JS Processing %s: %s (line %s, char %s) : %s", getLevel(), getFilename(), getLine(),
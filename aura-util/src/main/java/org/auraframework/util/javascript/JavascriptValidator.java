@@ -21,8 +21,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.regex.Pattern;
 
-import javax.script.Invocable;
-
 import org.auraframework.util.IOUtil;
 import org.auraframework.util.validation.RhinoBasedValidator;
 
@@ -53,10 +51,7 @@ public class JavascriptValidator extends RhinoBasedValidator {
             List<JavascriptProcessingError> errors = Lists.newArrayList();
             String[] src = newlinePattern.split(source);
 
-            @SuppressWarnings("unchecked")
-            List<Map<String, ?>> lintErrors = (List<Map<String, ?>>) ((Invocable) engine).invokeFunction(tool
-                    + "Helper",
-                    src, allowDebugger, allowUnfilteredForIn);
+            List<Map<String, ?>> lintErrors = invokeHelper(src, allowDebugger, allowUnfilteredForIn);
 
             for (int i = 0; i < lintErrors.size(); i++) {
                 Map<String, ?> error = lintErrors.get(i);
@@ -20,15 +20,20 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.EnumSet;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.auraframework.util.javascript.CommonJavascriptGroupImpl;
 import org.auraframework.util.javascript.JavascriptProcessingError;
 import org.auraframework.util.javascript.JavascriptValidator;
+import org.auraframework.util.javascript.directive.DirectiveParser.ParsedFile;
 import org.auraframework.util.text.Hash;
 
 /**
@@ -91,12 +96,35 @@ public class DirectiveBasedJavascriptGroup extends CommonJavascriptGroupImpl {
     // name for threads that compress and write the output
     public static final String THREAD_NAME = "jsgen.";
 
+    /**
+     * Shared by all groups. Each mode is a full Closure compile, so running more of them than there are processors
+     * only adds contention.
+     */
+    private static final ExecutorService generators = Executors.newFixedThreadPool(
+            Math.max(1, Math.min(JavascriptGeneratorMode.values().length, Runtime.getRuntime().availableProcessors())),
+            new ThreadFactory() {
+                private final AtomicInteger count = new AtomicInteger();
+
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, THREAD_NAME + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
     private final List<DirectiveType<?>> directiveTypes;
     private final Set<JavascriptGeneratorMode> modes;
     private final File startFile;
     private CountDownLatch counter;
     private Map<String, Throwable> errors;
 
+    // parse results by file, kept across regeneration so that only changed files are parsed again
+    private final Map<File, ParsedFile> parsedFiles = new ConcurrentHashMap<>();
+
+    // hash of the content last compiled for each mode, so that modes unaffected by a change are not compiled again
+    private final Map<JavascriptGeneratorMode, Hash> generatedHashes = new ConcurrentHashMap<>();
+
     // used during parsing, should be clear for storing in memory
     private DirectiveParser parser;
 
@@ -126,6 +154,14 @@ public class DirectiveBasedJavascriptGroup extends CommonJavascriptGroupImpl {
         return modes;
     }
 
+    ParsedFile getParsedFile(File file) {
+        return parsedFiles.get(file);
+    }
+
+    void putParsedFile(File file, ParsedFile parsedFile) {
+        parsedFiles.put(file, parsedFile);
+    }
+
     @Override
     public void parse() throws IOException {
         parser = new DirectiveParser(this, getStartFile());
@@ -142,7 +178,7 @@ public class DirectiveBasedJavascriptGroup extends CommonJavascriptGroupImpl {
         }
 
         counter = new CountDownLatch(modes.size());
-        errors = new HashMap<>();
+        errors = new ConcurrentHashMap<>();
         for (JavascriptGeneratorMode mode : modes) {
             generateForMode(destRoot, mode);
         }
@@ -172,19 +208,27 @@ public class DirectiveBasedJavascriptGroup extends CommonJavascriptGroupImpl {
 
     protected void generateForMode(File destRoot, final JavascriptGeneratorMode mode) throws IOException {
         final File dest = new File(destRoot, getName() + "_" + mode.getSuffix() + ".js");
+        if (dest.exists() && dest.lastModified() >= getLastMod()) {
+            // its up to date already, skip
+            counter.countDown();
+            return;
+        }
+        final String everything = buildContent(mode);
+        Hash.StringBuilder hashBuilder = new Hash.StringBuilder();
+        hashBuilder.addString(everything);
+        final Hash contentHash = hashBuilder.build();
         if (dest.exists()) {
-            if (dest.lastModified() < getLastMod()) {
-                dest.delete();
-            } else {
-                // its up to date already, skip
+            if (contentHash.equals(generatedHashes.get(mode))) {
+                // the change did not affect this mode, so what we compiled last time still stands
                 counter.countDown();
                 return;
             }
+            dest.delete();
         }
         dest.getParentFile().mkdirs();
-        final String everything = buildContent(mode);
         final String threadName = THREAD_NAME + mode;
-        Thread t = new Thread(new Runnable() {
+        generatedHashes.remove(mode);
+        generators.execute(new Runnable() {
             @Override
             public void run() {
                 try {
@@ -199,16 +243,16 @@ public class DirectiveBasedJavascriptGroup extends CommonJavascriptGroupImpl {
                         }
                         dest.setReadOnly();
                     }
+                    generatedHashes.put(mode, contentHash);
                 } catch (Throwable t) {
                     // Store any problems, to be thrown in a composite runtime exception from the main thread.
-                    // Otherwise, they kill this worker thread but are basically ignored.
+                    // Otherwise, they kill the worker but are basically ignored.
                     errors.put(threadName, t);
                 } finally {
                     counter.countDown();
                 }
             }
-        }, threadName);
-        t.start();
+        });
     }
 
     protected String buildContent(JavascriptGeneratorMode mode) {
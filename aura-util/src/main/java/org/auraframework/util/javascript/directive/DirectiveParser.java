@@ -17,8 +17,9 @@ package org.auraframework.util.javascript.directive;
 
 import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -26,6 +27,7 @@ import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import org.auraframework.util.IOUtil;
 import org.auraframework.util.javascript.JavascriptProcessingError;
 import org.auraframework.util.javascript.JavascriptValidator;
 
@@ -58,7 +60,30 @@ public class DirectiveParser {
         return group.getDirectiveTypes();
     }
 
+    /**
+     * Parse the file and process its directives.
+     *
+     * The result of parsing each file is kept by the group, so that regenerating after a change only parses the files
+     * that were changed. The directives are always processed again, as included files may have changed.
+     */
     public void parseFile() throws IOException {
+        String text = IOUtil.readTextFile(file);
+        ParsedFile parsedFile = group.getParsedFile(file);
+        if (parsedFile != null && parsedFile.text.equals(text)) {
+            content.append(parsedFile.content);
+            directives.addAll(parsedFile.directives);
+            parseErrors.addAll(parsedFile.parseErrors);
+        } else {
+            parseText(text);
+            group.putParsedFile(file, new ParsedFile(text, content.toString(), directives, parseErrors));
+        }
+        for (Directive d : directives) {
+            d.processDirective(group);
+        }
+        parsed = true;
+    }
+
+    private void parseText(String text) throws IOException {
         BufferedReader reader = null;
         Map<String, DirectiveType<?>> byString = new HashMap<>();
         for (DirectiveType<?> type : getDirectiveTypes()) {
@@ -73,7 +98,7 @@ public class DirectiveParser {
         }
 
         try {
-            reader = new BufferedReader(new FileReader(file));
+            reader = new BufferedReader(new StringReader(text));
             int lineNum = 1;
             String line = reader.readLine();
             // remember if we are in a multiline directive
@@ -130,10 +155,6 @@ public class DirectiveParser {
                 reader.close();
             }
         }
-        for (Directive d : directives) {
-            d.processDirective(group);
-        }
-        parsed = true;
     }
 
     private void addError(int lineNum, String message, String code) {
@@ -178,4 +199,21 @@ public class DirectiveParser {
         return generated.toString();
     }
 
+    /**
+     * The result of parsing a single file, along with the text it was parsed from.
+     */
+    static final class ParsedFile {
+        private final String text;
+        private final String content;
+        private final List<Directive> directives;
+        private final List<JavascriptProcessingError> parseErrors;
+
+        private ParsedFile(String text, String content, List<Directive> directives,
+                List<JavascriptProcessingError> parseErrors) {
+            this.text = text;
+            this.content = content;
+            this.directives = new ArrayList<>(directives);
+            this.parseErrors = new ArrayList<>(parseErrors);
+        }
+    }
 }
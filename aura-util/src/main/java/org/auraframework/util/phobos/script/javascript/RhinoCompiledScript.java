@@ -62,14 +62,22 @@ final class RhinoCompiledScript extends CompiledScript {
 
     @Override
     public Object eval(ScriptContext context) throws ScriptException {
+        return eval(engine, context);
+    }
+
+    /**
+     * Run the compiled code in the given engine, which need not be the one
+     * that compiled it.
+     */
+    Object eval(RhinoScriptEngine target, ScriptContext context) throws ScriptException {
 
         Object result = null;
         Context cx = RhinoScriptEngine.enterContext();
         try {
 
-            Scriptable scope = engine.getRuntimeScope(context);
+            Scriptable scope = target.getRuntimeScope(context);
             Object ret = script.exec(cx, scope);
-            result = engine.unwrapReturnValue(ret);
+            result = target.unwrapReturnValue(ret);
         } catch (JavaScriptException jse) {
             if (DEBUG) jse.printStackTrace();
             int line = (line = jse.lineNumber()) == 0 ? -1 : line;
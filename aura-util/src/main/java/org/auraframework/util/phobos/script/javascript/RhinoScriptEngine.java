@@ -403,6 +403,20 @@ implements  Invocable, Compilable {
     }
 
 
+    /**
+     * Run a script compiled by any RhinoScriptEngine in this engine, so that
+     * code shared by many engines only has to be compiled once.
+     *
+     * @param script a script compiled by a RhinoScriptEngine
+     * @return the result of the script
+     */
+    public Object eval(CompiledScript script) throws ScriptException {
+        if (!(script instanceof RhinoCompiledScript)) {
+            throw new IllegalArgumentException("Not a Rhino compiled script: " + script);
+        }
+        return ((RhinoCompiledScript) script).eval(this, context);
+    }
+
     //package-private helpers
 
     static Context enterContext() {
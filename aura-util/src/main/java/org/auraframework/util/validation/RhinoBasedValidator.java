@@ -19,14 +19,29 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import javax.script.CompiledScript;
+import javax.script.Invocable;
 import javax.script.ScriptEngine;
 import javax.script.ScriptException;
 
 import org.auraframework.util.phobos.script.javascript.*;
+import org.auraframework.util.phobos.script.util.ScriptEnginePool;
+
+import com.google.common.collect.Lists;
 
 /**
- * Base class for validators using Rhino
+ * Base class for validators using Rhino.
+ * <p>
+ * The tool scripts are compiled once per tool and every validator of that tool draws from a shared, bounded pool of
+ * engines that already have them loaded, so creating a validator is cheap and validators can be used from several
+ * threads at once. The pool size defaults to the number of processors and can be set with -Daura.validation.engines.
  */
 public abstract class RhinoBasedValidator {
 
@@ -35,25 +50,85 @@ public abstract class RhinoBasedValidator {
         System.setProperty("rhino.opt.level", "0");
     }
 
+    private static final int ENGINES = Integer.getInteger("aura.validation.engines", Runtime.getRuntime()
+            .availableProcessors());
+
+    private static final ConcurrentMap<String, ScriptEnginePool> pools = new ConcurrentHashMap<>();
+
     protected final String tool;
-    protected final ScriptEngine engine = new RhinoScriptEngineFactory().getScriptEngine();
+    private final ScriptEnginePool pool;
 
     /**
      * @param tool tool used for validation (i.e. "jslint")
      */
     protected RhinoBasedValidator(String tool) throws IOException {
         this.tool = tool;
-        Reader toolReader = new BufferedReader(new InputStreamReader(getClass().getResourceAsStream(tool + ".js")));
-        Reader helperReader = new BufferedReader(new InputStreamReader(getClass().getResourceAsStream(
-                tool + "_helper.js")));
+        this.pool = getPool(getClass(), tool);
+    }
+
+    /**
+     * Runs the tool's helper function on an engine from the pool.
+     * 
+     * @param args the arguments to the helper function
+     * @return the errors reported by the tool, copied out of the script engine (entries may be null)
+     */
+    protected List<Map<String, ?>> invokeHelper(Object... args) throws ScriptException, NoSuchMethodException {
+        ScriptEngine engine = pool.checkOut();
+        try {
+            @SuppressWarnings("unchecked")
+            List<Map<String, ?>> lintErrors = (List<Map<String, ?>>) ((Invocable) engine).invokeFunction(tool
+                    + "Helper", args);
+            if (lintErrors == null) {
+                return Collections.emptyList();
+            }
+            // the script objects belong to the engine, don't hand them out once it goes back to the pool
+            List<Map<String, ?>> errors = Lists.newArrayListWithCapacity(lintErrors.size());
+            for (int i = 0; i < lintErrors.size(); i++) {
+                Map<String, ?> error = lintErrors.get(i);
+                errors.add(error != null ? new LinkedHashMap<>(error) : null);
+            }
+            return errors;
+        } finally {
+            pool.checkIn(engine);
+        }
+    }
+
+    private static ScriptEnginePool getPool(Class<?> clazz, String tool) throws IOException {
+        ScriptEnginePool pool = pools.get(tool);
+        if (pool == null) {
+            RhinoScriptEngine compiler = (RhinoScriptEngine) new RhinoScriptEngineFactory().getScriptEngine();
+            final CompiledScript toolScript = compile(compiler, clazz, tool + ".js");
+            final CompiledScript helperScript = compile(compiler, clazz, tool + "_helper.js");
+            ScriptEnginePool created = new ScriptEnginePool(new RhinoScriptEngineFactory() {
+                @Override
+                public ScriptEngine getScriptEngine() {
+                    RhinoScriptEngine engine = (RhinoScriptEngine) super.getScriptEngine();
+                    try {
+                        engine.eval(toolScript);
+                        engine.eval(helperScript);
+                    } catch (ScriptException e) {
+                        throw new RuntimeException(e);
+                    }
+                    return engine;
+                }
+            }, ENGINES);
+            pool = pools.putIfAbsent(tool, created);
+            if (pool == null) {
+                pool = created;
+            }
+        }
+        return pool;
+    }
+
+    private static CompiledScript compile(RhinoScriptEngine compiler, Class<?> clazz, String name) throws IOException {
+        Reader reader = new BufferedReader(new InputStreamReader(clazz.getResourceAsStream(name)));
         try {
-            engine.eval(toolReader);
-            engine.eval(helperReader);
+            compiler.put(ScriptEngine.FILENAME, name);
+            return compiler.compile(reader);
         } catch (ScriptException e) {
             throw new RuntimeException(e);
         } finally {
-            toolReader.close();
-            helperReader.close();
+            reader.close();
         }
     }
 }
@@ -72,6 +72,20 @@ public class ValidationError implements JsonSerializable {
         setRule(rule);
     }
 
+    /**
+     * Copy constructor, see {@link #copy()}.
+     */
+    protected ValidationError(ValidationError other) {
+        this.validatingTool = other.validatingTool;
+        this.message = other.message;
+        this.line = other.line;
+        this.startColumn = other.startColumn;
+        this.filename = other.filename;
+        this.evidence = other.evidence;
+        this.level = other.level;
+        this.rule = other.rule;
+    }
+
     public ValidationError(String tool, String filename, Map<String, ?> error) {
         validatingTool = tool;
         this.filename = filename;
@@ -86,6 +100,13 @@ public class ValidationError implements JsonSerializable {
         level = toLevel((String) error.get("level"));
     }
 
+    /**
+     * @return a copy of this error, which can be patched without changing this one.
+     */
+    public ValidationError copy() {
+        return new ValidationError(this);
+    }
+
     public final String getValidatingTool() {
         return validatingTool;
     }
@@ -15,6 +15,7 @@
  */
 package org.auraframework.util;
 
+import java.io.StringWriter;
 import java.util.Arrays;
 import java.util.List;
 
@@ -191,6 +192,40 @@ public class AuraTextUtilTest extends UnitTestCase {
         }
     }
 
+    public void testEscapeForJSONStringToAppendable() throws Exception {
+        for (StringPair p : JSON_STRING_PAIRS) {
+            StringBuilder sb = new StringBuilder("x");
+            AuraTextUtil.escapeForJSONString(sb, p.input);
+            assertEquals("x" + p.expected, sb.toString());
+        }
+        for (StringPair p : JS_STRING_PAIRS) {
+            StringWriter sw = new StringWriter();
+            AuraTextUtil.escapeForJavascriptString(sw, "a" + p.input + "b");
+            assertEquals("a" + p.expected + "b", sw.toString());
+        }
+    }
+
+    public void testEscapeWithNothingToEscapeReturnsInput() {
+        String input = "0123456789/!@#$%^&*()-_abcdefghijklmnopqrstuvwxyz";
+        assertSame(input, AuraTextUtil.escapeForJSONString(input));
+        assertSame(input, AuraTextUtil.escapeForJavascriptString(input));
+        assertSame(input, AuraTextUtil.escapeForHTML(input));
+    }
+
+    public void testEscapeForHTML() throws Exception {
+        assertEquals("&lt;b&gt;&amp;&quot;&#39;&copy;<br/>", AuraTextUtil.escapeForHTML("<b>&\"'\u00A9\n"));
+        StringBuilder sb = new StringBuilder();
+        AuraTextUtil.escapeForHTML(sb, "a<b");
+        assertEquals("a&lt;b", sb.toString());
+    }
+
+    public void testEscapeForJSONFunctionSequences() throws Exception {
+        assertEquals("a\\u002A/b\\u0021--c*d!-", AuraTextUtil.escapeForJSONFunction("a*/b!--c*d!-"));
+        StringBuilder sb = new StringBuilder();
+        AuraTextUtil.escapeForJSONFunction(sb, "*/!--*");
+        assertEquals("\\u002A/\\u0021--*", sb.toString());
+    }
+
     private static class SplitMatch {
         public final String input;
         public final String delimiter;
@@ -16,12 +16,18 @@
 package org.auraframework.util.javascript;
 
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.auraframework.util.javascript.JavascriptProcessingError.Level;
 import org.auraframework.util.test.util.UnitTestCase;
 import org.auraframework.util.validation.ValidationError;
 import org.auraframework.util.validation.ValidationTestUtil;
 
+import com.google.common.collect.Lists;
+
 public final class JavascriptValidatorTest extends UnitTestCase {
 
     public void testValidate() throws Exception {
@@ -68,4 +74,29 @@ public final class JavascriptValidatorTest extends UnitTestCase {
         errors = validator.validate("input.js", "function unused() {for(var i=0;i>1;i++){}}", false, false);
         assertEquals(0, errors.size());
     }
+
+    public void testValidatorsShareEnginesAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<JavascriptProcessingError>>> results = Lists.newArrayList();
+            for (int i = 0; i < 16; i++) {
+                final String filename = "input" + i + ".js";
+                results.add(executor.submit(new Callable<List<JavascriptProcessingError>>() {
+                    @Override
+                    public List<JavascriptProcessingError> call() throws Exception {
+                        return new JavascriptValidator().validate(filename, "var index = 1;\nindex++\nindex += 4;",
+                                false, false);
+                    }
+                }));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                List<JavascriptProcessingError> errors = results.get(i).get();
+                assertEquals(1, errors.size());
+                ValidationTestUtil.assertError("input" + i
+                        + ".js [line 2, column 8] jslint: Expected ';' and instead saw 'index'", errors.get(0));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
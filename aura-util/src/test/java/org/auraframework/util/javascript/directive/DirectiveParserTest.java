@@ -268,4 +268,19 @@ public class DirectiveParserTest extends UnitTestCase {
         List<JavascriptProcessingError> errors = parser.validate(new JavascriptValidator());
         assertTrue("should not have been any validation errors", errors.isEmpty());
     }
+
+    /**
+     * Parsing an unchanged file again in the same group should reuse the directives from the first parse.
+     */
+    public void testReparseUnchangedFile() throws Exception {
+        TestGroup g = new TestGroup(getResourceFile("/testdata/directive/testParser.js"));
+        DirectiveParser parser = new DirectiveParser(g, g.getStartFile());
+        parser.parseFile();
+        DirectiveParser reparsed = new DirectiveParser(g, g.getStartFile());
+        reparsed.parseFile();
+        assertEquals("didn't found the right number of directives", 2, reparsed.directives.size());
+        assertSame("directives should be reused", parser.directives.get(0), reparsed.directives.get(0));
+        assertSame("directives should be reused", parser.directives.get(1), reparsed.directives.get(1));
+        assertEquals(parser.generate(JavascriptGeneratorMode.MOCK1), reparsed.generate(JavascriptGeneratorMode.MOCK1));
+    }
 }
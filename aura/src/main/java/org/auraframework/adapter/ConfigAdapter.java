@@ -20,6 +20,7 @@ import java.util.Set;
 import javax.servlet.http.HttpServletRequest;
 
 import org.auraframework.system.AuraContext.Mode;
+import org.auraframework.system.Client;
 import org.auraframework.util.resource.ResourceLoader;
 
 public interface ConfigAdapter extends AuraAdapter {
@@ -103,6 +104,46 @@ public interface ConfigAdapter extends AuraAdapter {
 
 	boolean isCacheablePrefix(String prefix);
 
+	/**
+	 * Applications to compile in the background at startup, so the first request for each does not pay for it.
+	 *
+	 * @return descriptor strings for the applications, empty to skip the warm-up.
+	 */
+	Set<String> getWarmupApplications();
+
+	/**
+	 * Modes to compile the warm-up applications in, only those that are also available are used.
+	 */
+	Set<Mode> getWarmupModes();
+
+	/**
+	 * Client types to generate the warm-up application CSS for.
+	 */
+	Set<Client.Type> getWarmupClientTypes();
+
+	/**
+	 * The most requests that may run an action at once, as configured by aura.actions.limit.&lt;name&gt;.
+	 *
+	 * @param name the qualified name of an action, or of a controller to share the limit between its actions
+	 * @return the limit, 0 if there is none for that name
+	 */
+	int getActionLimit(String name);
+
+	/**
+	 * The limit for each action that has none of its own or of its controller, 0 for no limit.
+	 */
+	int getDefaultActionLimit();
+
+	/**
+	 * Milliseconds an action over its limit waits for a slot before it is rejected.
+	 */
+	long getActionQueueTimeout();
+
+	/**
+	 * How many actions may wait for a limit at once, negative to allow as many as the limit itself.
+	 */
+	int getMaxQueuedActions();
+
 	/**
 	 * Gets the Content-Security-Policy and X-FRAME-OPTION whitelist for a
 	 * given app.  The returned object describes most of what could go into
@@ -81,6 +81,20 @@ public interface ContextAdapter extends AuraAdapter {
      */
     boolean isEstablished();
 
+    /**
+     * Make a context established on another thread current on this one.
+     *
+     * The context is shared, not copied, so the two threads must not use it at the same time. Calling
+     * {@link #release()} afterwards detaches it from this thread again.
+     *
+     * This method was added for asynchronous requests, see
+     * {@link org.auraframework.service.ContextService#propagateContext}. Context adapters written against earlier
+     * versions need to implement it.
+     *
+     * @param context the context to attach.
+     */
+    void attach(AuraContext context);
+
     /**
      * Push a system context.
      *
@@ -18,7 +18,9 @@
  */
 package org.auraframework.adapter;
 
+import java.util.Collection;
 import java.util.Locale;
+import java.util.Map;
 import java.util.TimeZone;
 
 import org.auraframework.util.AuraLocale;
@@ -43,6 +45,21 @@ public interface LocalizationAdapter extends AuraAdapter {
      */
     String getLabel(String section, String name, Object... params);
 
+    /**
+     * Returns a set of labels from a single section in one call.
+     *
+     * Implementations backed by a remote or database label system should fetch all of the names at
+     * once rather than one label at a time.
+     *
+     * @param section
+     *      The section in the label definition file where the labels are defined.
+     *      This parameter can be <code>null</code> depending on your label system implementation.
+     * @param names
+     *      The label names.
+     * @return A map from each name to its label. The label may be <code>null</code> if it is not defined.
+     */
+    Map<String, String> getLabels(String section, Collection<String> names);
+
     /**
      * Indicates whether the specified label is defined or not.
      * @param section
@@ -28,4 +28,12 @@ public interface LoggingAdapter extends AuraAdapter {
     void release();
 
     LoggingContext getLoggingContext();
+
+    /**
+     * Make a logging context established on another thread current on this one, until {@link #release()}.
+     *
+     * This method was added for asynchronous requests, so logging adapters written against earlier versions need to
+     * implement it.
+     */
+    void attach(LoggingContext context);
 }
@@ -17,6 +17,8 @@ package org.auraframework.builder;
 
 import org.auraframework.cache.Cache;
 
+import com.google.common.cache.Weigher;
+
 public interface CacheBuilder<K, T> {
 
 	/**
@@ -44,6 +46,27 @@ public interface CacheBuilder<K, T> {
 	 */
 	CacheBuilder<K, T> setUseSecondaryStorage(boolean useSecondaryStorage);
 
+	/**
+	 * Bound the cache by total weight instead of entry count. The weigher is
+	 * called once when an entry is stored, and evictions occur when the sum
+	 * of weights exceeds the maximum weight. The maximum size is ignored when
+	 * a weigher is set.
+	 * 
+	 * @param weigher computes the weight of an entry, typically its
+	 *            estimated size in bytes
+	 * @return the same CacheBuilder with this property set
+	 */
+	CacheBuilder<K, T> setWeigher(Weigher<? super K, ? super T> weigher);
+
+	/**
+	 * Set the maximum total weight before evictions occur, required when a
+	 * weigher is set.
+	 * 
+	 * @param maximumWeight
+	 * @return the same CacheBuilder with this property set
+	 */
+	CacheBuilder<K, T> setMaximumWeight(long maximumWeight);
+
 	/**
 	 * Set true to hint that the cache should record statistics
 	 * 
@@ -54,7 +77,8 @@ public interface CacheBuilder<K, T> {
 
 	/**
 	 * Set true to hint that the cache should wrap every value (not key) in a
-	 * softReference
+	 * softReference. Soft values make the memory used by the cache depend on
+	 * the garbage collector, prefer a weigher with a maximum weight.
 	 * 
 	 * @param softValues
 	 * @return the same CacheBuilder with this property set
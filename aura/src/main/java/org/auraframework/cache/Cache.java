@@ -15,10 +15,13 @@
  */
 package org.auraframework.cache;
 
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 
+import com.google.common.cache.CacheStats;
+
 
 public interface Cache<K,T> {
 
@@ -50,4 +53,54 @@ public interface Cache<K,T> {
 	Object getPrivateUnderlyingCache();
 
 	void logCacheStatus(String name, String extraMessage);
+
+	/**
+	 * @return the name given to the cache when it was built, may be null
+	 */
+	String getName();
+
+	/**
+	 * @return the approximate number of entries in the cache
+	 */
+	long getSize();
+
+	/**
+	 * @return true if the cache is bounded by the weight of its entries rather than their number
+	 */
+	boolean isWeighted();
+
+	/**
+	 * @return the total weight of the entries for a weighted cache, otherwise the number of entries
+	 */
+	long getWeightedSize();
+
+	/**
+	 * @return the maximum number of entries, or the maximum total weight for a weighted cache,
+	 *         before evictions occur
+	 */
+	long getMaximumSize();
+
+	/**
+	 * Change the maximum size at runtime. Entries beyond the new size may be evicted.
+	 * 
+	 * @param maximumSize the new maximum number of entries, or total weight for a weighted cache
+	 */
+	void setMaximumSize(long maximumSize);
+
+	/**
+	 * Statistics accumulated since the cache was built, including across resizes.
+	 * All counts are zero unless the cache was built with recordStats.
+	 * 
+	 * @return a snapshot of the statistics
+	 */
+	CacheStats getStats();
+
+	/**
+	 * The most frequently read keys, from a sample of reads. Only tracked when
+	 * the cache records stats.
+	 * 
+	 * @param limit the maximum number of keys to return
+	 * @return keys ordered from most to least read
+	 */
+	List<K> getTopKeys(int limit);
 }
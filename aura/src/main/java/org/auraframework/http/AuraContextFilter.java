@@ -81,6 +81,11 @@ public class AuraContextFilter implements Filter {
 
     protected static final AuraTestFilter testFilter = new AuraTestFilter();
 
+    /**
+     * Request attribute holding the {@link ContextHandOff} of the request.
+     */
+    static final String CONTEXT_HAND_OFF = AuraContextFilter.class.getName() + ".contextHandOff";
+
     @Override
     public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain) throws ServletException, IOException {
 
@@ -91,12 +96,15 @@ public class AuraContextFilter implements Filter {
         }
 
         LoggingService loggingService = Aura.getLoggingService();
+        ContextHandOff handOff = null;
         try {
             startContext(req, res, chain);
             HttpServletRequest request = (HttpServletRequest) req;
             loggingService.setValue(LoggingService.REQUEST_METHOD, request.getMethod());
             loggingService.setValue(LoggingService.AURA_REQUEST_URI, request.getRequestURI());
             loggingService.setValue(LoggingService.AURA_REQUEST_QUERY, request.getQueryString());
+            handOff = new ContextHandOff(loggingService, res);
+            req.setAttribute(CONTEXT_HAND_OFF, handOff);
             testFilter.doFilter(req, res, chain);
         } catch (InvalidParamException e) {
             HttpServletResponse response = (HttpServletResponse) res;
@@ -105,19 +113,59 @@ public class AuraContextFilter implements Filter {
             out.append(e.getMessage());
             return;
         } finally {
-            try {
-                if (loggingService != null) {
-                    try {
-                        loggingService.setValue(LoggingService.STATUS,
-                                String.valueOf(((HttpServletResponse) res).getStatus()));
-                    } catch (Throwable t) {
-                        // ignore.
-                    }
-                    loggingService.flush(); // flush out logging values
+            if (handOff != null) {
+                req.removeAttribute(CONTEXT_HAND_OFF);
+            }
+            if (handOff == null || !handOff.taken) {
+                endRequest(loggingService, res);
+            }
+        }
+    }
+
+    private void endRequest(LoggingService loggingService, ServletResponse res) {
+        try {
+            if (loggingService != null) {
+                try {
+                    loggingService.setValue(LoggingService.STATUS,
+                            String.valueOf(((HttpServletResponse) res).getStatus()));
+                } catch (Throwable t) {
+                    // ignore.
                 }
-            } finally {
-                endContext();
+                loggingService.flush(); // flush out logging values
             }
+        } finally {
+            endContext();
+        }
+    }
+
+    /**
+     * Lets a servlet that completes its request on another thread take over ending the context.
+     */
+    final class ContextHandOff {
+        private final LoggingService loggingService;
+        private final ServletResponse res;
+        private boolean taken;
+
+        private ContextHandOff(LoggingService loggingService, ServletResponse res) {
+            this.loggingService = loggingService;
+            this.res = res;
+        }
+
+        /**
+         * Take over ending the context. The filter then leaves the context alone, so the caller must detach it from
+         * the container thread before returning, and run the returned task, with the context attached, once the
+         * request has completed and nothing uses the context any more.
+         *
+         * @return the task that ends the request and its context.
+         */
+        Runnable take() {
+            taken = true;
+            return new Runnable() {
+                @Override
+                public void run() {
+                    endRequest(loggingService, res);
+                }
+            };
         }
     }
 
@@ -15,8 +15,10 @@
  */
 package org.auraframework.http;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Locale;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -26,15 +28,27 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.apache.http.HttpHeaders;
 import org.auraframework.Aura;
+import org.auraframework.cache.Cache;
 import org.auraframework.util.IOUtil;
 import org.auraframework.util.resource.ResourceLoader;
 
+/**
+ * Serves framework javascript and resources.
+ * <p>
+ * Resources are read into memory once per framework uid, together with their content type and, for text larger than
+ * a packet, a gzipped copy, so that serving one is a single write. They are kept in the frameworkResourceCache of
+ * the {@link org.auraframework.service.CachingService}, bounded by -Daura.cache.frameworkResourceCacheBytes, and
+ * gzipped copies can be turned off with -Daura.frameworkResources.gzip=false.
+ */
 public class AuraFrameworkServlet extends AuraBaseServlet {
 
     private static final long serialVersionUID = 6034969764380397480L;
     private static final ResourceLoader resourceLoader = Aura.getConfigAdapter().getResourceLoader();
     private static final String MINIFIED_FILE_SUFFIX = ".min";
 
+    private static final boolean GZIP = Boolean.parseBoolean(System.getProperty("aura.frameworkResources.gzip",
+            "true"));
+
     // RESOURCES_PATTERN format:
     // /required_root/optional_nonce/required_rest_of_path
     private static final Pattern RESOURCES_PATTERN = Pattern.compile("^/([^/]+)(/[-_0-9a-zA-Z]+)?(/.*)$");
@@ -55,170 +69,255 @@ public class AuraFrameworkServlet extends AuraBaseServlet {
         }
         long ifModifiedSince = request.getDateHeader(HttpHeaders.IF_MODIFIED_SINCE);
         setBasicHeaders(null, request,  response);
-        InputStream in = null;
-        try {
 
+        // framework uid is combination of aura js and resources uid, it is kept current by the config adapter
+        String currentUid = Aura.getConfigAdapter().getAuraFrameworkNonce();
+        // match entire path once, looking for root, optional nonce, and
+        // rest-of-path
+        Matcher matcher = RESOURCES_PATTERN.matcher(path);
+        if (!matcher.matches()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String nonceUid = matcher.group(2);
+        String file = null;
+        boolean haveUid = false;
+        boolean matchedUid = false;
+        file = matcher.group(3);
+        if (nonceUid != null) {
+            nonceUid = nonceUid.substring(1);
+        }
+
+        // process path (not in a function because can't use non-synced
+        // member vars in servlet)
+        String format = null;
+
+        String root = matcher.group(1);
+
+        if (root.equals("resources")) {
+            format = "/aura/resources%s";
+        } else if (root.equals("javascript")) {
+            format = "/aura/javascript%s";
+        }
+        if (format == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        if (currentUid != null && currentUid.equals(nonceUid)) {
             //
-            // Careful with race conditions here, we should only call regenerateAuraJS
-            // _before_ we get the nonce.
+            // If we match the nonce and we have an if-modified-since, we
+            // can just send back a not modified. Timestamps don't matter.
+            // Note that this fails to check existence, but browsers
+            // shouldn't ask for things that don't exist with an
+            // if-modified-since.
             //
-            Aura.getConfigAdapter().regenerateAuraJS();
-            // framework uid is combination of aura js and resources uid
-            String currentUid = Aura.getConfigAdapter().getAuraFrameworkNonce();
-            // match entire path once, looking for root, optional nonce, and
-            // rest-of-path
-            Matcher matcher = RESOURCES_PATTERN.matcher(path);
-            if (!matcher.matches()) {
-                response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            // This is the earliest that we can check for the nonce, since
+            // we only have the nonce after calling regenerate...
+            //
+            // DANGER: we have to be sure that the framework nonce actually
+            // includes all of the resources that may be requested...
+            //
+            if (ifModifiedSince != -1) {
+                response.sendError(HttpServletResponse.SC_NOT_MODIFIED);
                 return;
             }
-            String nonceUid = matcher.group(2);
-            String file = null;
-            boolean haveUid = false;
-            boolean matchedUid = false;
-            file = matcher.group(3);
-            if (nonceUid != null) {
-                nonceUid = nonceUid.substring(1);
-            }
+            matchedUid = true;
+            haveUid = true;
+        } else {
+            //
+            // Whoops, we have a mismatched nonce.
+            //
+            matchedUid = false;
+        }
 
-            // process path (not in a function because can't use non-synced
-            // member vars in servlet)
-            String format = null;
+        String resStr = String.format(format, file);
 
-            String root = matcher.group(1);
+        //
+        // Check whether path has wrong nonce or the path contains no nonce
+        //
+        if (nonceUid != null && !matchedUid) {
 
-            if (root.equals("resources")) {
-                format = "/aura/resources%s";
-            } else if (root.equals("javascript")) {
-                format = "/aura/javascript%s";
-            }
-            if (format == null) {
-                response.sendError(HttpServletResponse.SC_NOT_FOUND);
-                return;
-            }
-            if (currentUid != null && currentUid.equals(nonceUid)) {
-                //
-                // If we match the nonce and we have an if-modified-since, we
-                // can just send back a not modified. Timestamps don't matter.
-                // Note that this fails to check existence, but browsers
-                // shouldn't ask for things that don't exist with an
-                // if-modified-since.
-                //
-                // This is the earliest that we can check for the nonce, since
-                // we only have the nonce after calling regenerate...
-                //
-                // DANGER: we have to be sure that the framework nonce actually
-                // includes all of the resources that may be requested...
-                //
-                if (ifModifiedSince != -1) {
-                    response.sendError(HttpServletResponse.SC_NOT_MODIFIED);
+            // has "nonce" like path but uids don't match
+            if (resourceLoader.getResource(resStr) == null) {
+                // Check if resource exists with nonced path
+                resStr = String.format(format, "/" + nonceUid + file);
+                if (resourceLoader.getResource(resStr) != null) {
+                    // file exists so doesn't have a nonce
+                    haveUid = false;
+                } else {
+                    // no resource found
+                    response.sendError(HttpServletResponse.SC_NOT_FOUND);
                     return;
                 }
-                matchedUid = true;
-                haveUid = true;
             } else {
-                //
-                // Whoops, we have a mismatched nonce.
-                //
-                matchedUid = false;
+                // nonce exists but not matching
+                haveUid = true;
             }
+        }
 
-            String resStr = String.format(format, file);
+        FrameworkResource resource = getResource(currentUid, resStr, path);
 
+        //
+        // Check if it exists. DANGER: if there is a nonce, this is really an
+        // 'out-of-date' problem, and we may break the browser by telling it a
+        // lie here.
+        //
+        if (resource == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        response.reset();
+        setBasicHeaders(null, request, response);
+
+        String mimeType = resource.getMimeType();
+        response.setContentType(mimeType);
+        if (mimeType.startsWith("text/")) {
+            response.setCharacterEncoding(AuraBaseServlet.UTF_ENCODING);
+        }
+
+        boolean js = JAVASCRIPT_CONTENT_TYPE.equals(mimeType);
+        if ((haveUid && !matchedUid) || (!haveUid && js)) {
             //
-            // Check whether path has wrong nonce or the path contains no nonce
+            // If we had a mismatched UID or we had none, and are requesting js (legacy) we set a short
+            // cache response.
             //
-            if (nonceUid != null && !matchedUid) {
-
-                // has "nonce" like path but uids don't match
-                if (resourceLoader.getResource(resStr) == null) {
-                    // Check if resource exists with nonced path
-                    resStr = String.format(format, "/" + nonceUid + file);
-                    if (resourceLoader.getResource(resStr) != null) {
-                        // file exists so doesn't have a nonce
-                        haveUid = false;
-                    } else {
-                        // no resource found
-                        response.sendError(HttpServletResponse.SC_NOT_FOUND);
-                        return;
-                    }
-                } else {
-                    // nonce exists but not matching
-                    haveUid = true;
-                }
+            setNoCache(response);
+        } else if (matchedUid || js) {
+            //
+            // If we have a known good state, we send a long expire. Warning, this means that resources other
+            // than js may have to impact the MD5, which could make it cycle more than we would like.
+            //
+            // TODO: if we want to have things not included in the fw uid use the fw-uid nonce,
+            // we need to adjust to drop the matchedUid.
+            //
+            setLongCache(response);
+        } else {
+            //
+            // By default we use short expire. (1 day)
+            //
+            setShortCache(response);
+        }
+
+        byte[] body = resource.getBytes();
+        if (resource.getGzipped() != null) {
+            response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            if (acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+                response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+                body = resource.getGzipped();
             }
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows a gzipped response. A coding with a q-value of 0 is not acceptable,
+     * and "*" stands for gzip unless gzip is listed on its own.
+     *
+     * @param acceptEncoding the value of the header, may be null
+     * @return true if gzip was accepted with a non-zero q-value
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Boolean gzip = null;
+        boolean any = false;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] params = coding.split(";");
+            String name = params[0].trim().toLowerCase(Locale.ENGLISH);
+            boolean accepted = getQuality(params) > 0;
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = (gzip != null && gzip) || accepted;
+            } else if (name.equals("*")) {
+                any = accepted;
+            }
+        }
+        return gzip != null ? gzip : any;
+    }
 
-            // Checks for a minified version of the external resource file
-            // Uses the minified version if in production mode.
-            if (resStr.startsWith("/aura/resources/") && Aura.getConfigAdapter().isProduction()) {
-                int extIndex = resStr.lastIndexOf(".");
-                if (extIndex > 0) {
-                    String minFile = resStr.substring(0, extIndex) + MINIFIED_FILE_SUFFIX + resStr.substring(extIndex);
-                    if (resourceLoader.getResource(minFile) != null) {
-                        resStr = minFile;
+    /**
+     * @return the q-value among the parameters of a coding, 1 if there is none, 0 if it cannot be read
+     */
+    private static float getQuality(String[] params) {
+        for (int i = 1; i < params.length; i++) {
+            String param = params[i].trim();
+            if (param.length() > 1 && (param.charAt(0) == 'q' || param.charAt(0) == 'Q')) {
+                String value = param.substring(1).trim();
+                if (value.startsWith("=")) {
+                    try {
+                        return Float.parseFloat(value.substring(1).trim());
+                    } catch (NumberFormatException e) {
+                        return 0;
                     }
                 }
             }
+        }
+        return 1;
+    }
 
-            in = resourceLoader.getResourceAsStream(resStr);
+    /**
+     * The key of a framework resource in the frameworkResourceCache. Resources read in production mode are kept
+     * apart, as they may be the minified version.
+     *
+     * @param uid the framework uid the resource was read under
+     * @param production whether the resource was read in production mode
+     * @param resStr the path of the resource
+     * @return the key
+     */
+    public static String getResourceKey(String uid, boolean production, String resStr) {
+        return uid + (production ? ":PROD:" : ":") + resStr;
+    }
 
-            //
-            // Check if it exists. DANGER: if there is a nonce, this is really an
-            // 'out-of-date' problem, and we may break the browser by telling it a
-            // lie here.
-            //
-            if (in == null) {
-                response.sendError(HttpServletResponse.SC_NOT_FOUND);
-                return;
+    /**
+     * Get a framework resource, from memory if it was read before under the same framework uid. Uses the minified
+     * version of external resource files in production mode when there is one.
+     *
+     * @param uid the current framework uid, resources are not kept when it is null
+     * @param resStr the path of the resource
+     * @param path the requested path, which gives the content type
+     * @return the resource, or null if it does not exist
+     */
+    private FrameworkResource getResource(String uid, String resStr, String path) throws IOException {
+        boolean production = Aura.getConfigAdapter().isProduction();
+        Cache<String, FrameworkResource> resources = Aura.getCachingService().getFrameworkResourceCache();
+        String key = uid != null ? getResourceKey(uid, production, resStr) : null;
+        if (key != null) {
+            FrameworkResource cached = resources.getIfPresent(key);
+            if (cached != null) {
+                return cached;
             }
-            response.reset();
-            setBasicHeaders(null, request, response);
-
-            // handle any MIME content type, using only file name (not contents)
-            String mimeType = mimeTypesMap.getContentType(path);
+        }
 
-            if (mimeType.equals("application/octet-stream") || mimeType.equals(JAVASCRIPT_CONTENT_TYPE)) /* unidentified */{
-                mimeType = JAVASCRIPT_CONTENT_TYPE;
-            }
-            response.setContentType(mimeType);
-            if (mimeType.startsWith("text/")) {
-                response.setCharacterEncoding(AuraBaseServlet.UTF_ENCODING);
+        // Checks for a minified version of the external resource file
+        // Uses the minified version if in production mode.
+        if (resStr.startsWith("/aura/resources/") && production) {
+            int extIndex = resStr.lastIndexOf(".");
+            if (extIndex > 0) {
+                String minFile = resStr.substring(0, extIndex) + MINIFIED_FILE_SUFFIX + resStr.substring(extIndex);
+                if (resourceLoader.getResource(minFile) != null) {
+                    resStr = minFile;
+                }
             }
+        }
 
-            response.setBufferSize(10240);// 10kb
-
-            boolean js = JAVASCRIPT_CONTENT_TYPE.equals(mimeType);
-            if ((haveUid && !matchedUid) || (!haveUid && js)) {
-                //
-                // If we had a mismatched UID or we had none, and are requesting js (legacy) we set a short
-                // cache response.
-                //
-                setNoCache(response);
-            } else if (matchedUid || js) {
-                //
-                // If we have a known good state, we send a long expire. Warning, this means that resources other
-                // than js may have to impact the MD5, which could make it cycle more than we would like.
-                //
-                // TODO: if we want to have things not included in the fw uid use the fw-uid nonce,
-                // we need to adjust to drop the matchedUid.
-                //
-                setLongCache(response);
-            } else {
-                //
-                // By default we use short expire. (1 day)
-                //
-                setShortCache(response);
-            }
+        InputStream in = resourceLoader.getResourceAsStream(resStr);
+        if (in == null) {
+            return null;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        IOUtil.copyStream(in, bytes); // closes in
 
-            IOUtil.copyStream(in, response.getOutputStream());
-        } finally {
-            if (in != null) {
-                try {
-                    in.close();
-                } catch (Throwable t) {
-                    // totally ignore failure to close.
-                }
-            }
+        // handle any MIME content type, using only file name (not contents)
+        String mimeType = mimeTypesMap.getContentType(path);
+        if (mimeType.equals("application/octet-stream") || mimeType.equals(JAVASCRIPT_CONTENT_TYPE)) /* unidentified */{
+            mimeType = JAVASCRIPT_CONTENT_TYPE;
+        }
+
+        FrameworkResource resource = new FrameworkResource(bytes.toByteArray(), mimeType, GZIP);
+        if (key != null) {
+            resources.put(key, resource);
         }
+        return resource;
     }
 }
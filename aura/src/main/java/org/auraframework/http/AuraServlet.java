@@ -18,7 +18,16 @@ package org.auraframework.http;
 import java.io.*;
 import java.net.URI;
 import java.util.*;
-
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -76,6 +85,13 @@ import com.google.common.collect.Maps;
  * Exception handling is dealt with in {@link #handleServletException} which should almost always be called when
  * exceptions are caught. This routine will use {@link org.auraframework.adapter.ExceptionAdapter ExceptionAdapter} to
  * log and rewrite exceptions as necessary.
+ * 
+ * With -Daura.servlet.async=true, and when every filter in front of the servlet supports it, action POSTs are run
+ * asynchronously on an Aura-managed pool of -Daura.servlet.asyncThreads threads, so slow controllers do not hold a
+ * container thread. The request's context moves with it, and is ended once the request has completed and the actions
+ * are done with it. When the pool's queue (-Daura.servlet.asyncQueue) is full, actions run on the container thread as
+ * usual. Requests that take longer than -Daura.servlet.asyncTimeout milliseconds fail with a 503. The async and timeout
+ * settings are read for each request.
  */
 public class AuraServlet extends AuraBaseServlet {
     private static final long serialVersionUID = 2218469644108785216L;
@@ -92,6 +108,31 @@ public class AuraServlet extends AuraBaseServlet {
 
     private ManifestUtil manifestUtil = new ManifestUtil();
 
+
+    /**
+     * Threads running asynchronous action requests, created on first use.
+     */
+    private static class ActionExecutor {
+        private static final int THREADS = Integer.getInteger("aura.servlet.asyncThreads", 64);
+        private static final int QUEUE = Integer.getInteger("aura.servlet.asyncQueue", 1024);
+
+        private static final ThreadPoolExecutor INSTANCE = new ThreadPoolExecutor(THREADS, THREADS, 60,
+                TimeUnit.SECONDS, new ArrayBlockingQueue<Runnable>(QUEUE), new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "AuraAction-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+
+        static {
+            INSTANCE.allowCoreThreadTimeOut(true);
+        }
+    }
+
     @Override
     public void init() throws ServletException {
         super.init();
@@ -453,6 +494,10 @@ public class AuraServlet extends AuraBaseServlet {
             PrintWriter out = response.getWriter();
             written = true;
             out.write(CSRF_PROTECT);
+            if (Boolean.getBoolean("aura.servlet.async") && request.isAsyncSupported()
+                    && runAsync(request, response, message, attributes)) {
+                return;
+            }
             serverService.run(message, context, out, attributes);
         } catch (RequestParam.InvalidParamException ipe) {
             servletUtil.handleServletException(new SystemErrorException(ipe), false, context, request, response, false);
@@ -467,6 +512,175 @@ public class AuraServlet extends AuraBaseServlet {
         }
     }
 
+    /**
+     * Run the actions of a request on the action executor, releasing the container thread. Falls back to running them
+     * on the current thread when the executor is saturated.
+     *
+     * @return false if the context cannot be handed over, in which case nothing was done.
+     */
+    private boolean runAsync(HttpServletRequest request, HttpServletResponse response, Message message,
+            Map<String, Object> attributes) {
+        AuraContextFilter.ContextHandOff handOff = (AuraContextFilter.ContextHandOff) request
+                .getAttribute(AuraContextFilter.CONTEXT_HAND_OFF);
+        if (handOff == null) {
+            return false;
+        }
+        ContextService contextService = Aura.getContextService();
+        AsyncContext async = request.startAsync(request, response);
+        async.setTimeout(Long.getLong("aura.servlet.asyncTimeout", 0L));
+        AsyncActions actions = new AsyncActions(request, response, async, message, attributes,
+                contextService.propagateContext(handOff.take()));
+        async.addListener(actions);
+        Runnable task = actions.getTask();
+
+        // From here on the context belongs to the task and the listener, so this thread lets go of it before either
+        // can run.
+        contextService.detachContext();
+        try {
+            ActionExecutor.INSTANCE.execute(task);
+        } catch (RejectedExecutionException ree) {
+            task.run();
+        }
+        return true;
+    }
+
+    /**
+     * The actions of an asynchronous request, and the listener for its completion.
+     *
+     * The response goes to whichever of the actions and a timeout or error gets to it first. Finished actions write
+     * their results and complete the request. A timeout or error interrupts the actions, fails the request and drops
+     * the results. The actions write to a buffer rather than to the response, so they never touch the response after
+     * the container has completed it. The context is ended once the request has completed and the actions are done
+     * with it, whichever comes last.
+     */
+    private static class AsyncActions implements AsyncListener {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final AsyncContext async;
+        private final Message message;
+        private final Map<String, Object> attributes;
+        private final Runnable endRequest;
+
+        /**
+         * The request and the actions, until each is done with the context.
+         */
+        private final AtomicInteger users = new AtomicInteger(2);
+
+        // guarded by this
+        private boolean responded;
+        private Thread worker;
+
+        private AsyncActions(HttpServletRequest request, HttpServletResponse response, AsyncContext async,
+                Message message, Map<String, Object> attributes, Runnable endRequest) {
+            this.request = request;
+            this.response = response;
+            this.async = async;
+            this.message = message;
+            this.attributes = attributes;
+            this.endRequest = endRequest;
+        }
+
+        /**
+         * Get the task that runs the actions. Must be called with the context established on the current thread.
+         */
+        private Runnable getTask() {
+            final Runnable run = Aura.getContextService().propagateContext(new Runnable() {
+                @Override
+                public void run() {
+                    runActions();
+                }
+            });
+            return new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        run.run();
+                    } finally {
+                        release();
+                    }
+                }
+            };
+        }
+
+        private void runActions() {
+            synchronized (this) {
+                if (responded) {
+                    return;
+                }
+                worker = Thread.currentThread();
+            }
+            AuraContext context = Aura.getContextService().getCurrentContext();
+            StringWriter out = new StringWriter();
+            Exception failure = null;
+            try {
+                Aura.getServerService().run(message, context, out, attributes);
+            } catch (Exception e) {
+                failure = e;
+            }
+            synchronized (this) {
+                worker = null;
+                // clear an interrupt from a timeout, the thread goes back to the pool
+                Thread.interrupted();
+                if (responded) {
+                    return;
+                }
+                responded = true;
+                try {
+                    response.getWriter().write(out.toString());
+                    if (failure != null) {
+                        Aura.getServletUtilAdapter().handleServletException(failure, false, context, request,
+                                response, true);
+                    }
+                } catch (IOException ioe) {
+                    // the client has gone away, nothing more to tell it.
+                }
+            }
+            async.complete();
+        }
+
+        private void fail(int status) {
+            synchronized (this) {
+                if (responded) {
+                    return;
+                }
+                responded = true;
+                if (worker != null) {
+                    worker.interrupt();
+                }
+            }
+            if (!response.isCommitted()) {
+                response.resetBuffer();
+                response.setStatus(status);
+            }
+            async.complete();
+        }
+
+        private void release() {
+            if (users.decrementAndGet() == 0) {
+                endRequest.run();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            fail(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            fail(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+
     /**
      * @param manifestUtil the manifestUtil to set
      */
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A framework resource held in memory, ready to be written by {@link AuraFrameworkServlet}.
+ */
+public final class FrameworkResource {
+
+    /** Text smaller than this is not worth compressing */
+    private static final int GZIP_MIN_BYTES = 1024;
+
+    private final byte[] bytes;
+    private final byte[] gzipped;
+    private final String mimeType;
+
+    /**
+     * @param bytes the content of the resource
+     * @param mimeType the content type to serve it with
+     * @param gzip whether to keep a gzipped copy when the content is text larger than a packet
+     */
+    public FrameworkResource(byte[] bytes, String mimeType, boolean gzip) throws IOException {
+        this.bytes = bytes;
+        this.mimeType = mimeType;
+        this.gzipped = gzip && bytes.length >= GZIP_MIN_BYTES && isText(mimeType) ? gzip(bytes) : null;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * @return the gzipped content, or null if there is no gzipped copy
+     */
+    public byte[] getGzipped() {
+        return gzipped;
+    }
+
+    public String getMimeType() {
+        return mimeType;
+    }
+
+    /**
+     * @return the number of bytes held, counting the gzipped copy
+     */
+    public int getSize() {
+        return bytes.length + (gzipped != null ? gzipped.length : 0);
+    }
+
+    private static boolean isText(String mimeType) {
+        return mimeType.startsWith("text/") || mimeType.endsWith("javascript") || mimeType.endsWith("json")
+                || mimeType.endsWith("xml");
+    }
+
+    /**
+     * @return the gzipped bytes, or null if gzip does not make them smaller
+     */
+    private static byte[] gzip(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 3);
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        try {
+            gzip.write(bytes);
+        } finally {
+            gzip.close();
+        }
+        return out.size() < bytes.length ? out.toByteArray() : null;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.http;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.auraframework.Aura;
+import org.auraframework.adapter.ConfigAdapter;
+import org.auraframework.def.ApplicationDef;
+import org.auraframework.def.DefDescriptor;
+import org.auraframework.service.ContextService;
+import org.auraframework.service.ServerService;
+import org.auraframework.system.AuraContext;
+import org.auraframework.system.AuraContext.Authentication;
+import org.auraframework.system.AuraContext.Format;
+import org.auraframework.system.AuraContext.Mode;
+import org.auraframework.system.Client;
+import org.auraframework.throwable.quickfix.QuickFixException;
+
+import com.google.common.collect.Lists;
+
+/**
+ * Compiles the applications listed by {@link ConfigAdapter#getWarmupApplications()} in the background.
+ *
+ * For each application and warm-up mode this computes the application uid, which fills the dependency and definition
+ * caches, then generates app.js and, for each warm-up client type, app.css into the strings cache. The first request
+ * for the application then finds everything compiled.
+ *
+ * Applications are compiled on a small fixed pool of daemon threads, one application and mode per task. The warm-up
+ * is ready once every task has finished, whether it succeeded or not, a failure is logged and counted but does not
+ * keep the server out of rotation.
+ */
+public class Warmup {
+    private static final Log LOG = LogFactory.getLog(Warmup.class);
+
+    /**
+     * How many applications are compiled at once.
+     */
+    private static final int THREADS = Integer.getInteger("aura.warmup.threads", 2);
+
+    private final AtomicInteger remaining = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private volatile boolean started;
+    private int total;
+
+    /**
+     * Queue the configured applications, returns immediately.
+     */
+    public synchronized void start() {
+        if (started) {
+            return;
+        }
+        ConfigAdapter configAdapter = Aura.getConfigAdapter();
+        Set<Mode> availableModes = configAdapter.getAvailableModes();
+        Set<Client.Type> clientTypes = configAdapter.getWarmupClientTypes();
+        List<Runnable> tasks = Lists.newArrayList();
+        for (String app : configAdapter.getWarmupApplications()) {
+            for (Mode mode : configAdapter.getWarmupModes()) {
+                if (availableModes.contains(mode)) {
+                    tasks.add(new WarmupTask(app, mode, clientTypes));
+                }
+            }
+        }
+        total = tasks.size();
+        remaining.set(total);
+        started = true;
+        if (tasks.isEmpty()) {
+            return;
+        }
+
+        LOG.info(String.format("Warming up %d application(s) on %d thread(s)", total, THREADS));
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(THREADS, THREADS, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(tasks.size()), new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "AuraWarmup-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        for (Runnable task : tasks) {
+            executor.execute(task);
+        }
+        executor.shutdown();
+    }
+
+    /**
+     * @return true once the warm-up has been started and every application has been compiled or has failed.
+     */
+    public boolean isReady() {
+        return started && remaining.get() == 0;
+    }
+
+    /**
+     * @return a one line summary of the warm-up progress.
+     */
+    public String getStatus() {
+        if (!started) {
+            return "NOT STARTED";
+        }
+        int left = remaining.get();
+        String status = left == 0 ? "READY" : "WARMING";
+        return String.format("%s %d/%d compiled, %d failed", status, total - left, total, failed.get());
+    }
+
+    private class WarmupTask implements Runnable {
+        private final String app;
+        private final Mode mode;
+        private final Set<Client.Type> clientTypes;
+
+        private WarmupTask(String app, Mode mode, Set<Client.Type> clientTypes) {
+            this.app = app;
+            this.mode = mode;
+            this.clientTypes = clientTypes;
+        }
+
+        @Override
+        public void run() {
+            long start = System.currentTimeMillis();
+            try {
+                DefDescriptor<ApplicationDef> appDesc = Aura.getDefinitionService().getDefDescriptor(app,
+                        ApplicationDef.class);
+                ServerService serverService = Aura.getServerService();
+
+                serverService.writeDefinitions(startContext(appDesc, Format.JS, Client.OTHER), null);
+                endContext();
+                for (Client.Type clientType : clientTypes) {
+                    serverService.writeAppCss(startContext(appDesc, Format.CSS, new Client(clientType)), null);
+                    endContext();
+                }
+                LOG.info(String.format("Warmed up %s in %s mode in %dms", app, mode,
+                        System.currentTimeMillis() - start));
+            } catch (Throwable t) {
+                failed.incrementAndGet();
+                LOG.warn(String.format("Unable to warm up %s in %s mode", app, mode), t);
+            } finally {
+                endContext();
+                remaining.decrementAndGet();
+            }
+        }
+
+        /**
+         * Start a context for the application, as the resource servlet would, and return its dependencies.
+         */
+        private Set<DefDescriptor<?>> startContext(DefDescriptor<ApplicationDef> appDesc, Format format,
+                Client client) throws QuickFixException {
+            AuraContext context = Aura.getContextService().startContext(mode, format, Authentication.AUTHENTICATED,
+                    appDesc);
+            context.setClient(client);
+            String uid = context.getDefRegistry().getUid(null, appDesc);
+            context.addLoaded(appDesc, uid);
+            return context.getDefRegistry().getDependencies(uid);
+        }
+
+        private void endContext() {
+            ContextService contextService = Aura.getContextService();
+            if (contextService.isEstablished()) {
+                contextService.endContext();
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2013 salesforce.com, inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *         http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.auraframework.instance;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.auraframework.throwable.AuraHandledException;
+
+/**
+ * Stands in for an action that was not run, e.g. because the server is already running as many of it as it allows.
+ * It serializes as the original action in the ERROR state, with the reason as its error.
+ */
+public class RejectedAction extends ActionDelegate {
+
+    private final List<Object> errors;
+
+    public RejectedAction(Action original, String reason) {
+        super(original);
+        this.errors = Collections.<Object> singletonList(new AuraHandledException(reason));
+    }
+
+    @Override
+    public void run() {
+        // never runs
+    }
+
+    @Override
+    public State getState() {
+        return State.ERROR;
+    }
+
+    @Override
+    public Object getReturnValue() {
+        return null;
+    }
+
+    @Override
+    public List<Object> getErrors() {
+        return errors;
+    }
+}
@@ -34,7 +34,10 @@ public class ComponentRenderer implements Renderer {
         if(bodyAttribute !=null && bodyAttribute instanceof List) {
             List<BaseComponent<?, ?>> body = (List<BaseComponent<?, ?>>) bodyAttribute;
             for (BaseComponent<?, ?> c : body) {
-                Aura.getRenderingService().render(c, out);
+                // static html goes straight out, skipping the renderer lookup
+                if (!HtmlRenderer.renderStatic(c, out)) {
+                    Aura.getRenderingService().render(c, out);
+                }
             }
         }
     }
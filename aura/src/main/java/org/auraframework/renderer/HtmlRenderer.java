@@ -28,14 +28,144 @@ import org.auraframework.instance.BaseComponent;
 import org.auraframework.instance.Component;
 import org.auraframework.throwable.quickfix.QuickFixException;
 
+import com.google.common.base.Objects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
 /**
+ * Server side renderer for aura:html.
+ *
+ * Tags without a local id, without expressions in their attributes and whose body holds only such tags and plain
+ * text are static: every instance of the tag reference renders the same markup. That markup is rendered once per
+ * tag reference and replayed afterwards, so only expression-bearing nodes are walked on each render.
  */
 public class HtmlRenderer implements Renderer {
     private static final ComponentRenderer componentRenderer = new ComponentRenderer();
 
-    @SuppressWarnings("unchecked")
+    private static final String HTML_TAG = "markup://aura:html";
+    private static final String TEXT_TAG = "markup://aura:text";
+
+    /**
+     * Markup for static tag references, keyed by the reference's HTMLAttributes map. Each parsed tag gets its own
+     * map which is shared by every instance of that tag, so it identifies the reference without the definition
+     * having to carry anything extra. Keys are weak (and compared by identity), so entries go away with the
+     * definition.
+     */
+    private static final Cache<Object, StaticMarkup> staticMarkup = CacheBuilder.newBuilder().weakKeys().build();
+
+    private static final StaticMarkup NOT_STATIC = new StaticMarkup(null, -1, null);
+
+    private static final class StaticMarkup {
+        private final String contextPath;
+        private final int bodySize;
+        private final String markup;
+
+        private StaticMarkup(String contextPath, int bodySize, String markup) {
+            this.contextPath = contextPath;
+            this.bodySize = bodySize;
+            this.markup = markup;
+        }
+    }
+
     @Override
     public void render(BaseComponent<?, ?> component, Appendable out) throws IOException, QuickFixException {
+        String markup = getStaticMarkup(component);
+        if (markup != null) {
+            out.append(markup);
+        } else {
+            renderTag(component, out);
+        }
+    }
+
+    /**
+     * Append the pre-rendered markup of a static aura:html component.
+     *
+     * @param component the component to render.
+     * @param out where to write.
+     * @return true if the component was static and has been written, false if it must be rendered normally.
+     */
+    static boolean renderStatic(BaseComponent<?, ?> component, Appendable out) throws IOException,
+            QuickFixException {
+        if (!HTML_TAG.equals(component.getDescriptor().getQualifiedName())) {
+            return false;
+        }
+        String markup = getStaticMarkup(component);
+        if (markup == null) {
+            return false;
+        }
+        out.append(markup);
+        return true;
+    }
+
+    /**
+     * Get the markup for a static tag, analysing and rendering the tag reference on first use.
+     *
+     * @return the markup, or null if the tag has dynamic parts.
+     */
+    private static String getStaticMarkup(BaseComponent<?, ?> component) throws IOException, QuickFixException {
+        if (component.getLocalId() != null) {
+            return null;
+        }
+        Object htmlAttributes = component.getAttributes().getValue("HTMLAttributes");
+        if (!(htmlAttributes instanceof Map)) {
+            return null;
+        }
+        List<?> body = getBody(component);
+        int bodySize = body != null ? body.size() : 0;
+        String contextPath = Aura.getContextService().getCurrentContext().getContextPath();
+
+        StaticMarkup cached = staticMarkup.getIfPresent(htmlAttributes);
+        if (cached == NOT_STATIC) {
+            return null;
+        }
+        if (cached != null && cached.bodySize == bodySize && Objects.equal(cached.contextPath, contextPath)) {
+            return cached.markup;
+        }
+
+        if (!isStatic((Map<?, ?>) htmlAttributes, body)) {
+            staticMarkup.put(htmlAttributes, NOT_STATIC);
+            return null;
+        }
+        StringBuilder sb = new StringBuilder();
+        renderTag(component, sb);
+        String markup = sb.toString();
+        staticMarkup.put(htmlAttributes, new StaticMarkup(contextPath, bodySize, markup));
+        return markup;
+    }
+
+    private static boolean isStatic(Map<?, ?> htmlAttributes, List<?> body) throws IOException, QuickFixException {
+        for (Object value : htmlAttributes.values()) {
+            if (value instanceof Expression) {
+                return false;
+            }
+        }
+        if (body != null) {
+            for (Object child : body) {
+                if (!(child instanceof BaseComponent)) {
+                    return false;
+                }
+                BaseComponent<?, ?> c = (BaseComponent<?, ?>) child;
+                String name = c.getDescriptor().getQualifiedName();
+                if (TEXT_TAG.equals(name)) {
+                    if (c.getLocalId() != null || !(c.getAttributes().getValue("value") instanceof String)) {
+                        return false;
+                    }
+                } else if (!HTML_TAG.equals(name) || getStaticMarkup(c) == null) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static List<?> getBody(BaseComponent<?, ?> component) throws QuickFixException {
+        Object body = component.getAttributes().getValue("body");
+        return body instanceof List ? (List<?>) body : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void renderTag(BaseComponent<?, ?> component, Appendable out) throws IOException,
+            QuickFixException {
         String tag = (String) component.getAttributes().getValue("tag");
         String id = component.getLocalId();
         out.append('<');
@@ -17,6 +17,8 @@ package org.auraframework.service;
 
 import java.lang.ref.WeakReference;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
 
@@ -24,9 +26,11 @@ import org.auraframework.builder.CacheBuilder;
 import org.auraframework.cache.Cache;
 import org.auraframework.def.DefDescriptor;
 import org.auraframework.def.Definition;
+import org.auraframework.http.FrameworkResource;
 import org.auraframework.system.DependencyEntry;
 import org.auraframework.system.SourceListener;
 import org.auraframework.system.SourceListener.SourceMonitorEvent;
+import org.auraframework.util.validation.ValidationError;
 
 import com.google.common.base.Optional;
 
@@ -65,8 +69,45 @@ public interface CachingService extends AuraService {
 
     Cache<String, Set<String>>  getClientLibraryUrlsCache();
 
+    /**
+     * Keys of the combined client libraries of applications, by application uid, mode and type.
+     */
+    Cache<String, String> getClientLibraryKeyCache();
+
     Cache<DefDescriptor.DescriptorKey, DefDescriptor<? extends Definition>> getDefDescriptorByNameCache();
 
+    /**
+     * Rendered application templates, split around the part that changes between requests.
+     */
+    Cache<String, List<String>> getPageShellCache();
+
+    /**
+     * Unescaped label values shared across requests, keyed by language locale, section and name.
+     */
+    Cache<String, String> getLabelCache();
+
+    /**
+     * Framework javascript and resources read into memory, keyed by framework uid and path.
+     */
+    Cache<String, FrameworkResource> getFrameworkResourceCache();
+
+    /**
+     * Lint errors of javascript and css sources, keyed by language prefix, source url and content hash.
+     */
+    Cache<String, List<ValidationError>> getLintResultCache();
+
+    /**
+     * Outcomes of checking javascript include code with Closure, keyed by content hash.
+     */
+    Cache<String, String> getIncludeCheckCache();
+
+    /**
+     * All of the caches managed by this service, by name, for administration and statistics.
+     *
+     * @return an unmodifiable map from cache name to cache
+     */
+    Map<String, Cache<?, ?>> getCaches();
+
     Lock getReadLock();
 
     Lock getWriteLock();
@@ -84,6 +84,24 @@ public interface ContextService extends AuraService {
      */
     void endContext();
 
+    /**
+     * Wrap a task so that it runs with the current context, and its logging context, established on whichever thread
+     * executes it. The context is only lent to the task: it is detached from that thread again when the task finishes,
+     * and the thread that started it is still responsible for ending it.
+     *
+     * The current thread must not use the context while the task runs; see {@link #detachContext()}.
+     *
+     * @param task the task to run with the current context.
+     * @return a task that can be handed to another thread.
+     */
+    Runnable propagateContext(Runnable task);
+
+    /**
+     * Detach the current context from this thread without ending it, after it has been handed to another thread
+     * with {@link #propagateContext(Runnable)}.
+     */
+    void detachContext();
+
     /**
      * Push a 'system-only' context used for private rendering.
      *
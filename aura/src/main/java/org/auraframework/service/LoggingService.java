@@ -43,6 +43,14 @@ public interface LoggingService extends AuraService {
     public static final String REQUEST_METHOD = "requestMethod";
     public static final String STATUS = "httpStatus";
     public static final String TIMER_ACTION = "action_";
+    /**
+     * Number of actions rejected because too many requests were running them.
+     */
+    public static final String ACTIONS_REJECTED = "actionsRejected";
+    /**
+     * Milliseconds actions spent waiting for their turn to run.
+     */
+    public static final String ACTION_QUEUE_TIME = "actionQueueTime";
     public static final String TIMER_COMPONENT_CREATION = "componentCreation";
     public static final String TIMER_DEF_DESCRIPTOR_CREATION = "defDescriptorCreation";
     public static final String TIMER_DEFINITION_CREATION = "definitionCreation";
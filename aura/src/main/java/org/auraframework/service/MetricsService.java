@@ -15,6 +15,8 @@
  */
 package org.auraframework.service;
 
+import java.io.IOException;
+
 import org.auraframework.util.json.Json;
 
 
@@ -29,4 +31,14 @@ import org.auraframework.util.json.Json;
 public interface MetricsService extends AuraService {
 	void serializeMetrics (Json json);
 	void clearMetrics();
+
+	/**
+	 * Write the server wide timer and action profile, aggregated across requests.
+	 */
+	void serializeAggregateMetrics(Json json) throws IOException;
+
+	/**
+	 * Discard the aggregated profile.
+	 */
+	void resetAggregateMetrics();
 }
@@ -32,6 +32,14 @@ public class Client {
         type = Type.OTHER;
     }
 
+    /**
+     * A client known only by its type, for work done on behalf of clients outside of a request.
+     */
+    public Client(Type type) {
+        userAgent = null;
+        this.type = type;
+    }
+
     public Client(String ua) {
         userAgent = ua;
         if (ua == null) {
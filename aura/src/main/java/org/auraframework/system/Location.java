@@ -17,6 +17,9 @@ package org.auraframework.system;
 
 import java.io.Serializable;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
+
 /**
  * Information about a location in source code, including filename, line, and
  * column number. The "filename" will in most useful cases be an actual
@@ -27,6 +30,12 @@ import java.io.Serializable;
 public class Location implements Serializable {
 
     private static final long serialVersionUID = 7828558436763386980L;
+
+    /**
+     * Every location in a file has the same file name, so keep a single copy of each.
+     */
+    private static final Interner<String> FILE_NAMES = Interners.newWeakInterner();
+
     private final int column;
     private final int line;
     private final String fileName;
@@ -42,19 +51,23 @@ public class Location implements Serializable {
     }
 
     public Location(Source<?> source, int line, int column, String cacheFile) {
-        this.fileName = source.getSystemId();
+        this.fileName = intern(source.getSystemId());
         this.lastModified = source.getLastModified();
         this.line = line;
         this.column = column;
-        this.cacheFile = cacheFile;
+        this.cacheFile = intern(cacheFile);
     }
 
     public Location(String fileName, int line, int column, long lastModified, String cacheFile) {
-        this.fileName = fileName;
+        this.fileName = intern(fileName);
         this.line = line;
         this.column = column;
         this.lastModified = lastModified;
-        this.cacheFile = cacheFile;
+        this.cacheFile = intern(cacheFile);
+    }
+
+    private static String intern(String name) {
+        return name == null ? null : FILE_NAMES.intern(name);
     }
 
     public Location(String fileName, int line, int column, long lastModified) {